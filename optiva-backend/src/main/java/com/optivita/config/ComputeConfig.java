@@ -0,0 +1,20 @@
+package com.optivita.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class ComputeConfig {
+
+    /**
+     * Dedicated pool for CPU-bound request work (simulations, searches), so it neither
+     * competes with the common pool nor runs on the request threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool computePool(@Value("${app.compute.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
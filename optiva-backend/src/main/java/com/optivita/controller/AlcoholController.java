@@ -1,6 +1,7 @@
 package com.optivita.controller;
 
 import com.optivita.dto.PageResponse;
+import com.optivita.dto.TrendPeriod;
 import com.optivita.dto.alcohol.AlcoholAnalyticsResponse;
 import com.optivita.dto.alcohol.AlcoholLogRequest;
 import com.optivita.dto.alcohol.AlcoholLogResponse;
@@ -85,9 +86,11 @@ public class AlcoholController {
     }
 
     @GetMapping("/analytics")
-    @Operation(summary = "Get alcohol analytics (units/week, streak, monthly trend)")
+    @Operation(summary = "Get alcohol analytics (units/week, streak, trend per week/month/year, drink-type breakdown)")
     public ResponseEntity<AlcoholAnalyticsResponse> getAnalytics(
-            @AuthenticationPrincipal UserPrincipal principal) {
-        return ResponseEntity.ok(alcoholService.getAnalytics(principal.getId()));
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(defaultValue = "MONTH") TrendPeriod period,
+            @RequestParam(defaultValue = "6") int periods) {
+        return ResponseEntity.ok(alcoholService.getAnalytics(principal.getId(), period, periods));
     }
 }
@@ -1,8 +1,10 @@
 package com.optivita.controller;
 
 import com.optivita.dto.calendar.CalendarResponse;
+import com.optivita.dto.calendar.DailySummaryResponse;
 import com.optivita.security.UserPrincipal;
 import com.optivita.service.CalendarService;
+import com.optivita.service.DailySummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/v1/calendar")
@@ -20,6 +24,7 @@ import java.time.LocalDate;
 public class CalendarController {
 
     private final CalendarService calendarService;
+    private final DailySummaryService dailySummaryService;
 
     @GetMapping
     @Operation(summary = "Get calendar data with flags for each day in range")
@@ -29,4 +34,19 @@ public class CalendarController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         return ResponseEntity.ok(calendarService.getCalendar(principal.getId(), from, to));
     }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get the stored daily summary rows for days in range that have data")
+    public ResponseEntity<List<DailySummaryResponse>> getSummary(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(dailySummaryService.getRange(principal.getId(), from, to));
+    }
+
+    @PostMapping("/summary/rebuild")
+    @Operation(summary = "Recompute all daily summary rows from the raw tracking data")
+    public ResponseEntity<Map<String, Integer>> rebuildSummary(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(Map.of("daysRebuilt", dailySummaryService.rebuild(principal.getId())));
+    }
 }
@@ -0,0 +1,31 @@
+package com.optivita.controller;
+
+import com.optivita.dto.food.FoodSuggestionResponse;
+import com.optivita.security.UserPrincipal;
+import com.optivita.service.FoodCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/foods")
+@RequiredArgsConstructor
+@Tag(name = "Foods", description = "Food autocomplete for meal plan items")
+public class FoodController {
+
+    private final FoodCatalogService foodCatalogService;
+
+    @GetMapping("/search")
+    @Operation(summary = "Suggest foods by name prefix or close spelling, the user's own items first")
+    public ResponseEntity<List<FoodSuggestionResponse>> search(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(foodCatalogService.search(principal.getId(), q, limit));
+    }
+}
@@ -7,11 +7,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -76,6 +78,23 @@ public class HabitController {
                 .body(habitService.logHabit(principal.getId(), habitId, request));
     }
 
+    @GetMapping("/logs")
+    @Operation(summary = "Get logs of all active habits for a date range, grouped by habit")
+    public ResponseEntity<HabitMatrixResponse> getLogMatrix(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(habitService.getLogMatrix(principal.getId(), from, to));
+    }
+
+    @PostMapping("/logs/bulk")
+    @Operation(summary = "Log many habits and dates in one request (upsert), with a result per entry")
+    public ResponseEntity<BulkHabitLogResponse> bulkLog(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody BulkHabitLogRequest request) {
+        return ResponseEntity.ok(habitService.bulkLog(principal.getId(), request));
+    }
+
     @GetMapping("/{habitId}/logs")
     @Operation(summary = "Get all logs for a habit")
     public ResponseEntity<List<HabitLogResponse>> getLogs(
@@ -84,8 +103,33 @@ public class HabitController {
         return ResponseEntity.ok(habitService.getHabitLogs(principal.getId(), habitId));
     }
 
+    // ---- Heatmap ----
+
+    @GetMapping("/heatmap")
+    @Operation(summary = "Get packed year heatmaps for all habits (2 bits per day, base64)")
+    public ResponseEntity<List<HabitHeatmapResponse>> getAllHeatmaps(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam int year) {
+        return ResponseEntity.ok(habitService.getAllHeatmaps(principal.getId(), year));
+    }
+
+    @GetMapping("/{habitId}/heatmap")
+    @Operation(summary = "Get a packed year heatmap for a habit (2 bits per day, base64)")
+    public ResponseEntity<HabitHeatmapResponse> getHeatmap(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID habitId,
+            @RequestParam int year) {
+        return ResponseEntity.ok(habitService.getHeatmap(principal.getId(), habitId, year));
+    }
+
     // ---- Analytics ----
 
+    @GetMapping("/analytics")
+    @Operation(summary = "Get analytics for all habits in one call")
+    public ResponseEntity<List<HabitAnalyticsResponse>> getAllAnalytics(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(habitService.getAllAnalytics(principal.getId()));
+    }
+
     @GetMapping("/{habitId}/analytics")
     @Operation(summary = "Get analytics for a habit (streak, adherence)")
     public ResponseEntity<HabitAnalyticsResponse> getAnalytics(
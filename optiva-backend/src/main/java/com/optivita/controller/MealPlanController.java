@@ -1,10 +1,18 @@
 package com.optivita.controller;
 
 import com.optivita.dto.PageResponse;
+import com.optivita.dto.meal.MealPlanGenerateRequest;
+import com.optivita.dto.meal.MealPlanGenerateResponse;
+import com.optivita.dto.meal.MealPlanNutritionResponse;
 import com.optivita.dto.meal.MealPlanRequest;
 import com.optivita.dto.meal.MealPlanResponse;
+import com.optivita.dto.template.PlanTemplateRequest;
+import com.optivita.dto.template.PlanTemplateResponse;
+import com.optivita.entity.enums.PlanKind;
 import com.optivita.security.UserPrincipal;
+import com.optivita.service.MealPlanGeneratorService;
 import com.optivita.service.MealPlanService;
+import com.optivita.service.PlanTemplateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +34,8 @@ import java.util.UUID;
 public class MealPlanController {
 
     private final MealPlanService mealPlanService;
+    private final PlanTemplateService planTemplateService;
+    private final MealPlanGeneratorService mealPlanGeneratorService;
 
     @PostMapping
     @Operation(summary = "Create a new weekly meal plan")
@@ -36,6 +46,14 @@ public class MealPlanController {
                 .body(mealPlanService.create(principal.getId(), request));
     }
 
+    @PostMapping("/generate")
+    @Operation(summary = "Generate a week of meals that meets calorie and macro targets; returns a plan to create, nothing is saved")
+    public ResponseEntity<MealPlanGenerateResponse> generate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody MealPlanGenerateRequest request) {
+        return ResponseEntity.ok(mealPlanGeneratorService.generate(principal.getId(), request));
+    }
+
     @GetMapping
     @Operation(summary = "Get all meal plans")
     public ResponseEntity<List<MealPlanResponse>> getAll(@AuthenticationPrincipal UserPrincipal principal) {
@@ -55,6 +73,15 @@ public class MealPlanController {
         return ResponseEntity.ok(mealPlanService.getAllPaged(principal.getId(), page, size, sortBy, sortDir, dateFrom, dateTo));
     }
 
+    @GetMapping("/nutrition")
+    @Operation(summary = "Get planned calories and macros per day and week from the stored rollups")
+    public ResponseEntity<MealPlanNutritionResponse> getNutrition(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(mealPlanService.getNutrition(principal.getId(), from, to));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a specific meal plan")
     public ResponseEntity<MealPlanResponse> getById(
@@ -89,4 +116,49 @@ public class MealPlanController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(mealPlanService.copyLastWeek(principal.getId(), weekStartDate));
     }
+
+    @PostMapping("/{id}/copy")
+    @Operation(summary = "Copy a meal plan to another week")
+    public ResponseEntity<MealPlanResponse> copyWeek(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStartDate) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(mealPlanService.copyWeek(principal.getId(), id, weekStartDate));
+    }
+
+    @PostMapping("/{id}/templates")
+    @Operation(summary = "Save a meal plan as a reusable template")
+    public ResponseEntity<PlanTemplateResponse> saveAsTemplate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID id,
+            @Valid @RequestBody PlanTemplateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(planTemplateService.saveMealPlan(principal.getId(), id, request.getName()));
+    }
+
+    @GetMapping("/templates")
+    @Operation(summary = "Get meal plan templates")
+    public ResponseEntity<List<PlanTemplateResponse>> getTemplates(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(planTemplateService.getAll(principal.getId(), PlanKind.MEAL));
+    }
+
+    @PostMapping("/templates/{templateId}/apply")
+    @Operation(summary = "Create a meal plan for a week from a template")
+    public ResponseEntity<MealPlanResponse> applyTemplate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID templateId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStartDate) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(mealPlanService.createFromTemplate(principal.getId(), templateId, weekStartDate));
+    }
+
+    @DeleteMapping("/templates/{templateId}")
+    @Operation(summary = "Delete a meal plan template")
+    public ResponseEntity<Void> deleteTemplate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID templateId) {
+        planTemplateService.delete(principal.getId(), templateId, PlanKind.MEAL);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -3,6 +3,7 @@ package com.optivita.controller;
 import com.optivita.dto.program.*;
 import com.optivita.security.UserPrincipal;
 import com.optivita.service.ProgramService;
+import com.optivita.service.ProgramSimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,6 +25,7 @@ import java.util.UUID;
 public class ProgramController {
 
     private final ProgramService programService;
+    private final ProgramSimulationService programSimulationService;
 
     // â”€â”€ Program CRUD â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€â”€
 
@@ -42,6 +44,12 @@ public class ProgramController {
         return ResponseEntity.ok(programService.getAllByUser(principal.getId()));
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "List the current user's programs with checkpoint counts and the next upcoming checkpoint, without checkpoint details")
+    public ResponseEntity<List<ProgramSummaryResponse>> getSummaries(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(programService.getSummariesByUser(principal.getId()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a specific program with its checkpoints")
     public ResponseEntity<ProgramResponse> getById(
@@ -89,6 +97,31 @@ public class ProgramController {
         return ResponseEntity.ok(programService.regenerateCheckpoints(principal.getId(), programId));
     }
 
+    @PostMapping("/{programId}/evaluate")
+    @Operation(summary = "Evaluate all checkpoints of a program against the progress entries preceding each")
+    public ResponseEntity<List<CheckpointEvaluationResponse>> evaluateProgram(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID programId) {
+        return ResponseEntity.ok(programService.evaluateProgram(principal.getId(), programId));
+    }
+
+    @PostMapping("/{programId}/simulate")
+    @Operation(summary = "Forecast the probability of meeting each upcoming checkpoint's targets by Monte Carlo simulation of future progress")
+    public ResponseEntity<ProgramSimulationResponse> simulate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID programId,
+            @RequestParam(defaultValue = "10000") int simulations,
+            @RequestParam(defaultValue = "false") boolean earlyExit) {
+        return ResponseEntity.ok(
+                programSimulationService.simulate(principal.getId(), programId, simulations, earlyExit));
+    }
+
+    @GetMapping("/evaluation-cache/stats")
+    @Operation(summary = "Hit/miss counters of the checkpoint evaluation cache")
+    public ResponseEntity<EvaluationCacheStatsResponse> getEvaluationCacheStats() {
+        return ResponseEntity.ok(programService.getEvaluationCacheStats());
+    }
+
     @PostMapping("/{programId}/checkpoints/{checkpointId}/evaluate")
     @Operation(summary = "Evaluate a checkpoint by comparing recent progress entries against targetMetrics")
     public ResponseEntity<CheckpointEvaluationResponse> evaluateCheckpoint(
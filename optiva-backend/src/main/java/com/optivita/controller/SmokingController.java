@@ -1,6 +1,7 @@
 package com.optivita.controller;
 
 import com.optivita.dto.PageResponse;
+import com.optivita.dto.TrendPeriod;
 import com.optivita.dto.smoking.SmokingAnalyticsResponse;
 import com.optivita.dto.smoking.SmokingLogRequest;
 import com.optivita.dto.smoking.SmokingLogResponse;
@@ -83,9 +84,11 @@ public class SmokingController {
     }
 
     @GetMapping("/analytics")
-    @Operation(summary = "Get smoking analytics (streak, weekly avg, trends)")
+    @Operation(summary = "Get smoking analytics (streak, weekly avg, daily points, trend per week/month/year)")
     public ResponseEntity<SmokingAnalyticsResponse> getAnalytics(
-            @AuthenticationPrincipal UserPrincipal principal) {
-        return ResponseEntity.ok(smokingService.getAnalytics(principal.getId()));
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(defaultValue = "MONTH") TrendPeriod period,
+            @RequestParam(defaultValue = "6") int periods) {
+        return ResponseEntity.ok(smokingService.getAnalytics(principal.getId(), period, periods));
     }
 }
@@ -3,8 +3,12 @@ package com.optivita.controller;
 import com.optivita.dto.PageResponse;
 import com.optivita.dto.weight.WeightEntryRequest;
 import com.optivita.dto.weight.WeightEntryResponse;
+import com.optivita.dto.weight.WeightImportResponse;
+import com.optivita.dto.weight.WeightSeriesResponse;
 import com.optivita.dto.weight.WeightStatsResponse;
+import com.optivita.dto.weight.WeightTrendResponse;
 import com.optivita.security.UserPrincipal;
+import com.optivita.service.WeightImportService;
 import com.optivita.service.WeightService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +16,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +35,7 @@ import java.util.UUID;
 public class WeightController {
 
     private final WeightService weightService;
+    private final WeightImportService weightImportService;
 
     @PostMapping
     @Operation(summary = "Log a weight entry")
@@ -37,6 +46,23 @@ public class WeightController {
                 .body(weightService.create(principal.getId(), request));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import weight history from a CSV or JSON file; existing dates are skipped")
+    public ResponseEntity<WeightImportResponse> importEntries(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam MultipartFile file,
+            @RequestParam(required = false) WeightImportResponse.Format format) throws IOException {
+        if (format == null) {
+            String name = file.getOriginalFilename();
+            boolean json = MediaType.APPLICATION_JSON_VALUE.equals(file.getContentType())
+                    || (name != null && name.toLowerCase().endsWith(".json"));
+            format = json ? WeightImportResponse.Format.JSON : WeightImportResponse.Format.CSV;
+        }
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(weightImportService.importEntries(principal.getId(), in, format));
+        }
+    }
+
     @GetMapping
     @Operation(summary = "Get all weight entries")
     public ResponseEntity<List<WeightEntryResponse>> getAll(@AuthenticationPrincipal UserPrincipal principal) {
@@ -56,6 +82,26 @@ public class WeightController {
         return ResponseEntity.ok(weightService.getAllPaged(principal.getId(), page, size, sortBy, sortDir, dateFrom, dateTo));
     }
 
+    @GetMapping("/series")
+    @Operation(summary = "Get a chart series: LTTB-downsampled points, or min/max/avg per week or month")
+    public ResponseEntity<WeightSeriesResponse> getSeries(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "500") int maxPoints,
+            @RequestParam(required = false) WeightSeriesResponse.Bucket bucket) {
+        return ResponseEntity.ok(weightService.getSeries(principal.getId(), from, to, maxPoints, bucket));
+    }
+
+    @GetMapping("/trend")
+    @Operation(summary = "Get trend weight (smoothed) and 7/30-day rolling averages with the weekly rate of change")
+    public ResponseEntity<WeightTrendResponse> getTrend(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(weightService.getTrend(principal.getId(), from, to));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a specific weight entry")
     public ResponseEntity<WeightEntryResponse> getById(
@@ -1,9 +1,13 @@
 package com.optivita.controller;
 
 import com.optivita.dto.PageResponse;
+import com.optivita.dto.template.PlanTemplateRequest;
+import com.optivita.dto.template.PlanTemplateResponse;
 import com.optivita.dto.workout.WorkoutPlanRequest;
 import com.optivita.dto.workout.WorkoutPlanResponse;
+import com.optivita.entity.enums.PlanKind;
 import com.optivita.security.UserPrincipal;
+import com.optivita.service.PlanTemplateService;
 import com.optivita.service.WorkoutPlanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +30,7 @@ import java.util.UUID;
 public class WorkoutPlanController {
 
     private final WorkoutPlanService workoutPlanService;
+    private final PlanTemplateService planTemplateService;
 
     @PostMapping
     @Operation(summary = "Create a new weekly workout plan")
@@ -80,4 +85,58 @@ public class WorkoutPlanController {
         workoutPlanService.delete(principal.getId(), id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/copy-last-week")
+    @Operation(summary = "Copy last week's workout plan to a new week")
+    public ResponseEntity<WorkoutPlanResponse> copyLastWeek(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStartDate) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(workoutPlanService.copyLastWeek(principal.getId(), weekStartDate));
+    }
+
+    @PostMapping("/{id}/copy")
+    @Operation(summary = "Copy a workout plan to another week")
+    public ResponseEntity<WorkoutPlanResponse> copyWeek(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStartDate) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(workoutPlanService.copyWeek(principal.getId(), id, weekStartDate));
+    }
+
+    @PostMapping("/{id}/templates")
+    @Operation(summary = "Save a workout plan as a reusable template")
+    public ResponseEntity<PlanTemplateResponse> saveAsTemplate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID id,
+            @Valid @RequestBody PlanTemplateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(planTemplateService.saveWorkoutPlan(principal.getId(), id, request.getName()));
+    }
+
+    @GetMapping("/templates")
+    @Operation(summary = "Get workout plan templates")
+    public ResponseEntity<List<PlanTemplateResponse>> getTemplates(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(planTemplateService.getAll(principal.getId(), PlanKind.WORKOUT));
+    }
+
+    @PostMapping("/templates/{templateId}/apply")
+    @Operation(summary = "Create a workout plan for a week from a template")
+    public ResponseEntity<WorkoutPlanResponse> applyTemplate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID templateId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStartDate) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(workoutPlanService.createFromTemplate(principal.getId(), templateId, weekStartDate));
+    }
+
+    @DeleteMapping("/templates/{templateId}")
+    @Operation(summary = "Delete a workout plan template")
+    public ResponseEntity<Void> deleteTemplate(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable UUID templateId) {
+        planTemplateService.delete(principal.getId(), templateId, PlanKind.WORKOUT);
+        return ResponseEntity.noContent().build();
+    }
 }
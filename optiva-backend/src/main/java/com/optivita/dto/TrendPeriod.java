@@ -0,0 +1,40 @@
+package com.optivita.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Bucket size for analytics trends. Weeks start on Monday, matching PostgreSQL's date_trunc.
+ */
+public enum TrendPeriod {
+    WEEK,
+    MONTH,
+    YEAR;
+
+    /** Upper bound on the number of buckets a trend may request. */
+    public static final int MAX_PERIODS = 120;
+
+    /** The date_trunc field name for this period. */
+    public String sqlUnit() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** First day of the period containing date. */
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate plus(LocalDate periodStart, long periods) {
+        return switch (this) {
+            case WEEK -> periodStart.plusWeeks(periods);
+            case MONTH -> periodStart.plusMonths(periods);
+            case YEAR -> periodStart.plusYears(periods);
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.optivita.dto.alcohol;
 
+import com.optivita.dto.TrendPeriod;
+import com.optivita.entity.enums.DrinkType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +18,11 @@ public class AlcoholAnalyticsResponse {
 
     private Double unitsThisWeek;
     private int alcoholFreeStreak;
-    private List<MonthlyTrend> monthlyTrend;
+    private int longestAlcoholFreeStreak;
+    private List<MonthlyTrend> monthlyTrend; // newest first; only filled when period is MONTH
+    private TrendPeriod period;
+    private List<PeriodTotal> trend; // oldest first, one bucket per period including empty ones
+    private List<DrinkTypeTotal> byDrinkType; // over the trend window, most units first
 
     @Data
     @Builder
@@ -27,4 +33,25 @@ public class AlcoholAnalyticsResponse {
         private Double totalUnits;
         private long drinkingDays;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodTotal {
+        private LocalDate periodStart;
+        private Double totalUnits;
+        private long drinkingDays;
+        private long drinks;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DrinkTypeTotal {
+        private DrinkType drinkType;
+        private Double totalUnits;
+        private long drinks;
+    }
 }
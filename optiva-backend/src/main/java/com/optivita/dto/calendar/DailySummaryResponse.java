@@ -0,0 +1,29 @@
+package com.optivita.dto.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySummaryResponse {
+
+    private LocalDate date;
+    private Double weightKg;
+    private int habitsDone;
+    private int habitsTotal;
+    private Integer cigarettesCount;
+    private Boolean smokeFree;
+    private Double alcoholUnits;
+    private boolean hasJournal;
+    private Integer mood;
+    private Integer energy;
+    private Double sleepHours;
+    private boolean hasMealPlan;
+    private boolean hasWorkoutPlan;
+}
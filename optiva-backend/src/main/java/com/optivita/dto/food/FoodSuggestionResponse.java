@@ -0,0 +1,30 @@
+package com.optivita.dto.food;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodSuggestionResponse {
+
+    private String name;
+    private String portion;
+    private Integer calories;
+    private Double proteinG;
+    private Double carbsG;
+    private Double fatG;
+    private Source source;
+    /** False for a prefix match, true when matched despite a typo. */
+    private boolean fuzzy;
+
+    public enum Source {
+        /** An item from the user's own meal plans. */
+        HISTORY,
+        /** An item from the shared seed catalog. */
+        CATALOG
+    }
+}
@@ -0,0 +1,45 @@
+package com.optivita.dto.habit;
+
+import com.optivita.entity.enums.HabitLogStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkHabitLogRequest {
+
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = 1000, message = "At most 1000 entries per request")
+    @Valid
+    private List<Entry> entries;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        @NotNull(message = "Habit ID is required")
+        private UUID habitId;
+
+        @NotNull(message = "Date is required")
+        private LocalDate date;
+
+        @NotNull(message = "Status is required")
+        private HabitLogStatus status;
+
+        private String notes;
+    }
+}
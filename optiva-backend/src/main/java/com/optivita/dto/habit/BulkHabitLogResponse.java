@@ -0,0 +1,37 @@
+package com.optivita.dto.habit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkHabitLogResponse {
+
+    private int saved;
+    private int rejected;
+    private List<CellResult> results; // same order as the request entries
+
+    public enum Outcome {
+        SAVED,
+        HABIT_NOT_FOUND,
+        SUPERSEDED // a later entry in the same request targets the same habit and date
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CellResult {
+        private UUID habitId;
+        private LocalDate date;
+        private Outcome outcome;
+    }
+}
@@ -5,14 +5,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+import java.util.UUID;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class HabitAnalyticsResponse {
 
+    private UUID habitId;
     private String habitName;
     private int currentStreak;
+    private int longestStreak;
+    private LocalDate lastBreakDate;
     private double adherence7Day;
     private double adherence30Day;
     private long totalDone;
@@ -0,0 +1,30 @@
+package com.optivita.dto.habit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One habit's log statuses for a calendar year, packed 2 bits per day.
+ * <p>
+ * Day i (0 = January 1st) is stored in byte i / 4 at bit offset (i % 4) * 2, least
+ * significant bits first. Values: 0 = no log, 1 = DONE, 2 = MISSED, 3 = SKIPPED.
+ * The byte array is base64-encoded (standard alphabet, padded).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HabitHeatmapResponse {
+
+    private UUID habitId;
+    private int year;
+    private int days;
+    private String cells;
+    private int doneCount;
+    private int missedCount;
+    private int skippedCount;
+}
@@ -0,0 +1,31 @@
+package com.optivita.dto.habit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HabitMatrixResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private List<HabitRow> habits;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HabitRow {
+        private UUID habitId;
+        private String habitName;
+        private List<HabitLogResponse> logs; // ascending by date, only days that have a log
+    }
+}
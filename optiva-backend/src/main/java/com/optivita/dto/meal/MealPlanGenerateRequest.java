@@ -0,0 +1,46 @@
+package com.optivita.dto.meal;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Daily targets for a generated week. Any target left out is derived from the user's profile:
+ * calories by Mifflin-St Jeor times the activity factor, adjusted towards the target weight,
+ * and macros split from the calories.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanGenerateRequest {
+
+    @NotNull(message = "Week start date is required")
+    private LocalDate weekStartDate;
+
+    @Positive
+    private Integer calories;
+
+    @Positive
+    private Double proteinG;
+
+    @Positive
+    private Double carbsG;
+
+    @Positive
+    private Double fatG;
+
+    @DecimalMin("1.2") @DecimalMax("1.9")
+    private Double activityFactor;
+
+    /** Also plan with the shared food catalog, not only foods from the user's own plans. */
+    @Builder.Default
+    private boolean includeCatalog = true;
+}
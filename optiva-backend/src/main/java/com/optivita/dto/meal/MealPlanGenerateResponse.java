@@ -0,0 +1,44 @@
+package com.optivita.dto.meal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A generated week, ready to be submitted as is to create a meal plan, with the daily targets
+ * it was solved for and what each day actually adds up to. Nothing is saved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanGenerateResponse {
+
+    private MealPlanRequest plan;
+    private NutritionTotalsResponse targets;
+    private TargetSource targetSource;
+    private List<DayTotals> days;
+
+    private int foodsConsidered;
+    private long iterations;
+    private int restarts;
+    private double score;            // weighted squared relative error; 0 hits every target exactly
+    private boolean budgetExhausted; // stopped by the time budget rather than the iteration cap
+    private long elapsedMs;
+
+    public enum TargetSource {
+        REQUEST, PROFILE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayTotals {
+        private Integer dayOfWeek;
+        private NutritionTotalsResponse totals;
+    }
+}
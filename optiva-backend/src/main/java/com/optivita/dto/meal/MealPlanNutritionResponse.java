@@ -0,0 +1,32 @@
+package com.optivita.dto.meal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanNutritionResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    /** Planned totals per calendar day in the range; days without a plan are omitted. */
+    private List<Point> days;
+    /** Whole-week totals of every plan whose week overlaps the range. */
+    private List<Point> weeks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate date;
+        private NutritionTotalsResponse totals;
+    }
+}
@@ -20,8 +20,10 @@ public class MealPlanResponse {
     private UUID id;
     private LocalDate weekStartDate;
     private List<DayResponse> days;
+    private NutritionTotalsResponse totals;
     private Instant createdAt;
     private Instant updatedAt;
+    private Integer version;
 
     @Data
     @Builder
@@ -31,6 +33,7 @@ public class MealPlanResponse {
         private UUID id;
         private Integer dayOfWeek;
         private List<MealResponse> meals;
+        private NutritionTotalsResponse totals;
     }
 
     @Data
@@ -41,6 +44,7 @@ public class MealPlanResponse {
         private UUID id;
         private MealType mealType;
         private List<ItemResponse> items;
+        private NutritionTotalsResponse totals;
     }
 
     @Data
@@ -0,0 +1,18 @@
+package com.optivita.dto.meal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionTotalsResponse {
+
+    private Integer calories;
+    private Double proteinG;
+    private Double carbsG;
+    private Double fatG;
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -47,4 +48,7 @@ public class CheckpointEvaluationResponse {
 
     private Double avgDietCompliance;
     private Integer targetDietCompliance;
+
+    /** When this evaluation was computed; for stored evaluations, when the engine last ran on it. */
+    private Instant evaluatedAt;
 }
@@ -28,4 +28,5 @@ public class CheckpointResponse {
     private Double targetWeightKg;
     private String notes;
     private CheckpointStatus status;
+    private CheckpointEvaluationResponse evaluation; // last stored evaluation, null until evaluated
 }
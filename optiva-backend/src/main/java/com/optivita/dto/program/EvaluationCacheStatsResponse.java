@@ -0,0 +1,22 @@
+package com.optivita.dto.program;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Counters of the in-process checkpoint evaluation cache since startup. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationCacheStatsResponse {
+
+    private long hits;
+    private long misses;
+    private int size;
+    private int maxEntries;
+
+    /** hits / (hits + misses), 0 before the first lookup. */
+    private double hitRate;
+}
@@ -0,0 +1,66 @@
+package com.optivita.dto.program;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monte Carlo forecast of how the program's upcoming checkpoints will evaluate, from the
+ * user's own progress and weight history. Probabilities are in [0, 1] and null for a
+ * metric the checkpoint has no target for.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramSimulationResponse {
+
+    private UUID programId;
+    private int simulationsRequested;
+    private int simulationsRun;
+    private boolean converged;       // stopped early: every probability within the tolerance
+    private boolean budgetExhausted; // stopped by the time budget before all simulations ran
+    private long elapsedMs;
+
+    private Model model;
+    private List<CheckpointForecast> checkpoints;
+
+    /** Parameters fitted from history; null fields could not be fitted and are simulated as unlogged. */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Model {
+        private int entryIntervalDays;
+        private Double weightDriftKgPerWeek;
+        private Double weightVolatilityKgPerWeek;
+        private Double waistDriftCmPerWeek;
+        private Double avgWorkoutsPerWeek;
+        private Double avgSteps;
+        private Double avgDietCompliance;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckpointForecast {
+        private UUID checkpointId;
+        private String checkpointTitle;
+        private LocalDate checkpointDate;
+
+        private Double weightChangeProbability;
+        private Double waistChangeProbability;
+        private Double trainingDaysProbability;
+        private Double stepsProbability;
+        private Double dietComplianceProbability;
+
+        private Double allTargetsProbability;
+        private Double onTrackProbability; // evaluation would be ON_TRACK or AHEAD
+    }
+}
@@ -0,0 +1,36 @@
+package com.optivita.dto.program;
+
+import com.optivita.entity.enums.CheckpointStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Program list item without its checkpoints: counts per outcome plus the next
+ * checkpoint still UPCOMING (all next* fields null once none is left).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramSummaryResponse {
+
+    private UUID id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String notes;
+    private Instant createdAt;
+
+    private int checkpointCount;
+    private int achievedCount;
+    private int missedCount;
+
+    private LocalDate nextCheckpointDate;
+    private String nextCheckpointTitle;
+    private CheckpointStatus nextCheckpointStatus;
+}
@@ -1,5 +1,6 @@
 package com.optivita.dto.smoking;
 
+import com.optivita.dto.TrendPeriod;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +16,11 @@ import java.util.List;
 public class SmokingAnalyticsResponse {
 
     private int smokeFreeStreak;
+    private int longestSmokeFreeStreak;
     private Double weeklyAvgCigarettes;
-    private List<TrendPoint> trendPoints;
+    private List<TrendPoint> trendPoints; // daily, last 30 days
+    private TrendPeriod period;
+    private List<PeriodStats> trend; // oldest first, one bucket per period including empty ones
 
     @Data
     @Builder
@@ -28,4 +32,17 @@ public class SmokingAnalyticsResponse {
         private Boolean smokeFree;
         private Integer cravings;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodStats {
+        private LocalDate periodStart;
+        private long loggedDays;
+        private long smokeFreeDays;
+        private long totalCigarettes;
+        private Double avgCigarettes; // per logged day
+        private Double avgCravings;
+    }
 }
@@ -0,0 +1,19 @@
+package com.optivita.dto.template;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanTemplateRequest {
+
+    @NotBlank(message = "Template name is required")
+    @Size(max = 100)
+    private String name;
+}
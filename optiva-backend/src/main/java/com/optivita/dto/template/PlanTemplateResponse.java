@@ -0,0 +1,23 @@
+package com.optivita.dto.template;
+
+import com.optivita.entity.enums.PlanKind;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanTemplateResponse {
+
+    private UUID id;
+    private PlanKind kind;
+    private String name;
+    private Integer dayCount;
+    private Instant createdAt;
+}
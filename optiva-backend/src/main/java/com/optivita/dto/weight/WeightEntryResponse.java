@@ -19,5 +19,8 @@ public class WeightEntryResponse {
     private LocalDate date;
     private Double weightKg;
     private String notes;
+    private Double trendKg;
+    private Double avg7Kg;
+    private Double avg30Kg;
     private Instant createdAt;
 }
@@ -0,0 +1,35 @@
+package com.optivita.dto.weight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeightImportResponse {
+
+    private Format format;
+    private int accepted;
+    private int skipped;  // date already logged, or repeated earlier in the file
+    private int rejected; // unparseable or invalid rows
+    private List<RowError> errors; // first rejected rows only, see WeightImportService.MAX_REPORTED_ERRORS
+
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row; // 1-based line number for CSV, element index for JSON
+        private String message;
+    }
+}
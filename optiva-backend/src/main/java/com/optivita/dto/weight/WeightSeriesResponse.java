@@ -0,0 +1,48 @@
+package com.optivita.dto.weight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeightSeriesResponse {
+
+    public enum Bucket {
+        WEEK, MONTH
+    }
+
+    private LocalDate from;
+    private LocalDate to;
+    private int totalPoints;    // entries in range before downsampling
+    private Bucket bucket;      // null when points are returned
+    private List<Point> points; // raw or LTTB-downsampled entries, when no bucket is requested
+    private List<BucketStats> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate date;
+        private Double weightKg;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BucketStats {
+        private LocalDate start; // Monday of the week or first of the month
+        private int count;
+        private Double minKg;
+        private Double maxKg;
+        private Double avgKg;
+    }
+}
@@ -20,6 +20,7 @@ public class WeightStatsResponse {
     private Double totalChange;
     private Double rollingAvg7Day;
     private List<CheckpointProgressItem> checkpointProgress;
+    private GoalForecast goalForecast;
 
     @Data
     @Builder
@@ -32,4 +33,34 @@ public class WeightStatsResponse {
         private Double actualWeight;
         private String status;
     }
+
+    /**
+     * Linear trend over the recent window and when it reaches the profile's target weight.
+     * The low/high rates and earliest/latest dates form a 95 % confidence band on the slope;
+     * goalDateLatest is null when the band includes no progress towards the target.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GoalForecast {
+        private Outlook outlook;
+        private Double targetWeight;
+        private int entriesUsed;
+        private LocalDate windowStart;
+        private Double weeklyRateKg;
+        private Double weeklyRateLowKg;
+        private Double weeklyRateHighKg;
+        private LocalDate projectedGoalDate;
+        private LocalDate goalDateEarliest;
+        private LocalDate goalDateLatest;
+    }
+
+    public enum Outlook {
+        INSUFFICIENT_DATA, // fewer than 3 entries in the window
+        NO_TARGET,         // no target weight on the profile; rates only
+        REACHED,
+        ON_COURSE,
+        MOVING_AWAY
+    }
 }
@@ -0,0 +1,33 @@
+package com.optivita.dto.weight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeightTrendResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Double weeklyRateKg; // trend change per week over the last 4 weeks of the range; negative = losing
+    private List<TrendPoint> points;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrendPoint {
+        private LocalDate date;
+        private Double weightKg;
+        private Double trendKg;
+        private Double avg7Kg;
+        private Double avg30Kg;
+    }
+}
@@ -19,6 +19,9 @@ public class WorkoutPlanRequest {
     @NotNull(message = "Week start date is required")
     private LocalDate weekStartDate;
 
+    /** Version the client last read; when present a stale update is rejected with 409. */
+    private Integer version;
+
     @Valid
     private List<WorkoutDayRequest> days;
 }
@@ -21,6 +21,7 @@ public class WorkoutPlanResponse {
     private List<DayResponse> days;
     private Instant createdAt;
     private Instant updatedAt;
+    private Integer version;
 
     @Data
     @Builder
@@ -5,6 +5,7 @@ import com.optivita.entity.enums.CheckpointStatus;
 import com.optivita.entity.enums.FocusTag;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -43,9 +44,11 @@ public class Checkpoint {
 
     /**
      * Training focus areas for this milestone period.
-     * Stored as a join-table to keep queries cleanly typed.
+     * Stored as a join-table to keep queries cleanly typed; loaded lazily, for up to
+     * 50 checkpoints per query.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(
             name = "checkpoint_focus_tags",
             joinColumns = @JoinColumn(name = "checkpoint_id")
@@ -62,6 +65,13 @@ public class Checkpoint {
     @Embedded
     private TargetMetrics targetMetrics;
 
+    /**
+     * Stored result of the scheduled evaluation against targetMetrics.
+     * Embedded on the checkpoints table; null until the engine first reaches this checkpoint.
+     */
+    @Embedded
+    private CheckpointEvaluation evaluation;
+
     // ── Legacy / shared fields ────────────────────────────────────────────────
     @Column(name = "target_weight_kg")
     private Double targetWeightKg;
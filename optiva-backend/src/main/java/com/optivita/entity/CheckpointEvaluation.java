@@ -0,0 +1,52 @@
+package com.optivita.entity;
+
+import com.optivita.entity.enums.EvaluationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Last stored evaluation of a checkpoint, written by the scheduled status engine.
+ * Stored as embedded columns on the Checkpoint table; all null until first evaluated.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckpointEvaluation {
+
+    /** Null when there were no progress entries before the checkpoint date. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "eval_status", length = 20)
+    private EvaluationStatus status;
+
+    @Column(name = "eval_summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "eval_entries_analyzed")
+    private Integer entriesAnalyzed;
+
+    @Column(name = "eval_avg_weight_change_kg")
+    private Double avgWeightChangeKg;
+
+    @Column(name = "eval_avg_waist_change_cm")
+    private Double avgWaistChangeCm;
+
+    @Column(name = "eval_avg_workouts_per_week")
+    private Double avgWorkoutsPerWeek;
+
+    @Column(name = "eval_avg_steps")
+    private Double avgStepsAvg;
+
+    @Column(name = "eval_avg_diet_compliance")
+    private Double avgDietCompliance;
+
+    @Column(name = "evaluated_at")
+    private Instant evaluatedAt;
+}
@@ -0,0 +1,76 @@
+package com.optivita.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read model with one row per user per day, maintained on every write to the
+ * underlying tracking tables (weight, habits, smoking, alcohol, journal, plans).
+ * Days without any tracked data have no row.
+ */
+@Entity
+@Table(name = "daily_summaries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_daily_summaries_user_day", columnNames = {"user_id", "day"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(name = "weight_kg")
+    private Double weightKg;
+
+    @Column(name = "habits_done", nullable = false)
+    private int habitsDone;
+
+    @Column(name = "habits_total", nullable = false)
+    private int habitsTotal;
+
+    @Column(name = "cigarettes_count")
+    private Integer cigarettesCount;
+
+    @Column(name = "smoke_free")
+    private Boolean smokeFree;
+
+    @Column(name = "alcohol_units")
+    private Double alcoholUnits;
+
+    @Column(name = "has_journal", nullable = false)
+    private boolean hasJournal;
+
+    private Integer mood; // 1-10
+
+    private Integer energy; // 1-10
+
+    @Column(name = "sleep_hours")
+    private Double sleepHours;
+
+    @Column(name = "has_meal_plan", nullable = false)
+    private boolean hasMealPlan;
+
+    @Column(name = "has_workout_plan", nullable = false)
+    private boolean hasWorkoutPlan;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -10,7 +10,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "habits", indexes = {
-        @Index(name = "idx_habits_user_id", columnList = "user_id")
+        @Index(name = "idx_habits_user_id", columnList = "user_id"),
+        @Index(name = "idx_habits_user_active", columnList = "user_id, is_active")
 })
 @Getter
 @Setter
@@ -3,6 +3,7 @@ package com.optivita.entity;
 import com.optivita.entity.enums.MealType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,7 +32,12 @@ public class Meal {
     @Column(name = "meal_type", nullable = false, length = 20)
     private MealType mealType;
 
+    /** Sums of the items below, see {@link NutritionTotals}. */
+    @Embedded
+    private NutritionTotals nutrition;
+
     @OneToMany(mappedBy = "meal", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<MealItem> items = new ArrayList<>();
 }
@@ -2,6 +2,7 @@ package com.optivita.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -48,8 +49,13 @@ public class MealPlan {
     @Version
     private Integer version;
 
+    /** Sums of the items below, see {@link NutritionTotals}. */
+    @Embedded
+    private NutritionTotals nutrition;
+
     @OneToMany(mappedBy = "mealPlan", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("dayOfWeek ASC")
+    @BatchSize(size = 50)
     @Builder.Default
     private List<MealPlanDay> days = new ArrayList<>();
 }
@@ -2,6 +2,7 @@ package com.optivita.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,7 +30,12 @@ public class MealPlanDay {
     @Column(name = "day_of_week", nullable = false)
     private Integer dayOfWeek; // 1=Monday ... 7=Sunday
 
+    /** Sums of the items below, see {@link NutritionTotals}. */
+    @Embedded
+    private NutritionTotals nutrition;
+
     @OneToMany(mappedBy = "mealPlanDay", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<Meal> meals = new ArrayList<>();
 }
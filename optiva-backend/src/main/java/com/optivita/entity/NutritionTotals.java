@@ -0,0 +1,32 @@
+package com.optivita.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * Calories and macros summed over the meal items below a meal, plan day or plan week.
+ * Stored as embedded columns on each level and kept current by every plan write, so
+ * totals and charts never have to read item rows. All null on rows written before the
+ * rollups existed until they are backfilled.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NutritionTotals {
+
+    @Column(name = "total_calories")
+    private Integer calories;
+
+    @Column(name = "total_protein_g")
+    private Double proteinG;
+
+    @Column(name = "total_carbs_g")
+    private Double carbsG;
+
+    @Column(name = "total_fat_g")
+    private Double fatG;
+}
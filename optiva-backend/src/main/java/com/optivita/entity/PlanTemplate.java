@@ -0,0 +1,54 @@
+package com.optivita.entity;
+
+import com.optivita.entity.enums.PlanKind;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A reusable week of meals or workouts. The payload is the plan's days in the same JSON shape
+ * as the request DTOs, written and expanded entirely in SQL, see the template queries in
+ * {@code PlanTemplateRepository}, {@code MealPlanRepository} and {@code WorkoutPlanRepository}.
+ */
+@Entity
+@Table(name = "plan_templates", indexes = {
+        @Index(name = "idx_plan_templates_user_kind", columnList = "user_id, kind")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlanTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PlanKind kind;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    @Column(name = "day_count", nullable = false)
+    private Integer dayCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+}
@@ -2,6 +2,7 @@ package com.optivita.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -52,6 +53,7 @@ public class Program {
 
     @OneToMany(mappedBy = "program", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("checkpointDate ASC")
+    @BatchSize(size = 50)
     @Builder.Default
     private List<Checkpoint> checkpoints = new ArrayList<>();
 
@@ -0,0 +1,63 @@
+package com.optivita.entity;
+
+import com.optivita.entity.enums.StreakType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Streak index row, one per habit plus one smoke-free and one alcohol-free row per user.
+ * <p>
+ * For HABIT and SMOKE_FREE the row holds the latest run of consecutive good days
+ * [runStart, runEnd]. For ALCOHOL_FREE the run is open-ended: runStart is the day after
+ * the last drinking day (or the account creation date) and runEnd is null.
+ * longestStreak covers every closed run; the open alcohol-free run is added at read time.
+ */
+@Entity
+@Table(name = "streaks", indexes = {
+        @Index(name = "idx_streaks_user_type", columnList = "user_id, type"),
+        @Index(name = "idx_streaks_habit_id", columnList = "habit_id", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Streak {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "habit_id")
+    private Habit habit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StreakType type;
+
+    @Column(name = "run_start")
+    private LocalDate runStart;
+
+    @Column(name = "run_end")
+    private LocalDate runEnd;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    @Column(name = "last_break_date")
+    private LocalDate lastBreakDate;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
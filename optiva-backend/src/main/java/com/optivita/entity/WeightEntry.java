@@ -40,6 +40,19 @@ public class WeightEntry {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // ── Derived series, maintained by WeightTrendService ─────────────────────
+    /** Exponentially smoothed (trend) weight as of this entry. */
+    @Column(name = "trend_kg")
+    private Double trendKg;
+
+    /** Mean of the entries in the 7 days ending on this entry's date. */
+    @Column(name = "avg7_kg")
+    private Double avg7Kg;
+
+    /** Mean of the entries in the 30 days ending on this entry's date. */
+    @Column(name = "avg30_kg")
+    private Double avg30Kg;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private Instant createdAt;
@@ -0,0 +1,57 @@
+package com.optivita.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Running least-squares sums of a user's weight entries dated on or after windowStart,
+ * with x = entry epoch day - originDay and y = weight in kg. Writes adjust the sums with
+ * atomic increments (hence no @Version); entries that age out of the window are subtracted
+ * when the window slides, so a forecast never rescans the history.
+ */
+@Entity
+@Table(name = "weight_regressions", indexes = {
+        @Index(name = "idx_weight_regressions_user_id", columnList = "user_id", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeightRegression {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDate windowStart;
+
+    @Column(name = "origin_day", nullable = false)
+    private int originDay;
+
+    @Column(nullable = false)
+    private int n;
+
+    @Column(name = "sum_x", nullable = false)
+    private double sumX;
+
+    @Column(name = "sum_y", nullable = false)
+    private double sumY;
+
+    @Column(name = "sum_xy", nullable = false)
+    private double sumXY;
+
+    @Column(name = "sum_xx", nullable = false)
+    private double sumXX;
+
+    @Column(name = "sum_yy", nullable = false)
+    private double sumYY;
+}
@@ -2,6 +2,7 @@ package com.optivita.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -50,6 +51,7 @@ public class WorkoutPlan {
 
     @OneToMany(mappedBy = "workoutPlan", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("dayOfWeek ASC")
+    @BatchSize(size = 50)
     @Builder.Default
     private List<WorkoutPlanDay> days = new ArrayList<>();
 }
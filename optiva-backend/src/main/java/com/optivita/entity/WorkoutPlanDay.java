@@ -2,6 +2,7 @@ package com.optivita.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +32,7 @@ public class WorkoutPlanDay {
 
     @OneToMany(mappedBy = "workoutPlanDay", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @BatchSize(size = 50)
     @Builder.Default
     private List<WorkoutSession> sessions = new ArrayList<>();
 }
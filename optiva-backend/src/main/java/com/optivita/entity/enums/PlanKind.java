@@ -0,0 +1,5 @@
+package com.optivita.entity.enums;
+
+public enum PlanKind {
+    MEAL, WORKOUT
+}
@@ -0,0 +1,5 @@
+package com.optivita.entity.enums;
+
+public enum StreakType {
+    HABIT, SMOKE_FREE, ALCOHOL_FREE
+}
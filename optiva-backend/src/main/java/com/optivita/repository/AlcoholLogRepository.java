@@ -1,6 +1,10 @@
 package com.optivita.repository;
 
 import com.optivita.entity.AlcoholLog;
+import com.optivita.repository.projection.AlcoholDayTotal;
+import com.optivita.repository.projection.AlcoholPeriodTotal;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.DrinkTypeTotal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -37,4 +41,46 @@ public interface AlcoholLogRepository extends JpaRepository<AlcoholLog, UUID> {
 
     @Query("SELECT COALESCE(SUM(a.units), 0) FROM AlcoholLog a WHERE a.user.id = :userId AND a.logDate BETWEEN :from AND :to")
     Double sumUnitsByUserIdAndDateBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT DISTINCT a.logDate FROM AlcoholLog a WHERE a.user.id = :userId AND a.logDate BETWEEN :from AND :to")
+    List<LocalDate> findLogDatesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT a.logDate AS logDate, SUM(a.units) AS units FROM AlcoholLog a " +
+            "WHERE a.user.id = :userId AND a.logDate BETWEEN :from AND :to GROUP BY a.logDate")
+    List<AlcoholDayTotal> sumUnitsByUserIdGroupedByDate(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(a.logDate) AS firstDate, MAX(a.logDate) AS lastDate FROM AlcoholLog a WHERE a.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
+
+    /** Runs of consecutive drinking days, oldest first (gaps-and-islands over the distinct log dates). */
+    @Query(value = "SELECT MIN(d) AS firstDate, MAX(d) AS lastDate FROM (" +
+            "  SELECT d, d - CAST(ROW_NUMBER() OVER (ORDER BY d) AS int) AS grp " +
+            "  FROM (SELECT DISTINCT log_date AS d FROM alcohol_logs WHERE user_id = :userId) days" +
+            ") islands GROUP BY grp ORDER BY firstDate",
+            nativeQuery = true)
+    List<DateRange> findDrinkingRunsByUserId(@Param("userId") UUID userId);
+
+    /** Totals per date_trunc(unit) bucket of [from, to]; buckets without logs are absent. */
+    @Query(value = "SELECT CAST(date_trunc(:unit, log_date) AS date) AS periodStart, SUM(units) AS totalUnits, " +
+            "COUNT(DISTINCT log_date) AS drinkingDays, COUNT(*) AS drinks " +
+            "FROM alcohol_logs WHERE user_id = :userId AND log_date BETWEEN :from AND :to " +
+            "GROUP BY 1 ORDER BY 1",
+            nativeQuery = true)
+    List<AlcoholPeriodTotal> sumUnitsByPeriod(@Param("userId") UUID userId, @Param("unit") String unit,
+                                              @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Totals per drink type over [from, to]. The scan starts at scanFrom (at most from) so that
+     * the same pass can also report the units logged since weekStart.
+     */
+    @Query(value = "SELECT drink_type AS drinkType, " +
+            "COALESCE(SUM(units) FILTER (WHERE log_date >= :from), 0) AS totalUnits, " +
+            "COUNT(*) FILTER (WHERE log_date >= :from) AS drinks, " +
+            "COALESCE(SUM(units) FILTER (WHERE log_date >= :weekStart), 0) AS unitsSinceWeekStart " +
+            "FROM alcohol_logs WHERE user_id = :userId AND log_date BETWEEN :scanFrom AND :to " +
+            "GROUP BY drink_type ORDER BY totalUnits DESC",
+            nativeQuery = true)
+    List<DrinkTypeTotal> sumUnitsByDrinkType(@Param("userId") UUID userId, @Param("scanFrom") LocalDate scanFrom,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                             @Param("weekStart") LocalDate weekStart);
 }
@@ -1,8 +1,14 @@
 package com.optivita.repository;
 
 import com.optivita.entity.Checkpoint;
+import com.optivita.entity.enums.CheckpointStatus;
+import com.optivita.repository.projection.CheckpointTargetRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +18,18 @@ public interface CheckpointRepository extends JpaRepository<Checkpoint, UUID> {
     List<Checkpoint> findByProgramIdOrderByCheckpointDateAsc(UUID programId);
 
     Optional<Checkpoint> findByIdAndProgramId(UUID id, UUID programId);
+
+    @Query("SELECT c.title AS title, c.checkpointDate AS checkpointDate, c.targetWeightKg AS targetWeightKg, c.status AS status " +
+            "FROM Checkpoint c JOIN c.program p WHERE p.user.id = :userId " +
+            "ORDER BY p.startDate DESC, p.id, c.checkpointDate ASC")
+    List<CheckpointTargetRow> findTargetsByUserId(@Param("userId") UUID userId);
+
+    /** Keyset page of programs with a checkpoint in the given status dated on or before horizon, by id. */
+    @Query("SELECT DISTINCT c.program.id FROM Checkpoint c " +
+            "WHERE c.status = :status AND c.checkpointDate <= :horizon AND c.program.id > :after " +
+            "ORDER BY c.program.id")
+    List<UUID> findProgramIdsWithCheckpointsDue(@Param("status") CheckpointStatus status,
+                                                @Param("horizon") LocalDate horizon,
+                                                @Param("after") UUID after,
+                                                Limit limit);
 }
@@ -0,0 +1,23 @@
+package com.optivita.repository;
+
+import com.optivita.entity.DailySummary;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Race-free writes for the daily summary read model, mixed into {@link DailySummaryRepository}.
+ */
+public interface DailySummaryBulkRepository {
+
+    /**
+     * Inserts or overwrites the given (unsaved) rows in one JDBC batch, keyed on (user_id, day),
+     * so concurrent refreshes of the same new day both succeed. Pass at most one row per day.
+     */
+    void upsertAll(UUID userId, List<DailySummary> rows);
+
+    /** Deletes the user's rows in [from, to] except those for the given days. */
+    int deleteInRangeExcept(UUID userId, LocalDate from, LocalDate to, Collection<LocalDate> keep);
+}
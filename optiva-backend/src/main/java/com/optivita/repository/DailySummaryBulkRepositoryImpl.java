@@ -0,0 +1,71 @@
+package com.optivita.repository;
+
+import com.optivita.entity.DailySummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class DailySummaryBulkRepositoryImpl implements DailySummaryBulkRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO daily_summaries (id, user_id, day, weight_kg, habits_done, habits_total, cigarettes_count, " +
+            "smoke_free, alcohol_units, has_journal, mood, energy, sleep_hours, has_meal_plan, has_workout_plan, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, day) DO UPDATE SET weight_kg = EXCLUDED.weight_kg, " +
+            "habits_done = EXCLUDED.habits_done, habits_total = EXCLUDED.habits_total, " +
+            "cigarettes_count = EXCLUDED.cigarettes_count, smoke_free = EXCLUDED.smoke_free, " +
+            "alcohol_units = EXCLUDED.alcohol_units, has_journal = EXCLUDED.has_journal, mood = EXCLUDED.mood, " +
+            "energy = EXCLUDED.energy, sleep_hours = EXCLUDED.sleep_hours, has_meal_plan = EXCLUDED.has_meal_plan, " +
+            "has_workout_plan = EXCLUDED.has_workout_plan, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(UUID userId, List<DailySummary> rows) {
+        if (rows.isEmpty()) return;
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, userId);
+            ps.setDate(3, Date.valueOf(row.getDay()));
+            ps.setObject(4, row.getWeightKg(), Types.DOUBLE);
+            ps.setInt(5, row.getHabitsDone());
+            ps.setInt(6, row.getHabitsTotal());
+            ps.setObject(7, row.getCigarettesCount(), Types.INTEGER);
+            ps.setObject(8, row.getSmokeFree(), Types.BOOLEAN);
+            ps.setObject(9, row.getAlcoholUnits(), Types.DOUBLE);
+            ps.setBoolean(10, row.isHasJournal());
+            ps.setObject(11, row.getMood(), Types.INTEGER);
+            ps.setObject(12, row.getEnergy(), Types.INTEGER);
+            ps.setObject(13, row.getSleepHours(), Types.DOUBLE);
+            ps.setBoolean(14, row.isHasMealPlan());
+            ps.setBoolean(15, row.isHasWorkoutPlan());
+            ps.setTimestamp(16, now);
+        });
+    }
+
+    @Override
+    public int deleteInRangeExcept(UUID userId, LocalDate from, LocalDate to, Collection<LocalDate> keep) {
+        List<Object> args = new ArrayList<>(keep.size() + 3);
+        args.add(userId);
+        args.add(Date.valueOf(from));
+        args.add(Date.valueOf(to));
+        StringBuilder sql = new StringBuilder("DELETE FROM daily_summaries WHERE user_id = ? AND day BETWEEN ? AND ?");
+        if (!keep.isEmpty()) {
+            sql.append(" AND day NOT IN (").append(String.join(", ", Collections.nCopies(keep.size(), "?"))).append(')');
+            for (LocalDate day : keep) args.add(Date.valueOf(day));
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,21 @@
+package com.optivita.repository;
+
+import com.optivita.entity.DailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface DailySummaryRepository extends JpaRepository<DailySummary, UUID>, DailySummaryBulkRepository {
+
+    @Query("SELECT d FROM DailySummary d WHERE d.user.id = :userId AND d.day BETWEEN :from AND :to ORDER BY d.day ASC")
+    List<DailySummary> findByUserIdAndDayBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailySummary d WHERE d.user.id = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,18 @@
+package com.optivita.repository;
+
+import com.optivita.entity.HabitLog;
+
+import java.util.List;
+
+/**
+ * JDBC-batched writes for habit logs, mixed into {@link HabitLogRepository}.
+ */
+public interface HabitLogBulkRepository {
+
+    /**
+     * Inserts or updates the given (unsaved) logs in one JDBC batch, keyed on
+     * (habit_id, log_date). Callers must have checked habit ownership and pass at
+     * most one log per habit and date.
+     */
+    void upsertAll(List<HabitLog> logs);
+}
@@ -0,0 +1,34 @@
+package com.optivita.repository;
+
+import com.optivita.entity.HabitLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class HabitLogBulkRepositoryImpl implements HabitLogBulkRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO habit_logs (id, habit_id, log_date, status, notes, created_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (habit_id, log_date) DO UPDATE SET status = EXCLUDED.status, notes = EXCLUDED.notes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<HabitLog> logs) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, logs, logs.size(), (ps, log) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, log.getHabit().getId());
+            ps.setDate(3, Date.valueOf(log.getLogDate()));
+            ps.setString(4, log.getStatus().name());
+            ps.setString(5, log.getNotes());
+            ps.setTimestamp(6, now);
+        });
+    }
+}
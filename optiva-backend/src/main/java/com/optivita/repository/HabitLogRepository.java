@@ -1,17 +1,24 @@
 package com.optivita.repository;
 
+import com.optivita.dto.habit.HabitLogResponse;
 import com.optivita.entity.HabitLog;
-import com.optivita.entity.enums.HabitLogStatus;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.HabitDayCount;
+import com.optivita.repository.projection.HabitLogCell;
+import com.optivita.repository.projection.HabitLogStats;
+import com.optivita.repository.projection.HabitRun;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface HabitLogRepository extends JpaRepository<HabitLog, UUID> {
+public interface HabitLogRepository extends JpaRepository<HabitLog, UUID>, HabitLogBulkRepository {
 
     List<HabitLog> findByHabitIdOrderByLogDateDesc(UUID habitId);
 
@@ -20,15 +27,73 @@ public interface HabitLogRepository extends JpaRepository<HabitLog, UUID> {
     @Query("SELECT hl FROM HabitLog hl WHERE hl.habit.id = :habitId AND hl.logDate >= :fromDate ORDER BY hl.logDate ASC")
     List<HabitLog> findByHabitIdAndDateFrom(@Param("habitId") UUID habitId, @Param("fromDate") LocalDate fromDate);
 
-    @Query("SELECT COUNT(hl) FROM HabitLog hl WHERE hl.habit.id = :habitId AND hl.logDate >= :fromDate AND hl.status = :status")
-    long countByHabitIdAndDateFromAndStatus(@Param("habitId") UUID habitId, @Param("fromDate") LocalDate fromDate, @Param("status") HabitLogStatus status);
-
-    @Query("SELECT COUNT(hl) FROM HabitLog hl WHERE hl.habit.id = :habitId AND hl.logDate >= :fromDate")
-    long countByHabitIdAndDateFrom(@Param("habitId") UUID habitId, @Param("fromDate") LocalDate fromDate);
-
     @Query("SELECT COUNT(hl) FROM HabitLog hl WHERE hl.habit.user.id = :userId AND hl.logDate = :date AND hl.status = 'DONE'")
     long countDoneByUserIdAndDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
 
     @Query("SELECT COUNT(hl) FROM HabitLog hl WHERE hl.habit.user.id = :userId AND hl.logDate = :date")
     long countByUserIdAndDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @Query("SELECT hl.logDate AS logDate, " +
+            "SUM(CASE WHEN hl.status = 'DONE' THEN 1 ELSE 0 END) AS doneCount, " +
+            "COUNT(hl) AS totalCount " +
+            "FROM HabitLog hl WHERE hl.habit.user.id = :userId AND hl.logDate BETWEEN :from AND :to " +
+            "GROUP BY hl.logDate")
+    List<HabitDayCount> countByUserIdGroupedByDate(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(hl.logDate) AS firstDate, MAX(hl.logDate) AS lastDate FROM HabitLog hl WHERE hl.habit.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT MIN(hl.logDate) AS firstDate, MAX(hl.logDate) AS lastDate FROM HabitLog hl WHERE hl.habit.id = :habitId")
+    DateRange findDateRangeByHabitId(@Param("habitId") UUID habitId);
+
+    @Modifying
+    @Query("DELETE FROM HabitLog hl WHERE hl.habit.id = :habitId")
+    void deleteByHabitId(@Param("habitId") UUID habitId);
+
+    /** Runs of consecutive DONE days, oldest first (gaps-and-islands over the log dates). */
+    @Query(value = "SELECT MIN(d) AS firstDate, MAX(d) AS lastDate FROM (" +
+            "  SELECT log_date AS d, log_date - CAST(ROW_NUMBER() OVER (ORDER BY log_date) AS int) AS grp " +
+            "  FROM habit_logs WHERE habit_id = :habitId AND status = 'DONE'" +
+            ") islands GROUP BY grp ORDER BY firstDate",
+            nativeQuery = true)
+    List<DateRange> findDoneRunsByHabitId(@Param("habitId") UUID habitId);
+
+    /** Runs of consecutive DONE days of each of the given habits, by habit and then oldest first. */
+    @Query(value = "SELECT habit_id AS habitId, MIN(d) AS firstDate, MAX(d) AS lastDate FROM (" +
+            "  SELECT habit_id, log_date AS d, " +
+            "  log_date - CAST(ROW_NUMBER() OVER (PARTITION BY habit_id ORDER BY log_date) AS int) AS grp " +
+            "  FROM habit_logs WHERE habit_id IN (:habitIds) AND status = 'DONE'" +
+            ") islands GROUP BY habit_id, grp ORDER BY habit_id, firstDate",
+            nativeQuery = true)
+    List<HabitRun> findDoneRunsByHabitIds(@Param("habitIds") Collection<UUID> habitIds);
+
+    String LOG_STATS_SELECT = "SELECT hl.habit.id AS habitId, " +
+            "COUNT(hl) FILTER (WHERE hl.logDate >= :from7 AND hl.status = 'DONE') AS done7, " +
+            "COUNT(hl) FILTER (WHERE hl.logDate >= :from7) AS total7, " +
+            "COUNT(hl) FILTER (WHERE hl.logDate >= :from30 AND hl.status = 'DONE') AS done30, " +
+            "COUNT(hl) FILTER (WHERE hl.logDate >= :from30) AS total30, " +
+            "COUNT(hl) FILTER (WHERE hl.status = 'DONE') AS totalDone, " +
+            "COUNT(hl) FILTER (WHERE hl.status = 'MISSED') AS totalMissed, " +
+            "COUNT(hl) FILTER (WHERE hl.status = 'SKIPPED') AS totalSkipped " +
+            "FROM HabitLog hl ";
+
+    @Query(LOG_STATS_SELECT + "WHERE hl.habit.user.id = :userId GROUP BY hl.habit.id")
+    List<HabitLogStats> findLogStatsByUserId(@Param("userId") UUID userId, @Param("from7") LocalDate from7, @Param("from30") LocalDate from30);
+
+    @Query(LOG_STATS_SELECT + "WHERE hl.habit.id = :habitId GROUP BY hl.habit.id")
+    Optional<HabitLogStats> findLogStatsByHabitId(@Param("habitId") UUID habitId, @Param("from7") LocalDate from7, @Param("from30") LocalDate from30);
+
+    @Query("SELECT hl.habit.id AS habitId, hl.logDate AS logDate, hl.status AS status FROM HabitLog hl " +
+            "WHERE hl.habit.id = :habitId AND hl.logDate BETWEEN :from AND :to")
+    List<HabitLogCell> findCellsByHabitId(@Param("habitId") UUID habitId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT hl.habit.id AS habitId, hl.logDate AS logDate, hl.status AS status FROM HabitLog hl " +
+            "WHERE hl.habit.user.id = :userId AND hl.logDate BETWEEN :from AND :to")
+    List<HabitLogCell> findCellsByUserId(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.optivita.dto.habit.HabitLogResponse(hl.id, h.id, hl.logDate, hl.status, hl.notes, hl.createdAt) " +
+            "FROM HabitLog hl JOIN hl.habit h " +
+            "WHERE h.user.id = :userId AND h.isActive = true AND hl.logDate BETWEEN :from AND :to " +
+            "ORDER BY hl.logDate ASC")
+    List<HabitLogResponse> findActiveLogResponsesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
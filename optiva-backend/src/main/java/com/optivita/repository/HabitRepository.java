@@ -3,6 +3,7 @@ package com.optivita.repository;
 import com.optivita.entity.Habit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,5 +14,9 @@ public interface HabitRepository extends JpaRepository<Habit, UUID> {
 
     List<Habit> findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(UUID userId);
 
+    long countByUserIdAndIsActiveTrue(UUID userId);
+
     Optional<Habit> findByIdAndUserId(UUID id, UUID userId);
+
+    List<Habit> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
 }
@@ -1,6 +1,7 @@
 package com.optivita.repository;
 
 import com.optivita.entity.JournalEntry;
+import com.optivita.repository.projection.DateRange;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -33,4 +34,13 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID
 
     @Query("SELECT COUNT(j) > 0 FROM JournalEntry j WHERE j.user.id = :userId AND j.entryDate = :date")
     boolean existsByUserIdAndEntryDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT j.entryDate FROM JournalEntry j WHERE j.user.id = :userId AND j.entryDate BETWEEN :from AND :to")
+    List<LocalDate> findEntryDatesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT j FROM JournalEntry j WHERE j.user.id = :userId AND j.entryDate BETWEEN :from AND :to ORDER BY j.entryDate ASC")
+    List<JournalEntry> findByUserIdAndDateBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(j.entryDate) AS firstDate, MAX(j.entryDate) AS lastDate FROM JournalEntry j WHERE j.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
 }
@@ -1,11 +1,22 @@
 package com.optivita.repository;
 
+import com.optivita.entity.Meal;
+import com.optivita.entity.MealItem;
 import com.optivita.entity.MealPlan;
+import com.optivita.entity.MealPlanDay;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.FoodTupleRow;
+import com.optivita.repository.projection.MealFoodRow;
+import com.optivita.repository.projection.NutritionRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,4 +36,178 @@ public interface MealPlanRepository extends JpaRepository<MealPlan, UUID> {
     Optional<MealPlan> findFirstByUserIdOrderByWeekStartDateDesc(UUID userId);
 
     boolean existsByUserIdAndWeekStartDateBetween(UUID userId, LocalDate from, LocalDate to);
+
+    @Query("SELECT p.weekStartDate FROM MealPlan p WHERE p.user.id = :userId AND p.weekStartDate BETWEEN :from AND :to")
+    List<LocalDate> findWeekStartDatesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(p.weekStartDate) AS firstDate, MAX(p.weekStartDate) AS lastDate FROM MealPlan p WHERE p.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
+
+    // ── Plan graph levels, see PlanGraphLoader ──────────────────────────────
+
+    @Query("SELECT d FROM MealPlanDay d WHERE d.mealPlan.id IN :planIds ORDER BY d.dayOfWeek")
+    List<MealPlanDay> findDaysByPlanIds(@Param("planIds") Collection<UUID> planIds);
+
+    @Query("SELECT m FROM Meal m WHERE m.mealPlanDay.id IN :dayIds")
+    List<Meal> findMealsByDayIds(@Param("dayIds") Collection<UUID> dayIds);
+
+    @Query("SELECT i FROM MealItem i WHERE i.meal.id IN :mealIds")
+    List<MealItem> findItemsByMealIds(@Param("mealIds") Collection<UUID> mealIds);
+
+    // ── Set-based copies: the whole tree is written by one statement ────────
+
+    /**
+     * Copies the user's plan {@code sourceId} to a new plan {@code newId} for another week. Each
+     * level gets fresh ids in a materialized CTE that the next level joins on. Returns 0 if the
+     * source does not exist or belongs to someone else.
+     */
+    @Modifying
+    @Query(value = "WITH src_days AS (" +
+            "    SELECT d.id AS old_id, gen_random_uuid() AS new_id, d.day_of_week, " +
+            "           d.total_calories, d.total_protein_g, d.total_carbs_g, d.total_fat_g " +
+            "    FROM meal_plan_days d JOIN meal_plans p ON p.id = d.meal_plan_id " +
+            "    WHERE p.id = :sourceId AND p.user_id = :userId), " +
+            "src_meals AS (" +
+            "    SELECT m.id AS old_id, gen_random_uuid() AS new_id, sd.new_id AS day_id, m.meal_type, " +
+            "           m.total_calories, m.total_protein_g, m.total_carbs_g, m.total_fat_g " +
+            "    FROM meals m JOIN src_days sd ON sd.old_id = m.meal_plan_day_id), " +
+            "ins_days AS (" +
+            "    INSERT INTO meal_plan_days (id, meal_plan_id, day_of_week, total_calories, total_protein_g, total_carbs_g, total_fat_g) " +
+            "    SELECT new_id, :newId, day_of_week, total_calories, total_protein_g, total_carbs_g, total_fat_g FROM src_days), " +
+            "ins_meals AS (" +
+            "    INSERT INTO meals (id, meal_plan_day_id, meal_type, total_calories, total_protein_g, total_carbs_g, total_fat_g) " +
+            "    SELECT new_id, day_id, meal_type, total_calories, total_protein_g, total_carbs_g, total_fat_g FROM src_meals), " +
+            "ins_items AS (" +
+            "    INSERT INTO meal_items (id, meal_id, name, portion, calories, protein_g, carbs_g, fat_g) " +
+            "    SELECT gen_random_uuid(), sm.new_id, i.name, i.portion, i.calories, i.protein_g, i.carbs_g, i.fat_g " +
+            "    FROM meal_items i JOIN src_meals sm ON sm.old_id = i.meal_id) " +
+            "INSERT INTO meal_plans (id, user_id, week_start_date, created_at, updated_at, version, total_calories, total_protein_g, total_carbs_g, total_fat_g) " +
+            "SELECT :newId, p.user_id, :weekStartDate, now(), now(), 0, p.total_calories, p.total_protein_g, p.total_carbs_g, p.total_fat_g " +
+            "FROM meal_plans p WHERE p.id = :sourceId AND p.user_id = :userId",
+            nativeQuery = true)
+    int copyPlan(@Param("sourceId") UUID sourceId, @Param("userId") UUID userId,
+                 @Param("newId") UUID newId, @Param("weekStartDate") LocalDate weekStartDate);
+
+    /** Expands the user's meal template into a new plan; returns 0 if there is no such template. */
+    @Modifying
+    @Query(value = "WITH tpl AS (" +
+            "    SELECT payload FROM plan_templates " +
+            "    WHERE id = :templateId AND user_id = :userId AND kind = 'MEAL'), " +
+            "tpl_days AS (" +
+            "    SELECT gen_random_uuid() AS new_id, CAST(d->>'dayOfWeek' AS int) AS day_of_week, d->'meals' AS meals " +
+            "    FROM tpl CROSS JOIN LATERAL jsonb_array_elements(tpl.payload) d), " +
+            "tpl_meals AS (" +
+            "    SELECT gen_random_uuid() AS new_id, td.new_id AS day_id, m->>'mealType' AS meal_type, m->'items' AS items " +
+            "    FROM tpl_days td CROSS JOIN LATERAL jsonb_array_elements(td.meals) m), " +
+            "ins_days AS (" +
+            "    INSERT INTO meal_plan_days (id, meal_plan_id, day_of_week) " +
+            "    SELECT new_id, :newId, day_of_week FROM tpl_days), " +
+            "ins_meals AS (" +
+            "    INSERT INTO meals (id, meal_plan_day_id, meal_type) " +
+            "    SELECT new_id, day_id, meal_type FROM tpl_meals), " +
+            "ins_items AS (" +
+            "    INSERT INTO meal_items (id, meal_id, name, portion, calories, protein_g, carbs_g, fat_g) " +
+            "    SELECT gen_random_uuid(), tm.new_id, i->>'name', i->>'portion', CAST(i->>'calories' AS int), " +
+            "           CAST(i->>'proteinG' AS float8), CAST(i->>'carbsG' AS float8), CAST(i->>'fatG' AS float8) " +
+            "    FROM tpl_meals tm CROSS JOIN LATERAL jsonb_array_elements(tm.items) i) " +
+            "INSERT INTO meal_plans (id, user_id, week_start_date, created_at, updated_at, version) " +
+            "SELECT :newId, :userId, :weekStartDate, now(), now(), 0 FROM tpl",
+            nativeQuery = true)
+    int createFromTemplate(@Param("templateId") UUID templateId, @Param("userId") UUID userId,
+                           @Param("newId") UUID newId, @Param("weekStartDate") LocalDate weekStartDate);
+
+    // ── Nutrition rollups, see NutritionTotals ──────────────────────────────
+
+    /**
+     * Recomputes the meal, day and week totals of the given plans from their items in one
+     * statement, for plans written in SQL or stored before the rollups existed.
+     */
+    @Modifying
+    @Query(value = "WITH meal_sums AS (" +
+            "    SELECT m.id, d.id AS day_id, d.meal_plan_id AS plan_id, " +
+            "           COALESCE(SUM(i.calories), 0) AS calories, COALESCE(SUM(i.protein_g), 0) AS protein_g, " +
+            "           COALESCE(SUM(i.carbs_g), 0) AS carbs_g, COALESCE(SUM(i.fat_g), 0) AS fat_g " +
+            "    FROM meal_plan_days d JOIN meals m ON m.meal_plan_day_id = d.id " +
+            "    LEFT JOIN meal_items i ON i.meal_id = m.id " +
+            "    WHERE d.meal_plan_id IN (:planIds) GROUP BY m.id, d.id, d.meal_plan_id), " +
+            "day_sums AS (" +
+            "    SELECT d.id, d.meal_plan_id AS plan_id, " +
+            "           COALESCE(SUM(s.calories), 0) AS calories, COALESCE(SUM(s.protein_g), 0) AS protein_g, " +
+            "           COALESCE(SUM(s.carbs_g), 0) AS carbs_g, COALESCE(SUM(s.fat_g), 0) AS fat_g " +
+            "    FROM meal_plan_days d LEFT JOIN meal_sums s ON s.day_id = d.id " +
+            "    WHERE d.meal_plan_id IN (:planIds) GROUP BY d.id, d.meal_plan_id), " +
+            "plan_sums AS (" +
+            "    SELECT p.id, COALESCE(SUM(s.calories), 0) AS calories, COALESCE(SUM(s.protein_g), 0) AS protein_g, " +
+            "           COALESCE(SUM(s.carbs_g), 0) AS carbs_g, COALESCE(SUM(s.fat_g), 0) AS fat_g " +
+            "    FROM meal_plans p LEFT JOIN day_sums s ON s.plan_id = p.id " +
+            "    WHERE p.id IN (:planIds) GROUP BY p.id), " +
+            "upd_meals AS (" +
+            "    UPDATE meals m SET total_calories = CAST(s.calories AS int), " +
+            "        total_protein_g = ROUND(CAST(s.protein_g AS numeric), 2), " +
+            "        total_carbs_g = ROUND(CAST(s.carbs_g AS numeric), 2), " +
+            "        total_fat_g = ROUND(CAST(s.fat_g AS numeric), 2) " +
+            "    FROM meal_sums s WHERE m.id = s.id), " +
+            "upd_days AS (" +
+            "    UPDATE meal_plan_days d SET total_calories = CAST(s.calories AS int), " +
+            "        total_protein_g = ROUND(CAST(s.protein_g AS numeric), 2), " +
+            "        total_carbs_g = ROUND(CAST(s.carbs_g AS numeric), 2), " +
+            "        total_fat_g = ROUND(CAST(s.fat_g AS numeric), 2) " +
+            "    FROM day_sums s WHERE d.id = s.id) " +
+            "UPDATE meal_plans p SET total_calories = CAST(s.calories AS int), " +
+            "    total_protein_g = ROUND(CAST(s.protein_g AS numeric), 2), " +
+            "    total_carbs_g = ROUND(CAST(s.carbs_g AS numeric), 2), " +
+            "    total_fat_g = ROUND(CAST(s.fat_g AS numeric), 2) " +
+            "FROM plan_sums s WHERE p.id = s.id",
+            nativeQuery = true)
+    int refreshNutrition(@Param("planIds") Collection<UUID> planIds);
+
+    @Query("SELECT p.id FROM MealPlan p WHERE p.user.id = :userId AND p.nutrition.calories IS NULL")
+    List<UUID> findIdsWithoutNutrition(@Param("userId") UUID userId);
+
+    /** Planned totals per calendar day between from and to; weekFrom is from minus six days. */
+    @Query(value = "SELECT CAST(p.week_start_date + (d.day_of_week - 1) AS date) AS date, " +
+            "CAST(SUM(d.total_calories) AS int) AS calories, SUM(d.total_protein_g) AS proteinG, " +
+            "SUM(d.total_carbs_g) AS carbsG, SUM(d.total_fat_g) AS fatG " +
+            "FROM meal_plan_days d JOIN meal_plans p ON p.id = d.meal_plan_id " +
+            "WHERE p.user_id = :userId AND p.week_start_date BETWEEN :weekFrom AND :to " +
+            "AND p.week_start_date + (d.day_of_week - 1) BETWEEN :from AND :to " +
+            "GROUP BY 1 ORDER BY 1",
+            nativeQuery = true)
+    List<NutritionRow> findDayNutrition(@Param("userId") UUID userId, @Param("weekFrom") LocalDate weekFrom,
+                                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT p.weekStartDate AS date, p.nutrition.calories AS calories, p.nutrition.proteinG AS proteinG, " +
+            "p.nutrition.carbsG AS carbsG, p.nutrition.fatG AS fatG " +
+            "FROM MealPlan p WHERE p.user.id = :userId AND p.weekStartDate BETWEEN :weekFrom AND :to " +
+            "ORDER BY p.weekStartDate")
+    List<NutritionRow> findWeekNutrition(@Param("userId") UUID userId, @Param("weekFrom") LocalDate weekFrom,
+                                         @Param("to") LocalDate to);
+
+    /** The user's distinct meal items, most planned first, for the food catalog. */
+    @Query(value = "SELECT i.name AS name, i.portion AS portion, i.calories AS calories, " +
+            "i.protein_g AS proteinG, i.carbs_g AS carbsG, i.fat_g AS fatG, COUNT(*) AS uses " +
+            "FROM meal_items i " +
+            "JOIN meals m ON m.id = i.meal_id " +
+            "JOIN meal_plan_days d ON d.id = m.meal_plan_day_id " +
+            "JOIN meal_plans p ON p.id = d.meal_plan_id " +
+            "WHERE p.user_id = :userId " +
+            "GROUP BY i.name, i.portion, i.calories, i.protein_g, i.carbs_g, i.fat_g " +
+            "ORDER BY uses DESC, i.name " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<FoodTupleRow> findFoodTuplesByUserId(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    /** The user's distinct meal items per meal type, most planned first, for the meal plan generator. */
+    @Query(value = "SELECT m.meal_type AS mealType, i.name AS name, i.portion AS portion, i.calories AS calories, " +
+            "i.protein_g AS proteinG, i.carbs_g AS carbsG, i.fat_g AS fatG, COUNT(*) AS uses " +
+            "FROM meal_items i " +
+            "JOIN meals m ON m.id = i.meal_id " +
+            "JOIN meal_plan_days d ON d.id = m.meal_plan_day_id " +
+            "JOIN meal_plans p ON p.id = d.meal_plan_id " +
+            "WHERE p.user_id = :userId AND i.calories > 0 " +
+            "GROUP BY m.meal_type, i.name, i.portion, i.calories, i.protein_g, i.carbs_g, i.fat_g " +
+            "ORDER BY uses DESC, i.name " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<MealFoodRow> findMealFoodsByUserId(@Param("userId") UUID userId, @Param("limit") int limit);
 }
@@ -0,0 +1,64 @@
+package com.optivita.repository;
+
+import com.optivita.entity.PlanTemplate;
+import com.optivita.entity.enums.PlanKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PlanTemplateRepository extends JpaRepository<PlanTemplate, UUID> {
+
+    List<PlanTemplate> findByUserIdAndKindOrderByCreatedAtDesc(UUID userId, PlanKind kind);
+
+    Optional<PlanTemplate> findByIdAndUserIdAndKind(UUID id, UUID userId, PlanKind kind);
+
+    /**
+     * Snapshots the user's meal plan as a template in one statement; the days are aggregated to
+     * JSON in the database. Returns 0 if the plan does not exist or belongs to someone else.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO plan_templates (id, user_id, kind, name, payload, day_count, created_at) " +
+            "SELECT :id, p.user_id, 'MEAL', :name, days.payload, jsonb_array_length(days.payload), now() " +
+            "FROM meal_plans p " +
+            "CROSS JOIN LATERAL (SELECT COALESCE(jsonb_agg(jsonb_build_object(" +
+            "    'dayOfWeek', d.day_of_week, " +
+            "    'meals', (SELECT COALESCE(jsonb_agg(jsonb_build_object(" +
+            "        'mealType', m.meal_type, " +
+            "        'items', (SELECT COALESCE(jsonb_agg(jsonb_build_object(" +
+            "            'name', i.name, 'portion', i.portion, 'calories', i.calories, " +
+            "            'proteinG', i.protein_g, 'carbsG', i.carbs_g, 'fatG', i.fat_g)), '[]') " +
+            "            FROM meal_items i WHERE i.meal_id = m.id))), '[]') " +
+            "        FROM meals m WHERE m.meal_plan_day_id = d.id)) " +
+            "    ORDER BY d.day_of_week), '[]') AS payload " +
+            "    FROM meal_plan_days d WHERE d.meal_plan_id = p.id) days " +
+            "WHERE p.id = :planId AND p.user_id = :userId",
+            nativeQuery = true)
+    int saveMealPlan(@Param("id") UUID id, @Param("userId") UUID userId,
+                     @Param("planId") UUID planId, @Param("name") String name);
+
+    /** Workout counterpart of {@link #saveMealPlan}. */
+    @Modifying
+    @Query(value = "INSERT INTO plan_templates (id, user_id, kind, name, payload, day_count, created_at) " +
+            "SELECT :id, p.user_id, 'WORKOUT', :name, days.payload, jsonb_array_length(days.payload), now() " +
+            "FROM workout_plans p " +
+            "CROSS JOIN LATERAL (SELECT COALESCE(jsonb_agg(jsonb_build_object(" +
+            "    'dayOfWeek', d.day_of_week, " +
+            "    'sessions', (SELECT COALESCE(jsonb_agg(jsonb_build_object(" +
+            "        'name', s.name, 'orderIndex', s.order_index, " +
+            "        'exercises', (SELECT COALESCE(jsonb_agg(jsonb_build_object(" +
+            "            'name', e.name, 'sets', e.sets, 'reps', e.reps, 'duration', e.duration_min, " +
+            "            'weight', e.weight_kg, 'orderIndex', e.order_index) ORDER BY e.order_index), '[]') " +
+            "            FROM exercises e WHERE e.workout_session_id = s.id)) ORDER BY s.order_index), '[]') " +
+            "        FROM workout_sessions s WHERE s.workout_plan_day_id = d.id)) " +
+            "    ORDER BY d.day_of_week), '[]') AS payload " +
+            "    FROM workout_plan_days d WHERE d.workout_plan_id = p.id) days " +
+            "WHERE p.id = :planId AND p.user_id = :userId",
+            nativeQuery = true)
+    int saveWorkoutPlan(@Param("id") UUID id, @Param("userId") UUID userId,
+                        @Param("planId") UUID planId, @Param("name") String name);
+}
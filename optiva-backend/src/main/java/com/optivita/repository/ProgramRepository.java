@@ -1,7 +1,11 @@
 package com.optivita.repository;
 
 import com.optivita.entity.Program;
+import com.optivita.repository.projection.ProgramSummaryRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +16,26 @@ public interface ProgramRepository extends JpaRepository<Program, UUID> {
     List<Program> findByUserIdOrderByStartDateDesc(UUID userId);
 
     Optional<Program> findByIdAndUserId(UUID id, UUID userId);
+
+    /** Detail view: the checkpoints come in the same query; their focus tags in one batched query. */
+    @EntityGraph(attributePaths = "checkpoints")
+    Optional<Program> findWithCheckpointsByIdAndUserId(UUID id, UUID userId);
+
+    @Query(value = "SELECT p.id AS id, p.start_date AS startDate, p.end_date AS endDate, p.notes AS notes, " +
+            "p.created_at AS createdAt, " +
+            "COALESCE(cnt.total, 0) AS checkpointCount, COALESCE(cnt.achieved, 0) AS achievedCount, " +
+            "COALESCE(cnt.missed, 0) AS missedCount, " +
+            "nxt.checkpoint_date AS nextCheckpointDate, nxt.title AS nextCheckpointTitle, nxt.status AS nextCheckpointStatus " +
+            "FROM programs p " +
+            "LEFT JOIN LATERAL (SELECT CAST(COUNT(*) AS int) AS total, " +
+            "    CAST(COUNT(*) FILTER (WHERE c.status = 'ACHIEVED') AS int) AS achieved, " +
+            "    CAST(COUNT(*) FILTER (WHERE c.status = 'MISSED') AS int) AS missed " +
+            "  FROM checkpoints c WHERE c.program_id = p.id) cnt ON true " +
+            "LEFT JOIN LATERAL (SELECT c.checkpoint_date, c.title, c.status FROM checkpoints c " +
+            "  WHERE c.program_id = p.id AND c.status = 'UPCOMING' " +
+            "  ORDER BY c.checkpoint_date LIMIT 1) nxt ON true " +
+            "WHERE p.user_id = :userId " +
+            "ORDER BY p.start_date DESC",
+            nativeQuery = true)
+    List<ProgramSummaryRow> findSummariesByUserId(@Param("userId") UUID userId);
 }
@@ -1,6 +1,7 @@
 package com.optivita.repository;
 
 import com.optivita.entity.ProgressEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
@@ -12,10 +13,12 @@ public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, UU
 
     List<ProgressEntry> findByProgramIdOrderByDateDesc(UUID programId);
 
+    List<ProgressEntry> findByProgramIdOrderByDateAsc(UUID programId);
+
     List<ProgressEntry> findByProgramIdAndDateBetweenOrderByDateAsc(UUID programId, LocalDate from, LocalDate to);
 
     Optional<ProgressEntry> findByIdAndProgramId(UUID id, UUID programId);
 
     /** Used by the evaluation engine: latest N entries before a given date. */
-    List<ProgressEntry> findTop4ByProgramIdAndDateBeforeOrderByDateDesc(UUID programId, LocalDate before);
+    List<ProgressEntry> findByProgramIdAndDateBeforeOrderByDateDesc(UUID programId, LocalDate before, Limit limit);
 }
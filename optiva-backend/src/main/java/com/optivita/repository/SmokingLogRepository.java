@@ -1,6 +1,8 @@
 package com.optivita.repository;
 
 import com.optivita.entity.SmokingLog;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.SmokingPeriodStats;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -33,4 +35,28 @@ public interface SmokingLogRepository extends JpaRepository<SmokingLog, UUID> {
 
     @Query("SELECT COUNT(s) > 0 FROM SmokingLog s WHERE s.user.id = :userId AND s.logDate = :date")
     boolean existsByUserIdAndLogDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT s.logDate FROM SmokingLog s WHERE s.user.id = :userId AND s.logDate BETWEEN :from AND :to")
+    List<LocalDate> findLogDatesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(s.logDate) AS firstDate, MAX(s.logDate) AS lastDate FROM SmokingLog s WHERE s.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
+
+    /** Runs of consecutive smoke-free days, oldest first (gaps-and-islands over the log dates). */
+    @Query(value = "SELECT MIN(d) AS firstDate, MAX(d) AS lastDate FROM (" +
+            "  SELECT log_date AS d, log_date - CAST(ROW_NUMBER() OVER (ORDER BY log_date) AS int) AS grp " +
+            "  FROM smoking_logs WHERE user_id = :userId AND smoke_free = true" +
+            ") islands GROUP BY grp ORDER BY firstDate",
+            nativeQuery = true)
+    List<DateRange> findSmokeFreeRunsByUserId(@Param("userId") UUID userId);
+
+    /** Aggregates per date_trunc(unit) bucket of [from, to]; buckets without logs are absent. */
+    @Query(value = "SELECT CAST(date_trunc(:unit, log_date) AS date) AS periodStart, COUNT(*) AS loggedDays, " +
+            "COUNT(*) FILTER (WHERE smoke_free) AS smokeFreeDays, SUM(cigarettes_count) AS totalCigarettes, " +
+            "AVG(cravings) AS avgCravings " +
+            "FROM smoking_logs WHERE user_id = :userId AND log_date BETWEEN :from AND :to " +
+            "GROUP BY 1 ORDER BY 1",
+            nativeQuery = true)
+    List<SmokingPeriodStats> aggregateByPeriod(@Param("userId") UUID userId, @Param("unit") String unit,
+                                               @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,30 @@
+package com.optivita.repository;
+
+import com.optivita.entity.Streak;
+import com.optivita.entity.enums.StreakType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StreakRepository extends JpaRepository<Streak, UUID> {
+
+    Optional<Streak> findByHabitId(UUID habitId);
+
+    List<Streak> findByHabitIdIn(Collection<UUID> habitIds);
+
+    @Query("SELECT s FROM Streak s WHERE s.user.id = :userId AND s.type = 'HABIT'")
+    List<Streak> findHabitStreaksByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT s FROM Streak s WHERE s.user.id = :userId AND s.type = :type AND s.habit IS NULL")
+    Optional<Streak> findUserStreak(@Param("userId") UUID userId, @Param("type") StreakType type);
+
+    @Modifying
+    @Query("DELETE FROM Streak s WHERE s.habit.id = :habitId")
+    void deleteByHabitId(@Param("habitId") UUID habitId);
+}
@@ -0,0 +1,21 @@
+package com.optivita.repository;
+
+import com.optivita.entity.WeightEntry;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC-batched writes for weight entries, mixed into {@link WeightEntryRepository}.
+ */
+public interface WeightEntryBulkRepository {
+
+    /**
+     * Inserts the given (unsaved) entries for the user in one JDBC batch. Entries whose
+     * date the user already has, including an earlier entry in the same batch, are left
+     * untouched.
+     *
+     * @return the number of entries actually inserted
+     */
+    int insertIgnoringExisting(UUID userId, List<WeightEntry> entries);
+}
@@ -0,0 +1,39 @@
+package com.optivita.repository;
+
+import com.optivita.entity.WeightEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class WeightEntryBulkRepositoryImpl implements WeightEntryBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, notes, created_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, entry_date) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertIgnoringExisting(UUID userId, List<WeightEntry> entries) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int inserted = 0;
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, userId);
+            ps.setDate(3, Date.valueOf(entry.getEntryDate()));
+            ps.setDouble(4, entry.getWeightKg());
+            ps.setString(5, entry.getNotes());
+            ps.setTimestamp(6, now);
+        });
+        for (int[] batch : counts) {
+            for (int count : batch) inserted += count;
+        }
+        return inserted;
+    }
+}
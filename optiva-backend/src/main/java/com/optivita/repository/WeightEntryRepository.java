@@ -1,6 +1,7 @@
 package com.optivita.repository;
 
 import com.optivita.entity.WeightEntry;
+import com.optivita.repository.projection.DateRange;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,7 +13,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface WeightEntryRepository extends JpaRepository<WeightEntry, UUID> {
+public interface WeightEntryRepository extends JpaRepository<WeightEntry, UUID>, WeightSeriesRepository,
+        WeightEntryBulkRepository {
 
     List<WeightEntry> findByUserIdOrderByEntryDateDesc(UUID userId);
 
@@ -27,6 +29,10 @@ public interface WeightEntryRepository extends JpaRepository<WeightEntry, UUID>
 
     Optional<WeightEntry> findFirstByUserIdOrderByEntryDateAsc(UUID userId);
 
+    Optional<WeightEntry> findFirstByUserIdAndEntryDateBeforeOrderByEntryDateDesc(UUID userId, LocalDate date);
+
+    boolean existsByUserIdAndTrendKgIsNull(UUID userId);
+
     @Query("SELECT w FROM WeightEntry w WHERE w.user.id = :userId AND w.entryDate >= :fromDate ORDER BY w.entryDate ASC")
     List<WeightEntry> findByUserIdAndDateFrom(@Param("userId") UUID userId, @Param("fromDate") LocalDate fromDate);
 
@@ -35,4 +41,10 @@ public interface WeightEntryRepository extends JpaRepository<WeightEntry, UUID>
 
     @Query("SELECT COUNT(w) > 0 FROM WeightEntry w WHERE w.user.id = :userId AND w.entryDate = :date")
     boolean existsByUserIdAndEntryDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT w.entryDate FROM WeightEntry w WHERE w.user.id = :userId AND w.entryDate BETWEEN :from AND :to")
+    List<LocalDate> findEntryDatesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(w.entryDate) AS firstDate, MAX(w.entryDate) AS lastDate FROM WeightEntry w WHERE w.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
 }
@@ -0,0 +1,52 @@
+package com.optivita.repository;
+
+import com.optivita.entity.WeightRegression;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WeightRegressionRepository extends JpaRepository<WeightRegression, UUID> {
+
+    Optional<WeightRegression> findByUserId(UUID userId);
+
+    /** Adds the given sums (negative to remove entries) unless date is before the window. */
+    @Modifying
+    @Query("UPDATE WeightRegression r SET r.n = r.n + :n, r.sumX = r.sumX + :sumX, r.sumY = r.sumY + :sumY, " +
+            "r.sumXY = r.sumXY + :sumXY, r.sumXX = r.sumXX + :sumXX, r.sumYY = r.sumYY + :sumYY " +
+            "WHERE r.user.id = :userId AND r.windowStart <= :date")
+    int addSums(@Param("userId") UUID userId, @Param("date") LocalDate date, @Param("n") int n,
+                @Param("sumX") double sumX, @Param("sumY") double sumY, @Param("sumXY") double sumXY,
+                @Param("sumXX") double sumXX, @Param("sumYY") double sumYY);
+
+    /**
+     * Moves the window start forward, subtracting the sums of the entries it drops.
+     * Matches nothing if another transaction slid the window first.
+     */
+    @Modifying
+    @Query("UPDATE WeightRegression r SET r.windowStart = :newStart, r.n = r.n - :n, " +
+            "r.sumX = r.sumX - :sumX, r.sumY = r.sumY - :sumY, r.sumXY = r.sumXY - :sumXY, " +
+            "r.sumXX = r.sumXX - :sumXX, r.sumYY = r.sumYY - :sumYY " +
+            "WHERE r.user.id = :userId AND r.windowStart = :oldStart")
+    int slideWindow(@Param("userId") UUID userId, @Param("oldStart") LocalDate oldStart,
+                    @Param("newStart") LocalDate newStart, @Param("n") int n,
+                    @Param("sumX") double sumX, @Param("sumY") double sumY, @Param("sumXY") double sumXY,
+                    @Param("sumXX") double sumXX, @Param("sumYY") double sumYY);
+
+    @Modifying
+    @Query(value = "INSERT INTO weight_regressions " +
+            "(id, user_id, window_start, origin_day, n, sum_x, sum_y, sum_xy, sum_xx, sum_yy) " +
+            "VALUES (:id, :userId, :windowStart, :originDay, :n, :sumX, :sumY, :sumXY, :sumXX, :sumYY) " +
+            "ON CONFLICT (user_id) DO UPDATE SET window_start = EXCLUDED.window_start, " +
+            "origin_day = EXCLUDED.origin_day, n = EXCLUDED.n, sum_x = EXCLUDED.sum_x, " +
+            "sum_y = EXCLUDED.sum_y, sum_xy = EXCLUDED.sum_xy, sum_xx = EXCLUDED.sum_xx, sum_yy = EXCLUDED.sum_yy",
+            nativeQuery = true)
+    void upsert(@Param("id") UUID id, @Param("userId") UUID userId, @Param("windowStart") LocalDate windowStart,
+                @Param("originDay") int originDay, @Param("n") int n,
+                @Param("sumX") double sumX, @Param("sumY") double sumY, @Param("sumXY") double sumXY,
+                @Param("sumXX") double sumXX, @Param("sumYY") double sumYY);
+}
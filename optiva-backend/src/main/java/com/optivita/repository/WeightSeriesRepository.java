@@ -0,0 +1,15 @@
+package com.optivita.repository;
+
+import com.optivita.service.WeightSeries;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Primitive reads of weight entries, mixed into {@link WeightEntryRepository}.
+ */
+public interface WeightSeriesRepository {
+
+    /** Streams the user's entries in [from, to] into a {@link WeightSeries}, oldest first. */
+    WeightSeries loadSeries(UUID userId, LocalDate from, LocalDate to);
+}
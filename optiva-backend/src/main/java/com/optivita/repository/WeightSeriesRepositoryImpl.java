@@ -0,0 +1,30 @@
+package com.optivita.repository;
+
+import com.optivita.service.WeightSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class WeightSeriesRepositoryImpl implements WeightSeriesRepository {
+
+    private static final String SERIES_SQL =
+            "SELECT entry_date, weight_kg FROM weight_entries " +
+            "WHERE user_id = ? AND entry_date BETWEEN ? AND ? ORDER BY entry_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public WeightSeries loadSeries(UUID userId, LocalDate from, LocalDate to) {
+        WeightSeries series = new WeightSeries(256);
+        jdbcTemplate.query(SERIES_SQL,
+                rs -> {
+                    series.add(rs.getDate(1).toLocalDate(), rs.getDouble(2));
+                },
+                userId, Date.valueOf(from), Date.valueOf(to));
+        return series;
+    }
+}
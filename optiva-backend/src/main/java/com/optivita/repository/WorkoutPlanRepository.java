@@ -1,11 +1,19 @@
 package com.optivita.repository;
 
+import com.optivita.entity.Exercise;
 import com.optivita.entity.WorkoutPlan;
+import com.optivita.entity.WorkoutPlanDay;
+import com.optivita.entity.WorkoutSession;
+import com.optivita.repository.projection.DateRange;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,4 +33,82 @@ public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, UUID>
     Optional<WorkoutPlan> findFirstByUserIdOrderByWeekStartDateDesc(UUID userId);
 
     boolean existsByUserIdAndWeekStartDateBetween(UUID userId, LocalDate from, LocalDate to);
+
+    @Query("SELECT p.weekStartDate FROM WorkoutPlan p WHERE p.user.id = :userId AND p.weekStartDate BETWEEN :from AND :to")
+    List<LocalDate> findWeekStartDatesBetween(@Param("userId") UUID userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(p.weekStartDate) AS firstDate, MAX(p.weekStartDate) AS lastDate FROM WorkoutPlan p WHERE p.user.id = :userId")
+    DateRange findDateRangeByUserId(@Param("userId") UUID userId);
+
+    // ── Plan graph levels, see PlanGraphLoader ──────────────────────────────
+
+    @Query("SELECT d FROM WorkoutPlanDay d WHERE d.workoutPlan.id IN :planIds ORDER BY d.dayOfWeek")
+    List<WorkoutPlanDay> findDaysByPlanIds(@Param("planIds") Collection<UUID> planIds);
+
+    @Query("SELECT s FROM WorkoutSession s WHERE s.workoutPlanDay.id IN :dayIds ORDER BY s.orderIndex")
+    List<WorkoutSession> findSessionsByDayIds(@Param("dayIds") Collection<UUID> dayIds);
+
+    @Query("SELECT e FROM Exercise e WHERE e.workoutSession.id IN :sessionIds ORDER BY e.orderIndex")
+    List<Exercise> findExercisesBySessionIds(@Param("sessionIds") Collection<UUID> sessionIds);
+
+    // ── Set-based copies: the whole tree is written by one statement ────────
+
+    /**
+     * Copies the user's plan {@code sourceId} to a new plan {@code newId} for another week, see
+     * {@link MealPlanRepository#copyPlan}. Returns 0 if the source does not exist or belongs to
+     * someone else.
+     */
+    @Modifying
+    @Query(value = "WITH src_days AS (" +
+            "    SELECT d.id AS old_id, gen_random_uuid() AS new_id, d.day_of_week " +
+            "    FROM workout_plan_days d JOIN workout_plans p ON p.id = d.workout_plan_id " +
+            "    WHERE p.id = :sourceId AND p.user_id = :userId), " +
+            "src_sessions AS (" +
+            "    SELECT s.id AS old_id, gen_random_uuid() AS new_id, sd.new_id AS day_id, s.name, s.order_index " +
+            "    FROM workout_sessions s JOIN src_days sd ON sd.old_id = s.workout_plan_day_id), " +
+            "ins_days AS (" +
+            "    INSERT INTO workout_plan_days (id, workout_plan_id, day_of_week) " +
+            "    SELECT new_id, :newId, day_of_week FROM src_days), " +
+            "ins_sessions AS (" +
+            "    INSERT INTO workout_sessions (id, workout_plan_day_id, name, order_index) " +
+            "    SELECT new_id, day_id, name, order_index FROM src_sessions), " +
+            "ins_exercises AS (" +
+            "    INSERT INTO exercises (id, workout_session_id, name, sets, reps, duration_min, weight_kg, order_index) " +
+            "    SELECT gen_random_uuid(), ss.new_id, e.name, e.sets, e.reps, e.duration_min, e.weight_kg, e.order_index " +
+            "    FROM exercises e JOIN src_sessions ss ON ss.old_id = e.workout_session_id) " +
+            "INSERT INTO workout_plans (id, user_id, week_start_date, created_at, updated_at, version) " +
+            "SELECT :newId, p.user_id, :weekStartDate, now(), now(), 0 " +
+            "FROM workout_plans p WHERE p.id = :sourceId AND p.user_id = :userId",
+            nativeQuery = true)
+    int copyPlan(@Param("sourceId") UUID sourceId, @Param("userId") UUID userId,
+                 @Param("newId") UUID newId, @Param("weekStartDate") LocalDate weekStartDate);
+
+    /** Expands the user's workout template into a new plan; returns 0 if there is no such template. */
+    @Modifying
+    @Query(value = "WITH tpl AS (" +
+            "    SELECT payload FROM plan_templates " +
+            "    WHERE id = :templateId AND user_id = :userId AND kind = 'WORKOUT'), " +
+            "tpl_days AS (" +
+            "    SELECT gen_random_uuid() AS new_id, CAST(d->>'dayOfWeek' AS int) AS day_of_week, d->'sessions' AS sessions " +
+            "    FROM tpl CROSS JOIN LATERAL jsonb_array_elements(tpl.payload) d), " +
+            "tpl_sessions AS (" +
+            "    SELECT gen_random_uuid() AS new_id, td.new_id AS day_id, s->>'name' AS name, " +
+            "           CAST(s->>'orderIndex' AS int) AS order_index, s->'exercises' AS exercises " +
+            "    FROM tpl_days td CROSS JOIN LATERAL jsonb_array_elements(td.sessions) s), " +
+            "ins_days AS (" +
+            "    INSERT INTO workout_plan_days (id, workout_plan_id, day_of_week) " +
+            "    SELECT new_id, :newId, day_of_week FROM tpl_days), " +
+            "ins_sessions AS (" +
+            "    INSERT INTO workout_sessions (id, workout_plan_day_id, name, order_index) " +
+            "    SELECT new_id, day_id, name, order_index FROM tpl_sessions), " +
+            "ins_exercises AS (" +
+            "    INSERT INTO exercises (id, workout_session_id, name, sets, reps, duration_min, weight_kg, order_index) " +
+            "    SELECT gen_random_uuid(), ts.new_id, e->>'name', CAST(e->>'sets' AS int), CAST(e->>'reps' AS int), " +
+            "           CAST(e->>'duration' AS float8), CAST(e->>'weight' AS float8), CAST(e->>'orderIndex' AS int) " +
+            "    FROM tpl_sessions ts CROSS JOIN LATERAL jsonb_array_elements(ts.exercises) e) " +
+            "INSERT INTO workout_plans (id, user_id, week_start_date, created_at, updated_at, version) " +
+            "SELECT :newId, :userId, :weekStartDate, now(), now(), 0 FROM tpl",
+            nativeQuery = true)
+    int createFromTemplate(@Param("templateId") UUID templateId, @Param("userId") UUID userId,
+                           @Param("newId") UUID newId, @Param("weekStartDate") LocalDate weekStartDate);
 }
@@ -0,0 +1,13 @@
+package com.optivita.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Total alcohol units logged by a user on a single day.
+ */
+public interface AlcoholDayTotal {
+
+    LocalDate getLogDate();
+
+    double getUnits();
+}
@@ -0,0 +1,17 @@
+package com.optivita.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Alcohol consumption within one trend bucket.
+ */
+public interface AlcoholPeriodTotal {
+
+    LocalDate getPeriodStart();
+
+    Double getTotalUnits();
+
+    long getDrinkingDays();
+
+    long getDrinks();
+}
@@ -0,0 +1,19 @@
+package com.optivita.repository.projection;
+
+import com.optivita.entity.enums.CheckpointStatus;
+
+import java.time.LocalDate;
+
+/**
+ * The fields of a checkpoint needed to report progress against its weight target.
+ */
+public interface CheckpointTargetRow {
+
+    String getTitle();
+
+    LocalDate getCheckpointDate();
+
+    Double getTargetWeightKg();
+
+    CheckpointStatus getStatus();
+}
@@ -0,0 +1,13 @@
+package com.optivita.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * First and last date present in a user's data set; both are null when the set is empty.
+ */
+public interface DateRange {
+
+    LocalDate getFirstDate();
+
+    LocalDate getLastDate();
+}
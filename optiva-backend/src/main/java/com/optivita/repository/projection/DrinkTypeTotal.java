@@ -0,0 +1,16 @@
+package com.optivita.repository.projection;
+
+/**
+ * Alcohol consumption for one drink type over a trend window, plus the part of it
+ * logged since the start of the current week.
+ */
+public interface DrinkTypeTotal {
+
+    String getDrinkType();
+
+    Double getTotalUnits();
+
+    long getDrinks();
+
+    Double getUnitsSinceWeekStart();
+}
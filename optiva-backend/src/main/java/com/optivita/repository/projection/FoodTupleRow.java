@@ -0,0 +1,19 @@
+package com.optivita.repository.projection;
+
+/** A distinct (name, portion, macros) meal item tuple of one user and how often it was planned. */
+public interface FoodTupleRow {
+
+    String getName();
+
+    String getPortion();
+
+    Integer getCalories();
+
+    Double getProteinG();
+
+    Double getCarbsG();
+
+    Double getFatG();
+
+    long getUses();
+}
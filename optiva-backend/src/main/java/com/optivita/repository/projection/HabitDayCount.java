@@ -0,0 +1,15 @@
+package com.optivita.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day habit log counts for a user, produced by a single GROUP BY log_date query.
+ */
+public interface HabitDayCount {
+
+    LocalDate getLogDate();
+
+    long getDoneCount();
+
+    long getTotalCount();
+}
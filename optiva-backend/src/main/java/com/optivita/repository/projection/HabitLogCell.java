@@ -0,0 +1,18 @@
+package com.optivita.repository.projection;
+
+import com.optivita.entity.enums.HabitLogStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Minimal view of a habit log (habit, day, status) used to build heatmaps without loading entities.
+ */
+public interface HabitLogCell {
+
+    UUID getHabitId();
+
+    LocalDate getLogDate();
+
+    HabitLogStatus getStatus();
+}
@@ -0,0 +1,25 @@
+package com.optivita.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Per-habit log counts for the analytics windows, produced by a single conditional-aggregation query.
+ */
+public interface HabitLogStats {
+
+    UUID getHabitId();
+
+    long getDone7();
+
+    long getTotal7();
+
+    long getDone30();
+
+    long getTotal30();
+
+    long getTotalDone();
+
+    long getTotalMissed();
+
+    long getTotalSkipped();
+}
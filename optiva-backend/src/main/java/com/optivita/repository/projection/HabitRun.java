@@ -0,0 +1,11 @@
+package com.optivita.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * A run of consecutive days for one habit, from a runs query over several habits.
+ */
+public interface HabitRun extends DateRange {
+
+    UUID getHabitId();
+}
@@ -0,0 +1,7 @@
+package com.optivita.repository.projection;
+
+/** A distinct meal item tuple of one user within one meal type, and how often it was planned there. */
+public interface MealFoodRow extends FoodTupleRow {
+
+    String getMealType();
+}
@@ -0,0 +1,17 @@
+package com.optivita.repository.projection;
+
+import java.time.LocalDate;
+
+/** Stored nutrition totals of a plan day or week, read without touching meal items. */
+public interface NutritionRow {
+
+    LocalDate getDate();
+
+    Integer getCalories();
+
+    Double getProteinG();
+
+    Double getCarbsG();
+
+    Double getFatG();
+}
@@ -0,0 +1,34 @@
+package com.optivita.repository.projection;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One program with its checkpoint counts and the earliest checkpoint still UPCOMING,
+ * aggregated in SQL instead of loading the checkpoints.
+ */
+public interface ProgramSummaryRow {
+
+    UUID getId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    String getNotes();
+
+    Instant getCreatedAt();
+
+    int getCheckpointCount();
+
+    int getAchievedCount();
+
+    int getMissedCount();
+
+    LocalDate getNextCheckpointDate();
+
+    String getNextCheckpointTitle();
+
+    String getNextCheckpointStatus();
+}
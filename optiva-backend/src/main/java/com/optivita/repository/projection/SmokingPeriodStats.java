@@ -0,0 +1,19 @@
+package com.optivita.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Smoking logs aggregated over one trend bucket.
+ */
+public interface SmokingPeriodStats {
+
+    LocalDate getPeriodStart();
+
+    long getLoggedDays();
+
+    long getSmokeFreeDays();
+
+    Long getTotalCigarettes();
+
+    Double getAvgCravings();
+}
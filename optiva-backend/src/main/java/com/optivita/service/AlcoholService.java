@@ -1,15 +1,20 @@
 package com.optivita.service;
 
 import com.optivita.dto.PageResponse;
+import com.optivita.dto.TrendPeriod;
 import com.optivita.dto.alcohol.AlcoholAnalyticsResponse;
 import com.optivita.dto.alcohol.AlcoholLogRequest;
 import com.optivita.dto.alcohol.AlcoholLogResponse;
 import com.optivita.entity.AlcoholLog;
+import com.optivita.entity.Streak;
 import com.optivita.entity.User;
 import com.optivita.entity.enums.DrinkType;
+import com.optivita.exception.BadRequestException;
 import com.optivita.exception.ResourceNotFoundException;
 import com.optivita.repository.AlcoholLogRepository;
 import com.optivita.repository.UserRepository;
+import com.optivita.repository.projection.AlcoholPeriodTotal;
+import com.optivita.repository.projection.DrinkTypeTotal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,7 +28,6 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +35,8 @@ public class AlcoholService {
 
     private final AlcoholLogRepository alcoholLogRepository;
     private final UserRepository userRepository;
+    private final DailySummaryService dailySummaryService;
+    private final StreakService streakService;
 
     @Transactional
     public AlcoholLogResponse create(UUID userId, AlcoholLogRequest request) {
@@ -47,7 +53,10 @@ public class AlcoholService {
                 .notes(request.getNotes())
                 .build();
 
-        return mapToResponse(alcoholLogRepository.save(log));
+        AlcoholLog saved = alcoholLogRepository.save(log);
+        dailySummaryService.refresh(userId, saved.getLogDate());
+        streakService.onDrinkingDay(userId, saved.getLogDate());
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -108,7 +117,9 @@ public class AlcoholService {
         if (request.getVolumeMl() != null) log.setVolumeMl(request.getVolumeMl());
         if (request.getNotes() != null) log.setNotes(request.getNotes());
 
-        return mapToResponse(alcoholLogRepository.save(log));
+        AlcoholLog saved = alcoholLogRepository.save(log);
+        dailySummaryService.refresh(userId, saved.getLogDate());
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -116,55 +127,86 @@ public class AlcoholService {
         AlcoholLog log = alcoholLogRepository.findByIdAndUserId(logId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("AlcoholLog", "id", logId));
         alcoholLogRepository.delete(log);
+        dailySummaryService.refresh(userId, log.getLogDate());
+        streakService.onAlcoholLogRemoved(userId);
     }
 
-    @Transactional(readOnly = true)
-    public AlcoholAnalyticsResponse getAnalytics(UUID userId) {
+    /**
+     * Analytics over the last periods buckets of the given size, the current one included.
+     * Costs two grouped queries plus the indexed streak regardless of the window length; the
+     * first call saves the streak row.
+     */
+    @Transactional
+    public AlcoholAnalyticsResponse getAnalytics(UUID userId, TrendPeriod period, int periods) {
+        if (periods < 1 || periods > TrendPeriod.MAX_PERIODS) {
+            throw new BadRequestException("periods must be between 1 and " + TrendPeriod.MAX_PERIODS);
+        }
         LocalDate today = LocalDate.now();
-
-        // Units this week (Mon-Sun)
         LocalDate weekStart = today.with(DayOfWeek.MONDAY);
-        Double unitsThisWeek = alcoholLogRepository.sumUnitsByUserIdAndDateBetween(userId, weekStart, today);
-
-        // Alcohol-free streak: count consecutive days backward with no alcohol
-        List<AlcoholLog> allLogs = alcoholLogRepository.findByUserIdOrderByLogDateDesc(userId);
-        Set<LocalDate> drinkingDates = allLogs.stream()
-                .map(AlcoholLog::getLogDate)
-                .collect(Collectors.toSet());
-
-        int streak = 0;
-        LocalDate checkDate = today;
-        while (!drinkingDates.contains(checkDate)) {
-            streak++;
-            checkDate = checkDate.minusDays(1);
-            if (streak > 365) break; // safety limit
+        LocalDate from = period.plus(period.truncate(today), 1 - periods);
+
+        // Alcohol-free streak from the index
+        Streak streak = streakService.getAlcoholFreeStreak(userId);
+
+        // Trend buckets, including the empty ones
+        Map<LocalDate, AlcoholPeriodTotal> totals = new HashMap<>();
+        for (AlcoholPeriodTotal total : alcoholLogRepository.sumUnitsByPeriod(userId, period.sqlUnit(), from, today)) {
+            totals.put(total.getPeriodStart(), total);
+        }
+        List<AlcoholAnalyticsResponse.PeriodTotal> trend = new ArrayList<>(periods);
+        for (LocalDate start = from; !start.isAfter(today); start = period.plus(start, 1)) {
+            AlcoholPeriodTotal total = totals.get(start);
+            trend.add(AlcoholAnalyticsResponse.PeriodTotal.builder()
+                    .periodStart(start)
+                    .totalUnits(total != null ? round(total.getTotalUnits()) : 0.0)
+                    .drinkingDays(total != null ? total.getDrinkingDays() : 0)
+                    .drinks(total != null ? total.getDrinks() : 0)
+                    .build());
         }
 
-        // Monthly trend (last 6 months)
-        List<AlcoholAnalyticsResponse.MonthlyTrend> monthlyTrend = new ArrayList<>();
-        for (int i = 0; i < 6; i++) {
-            YearMonth ym = YearMonth.from(today.minusMonths(i));
-            LocalDate monthStart = ym.atDay(1);
-            LocalDate monthEnd = ym.atEndOfMonth();
-
-            List<AlcoholLog> monthLogs = alcoholLogRepository.findByUserIdAndDateBetween(userId, monthStart, monthEnd);
-            double totalUnits = monthLogs.stream().mapToDouble(AlcoholLog::getUnits).sum();
-            long daysWithDrinks = monthLogs.stream().map(AlcoholLog::getLogDate).distinct().count();
-
-            monthlyTrend.add(AlcoholAnalyticsResponse.MonthlyTrend.builder()
-                    .month(ym.format(DateTimeFormatter.ofPattern("yyyy-MM")))
-                    .totalUnits(Math.round(totalUnits * 100.0) / 100.0)
-                    .drinkingDays(daysWithDrinks)
+        // Drink-type breakdown over the window; the same pass sums units this week (Mon-Sun)
+        double unitsThisWeek = 0;
+        List<AlcoholAnalyticsResponse.DrinkTypeTotal> byDrinkType = new ArrayList<>();
+        LocalDate scanFrom = weekStart.isBefore(from) ? weekStart : from;
+        for (DrinkTypeTotal total : alcoholLogRepository.sumUnitsByDrinkType(userId, scanFrom, from, today, weekStart)) {
+            unitsThisWeek += total.getUnitsSinceWeekStart();
+            if (total.getDrinks() == 0) continue;
+            byDrinkType.add(AlcoholAnalyticsResponse.DrinkTypeTotal.builder()
+                    .drinkType(DrinkType.valueOf(total.getDrinkType()))
+                    .totalUnits(round(total.getTotalUnits()))
+                    .drinks(total.getDrinks())
                     .build());
         }
 
+        // Kept for existing clients: the monthly buckets, newest first
+        List<AlcoholAnalyticsResponse.MonthlyTrend> monthlyTrend = null;
+        if (period == TrendPeriod.MONTH) {
+            monthlyTrend = new ArrayList<>(trend.size());
+            for (int i = trend.size() - 1; i >= 0; i--) {
+                AlcoholAnalyticsResponse.PeriodTotal bucket = trend.get(i);
+                monthlyTrend.add(AlcoholAnalyticsResponse.MonthlyTrend.builder()
+                        .month(YearMonth.from(bucket.getPeriodStart()).format(DateTimeFormatter.ofPattern("yyyy-MM")))
+                        .totalUnits(bucket.getTotalUnits())
+                        .drinkingDays(bucket.getDrinkingDays())
+                        .build());
+            }
+        }
+
         return AlcoholAnalyticsResponse.builder()
-                .unitsThisWeek(unitsThisWeek)
-                .alcoholFreeStreak(streak)
+                .unitsThisWeek(round(unitsThisWeek))
+                .alcoholFreeStreak(streakService.currentLength(streak, today))
+                .longestAlcoholFreeStreak(streakService.longestLength(streak, today))
                 .monthlyTrend(monthlyTrend)
+                .period(period)
+                .trend(trend)
+                .byDrinkType(byDrinkType)
                 .build();
     }
 
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
     private AlcoholLogResponse mapToResponse(AlcoholLog log) {
         return AlcoholLogResponse.builder()
                 .id(log.getId())
@@ -2,20 +2,24 @@ package com.optivita.service;
 
 import com.optivita.dto.calendar.CalendarDayResponse;
 import com.optivita.dto.calendar.CalendarResponse;
-import com.optivita.entity.*;
+import com.optivita.exception.BadRequestException;
 import com.optivita.repository.*;
+import com.optivita.repository.projection.HabitDayCount;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CalendarService {
 
+    /** Longest range (inclusive) a single calendar request may cover. */
+    public static final int MAX_RANGE_DAYS = 366;
+
     private final WeightEntryRepository weightEntryRepository;
     private final JournalEntryRepository journalEntryRepository;
     private final MealPlanRepository mealPlanRepository;
@@ -25,54 +29,42 @@ public class CalendarService {
     private final SmokingLogRepository smokingLogRepository;
     private final AlcoholLogRepository alcoholLogRepository;
 
+    /**
+     * Builds the calendar for [from, to] from a fixed set of range-bounded queries
+     * (one per data source plus one GROUP BY log_date for habits), so the cost
+     * does not grow with the number of days requested.
+     */
     @Transactional(readOnly = true)
     public CalendarResponse getCalendar(UUID userId, LocalDate from, LocalDate to) {
-        // Fetch all relevant data in the range
-        Set<LocalDate> weightDates = weightEntryRepository.findByUserIdAndDateBetween(userId, from, to)
-                .stream().map(WeightEntry::getEntryDate).collect(Collectors.toSet());
-
-        Set<LocalDate> journalDates = journalEntryRepository.findByUserIdOrderByEntryDateDesc(userId)
-                .stream().filter(j -> !j.getEntryDate().isBefore(from) && !j.getEntryDate().isAfter(to))
-                .map(JournalEntry::getEntryDate).collect(Collectors.toSet());
-
-        // Meal plans cover a week; mark all 7 days if a plan's week intersects the range
-        Set<LocalDate> mealPlanDates = new HashSet<>();
-        mealPlanRepository.findByUserIdOrderByWeekStartDateDesc(userId).forEach(plan -> {
-            LocalDate weekEnd = plan.getWeekStartDate().plusDays(6);
-            if (!plan.getWeekStartDate().isAfter(to) && !weekEnd.isBefore(from)) {
-                for (LocalDate d = plan.getWeekStartDate(); !d.isAfter(weekEnd); d = d.plusDays(1)) {
-                    if (!d.isBefore(from) && !d.isAfter(to)) mealPlanDates.add(d);
-                }
-            }
-        });
-
-        Set<LocalDate> workoutPlanDates = new HashSet<>();
-        workoutPlanRepository.findByUserIdOrderByWeekStartDateDesc(userId).forEach(plan -> {
-            LocalDate weekEnd = plan.getWeekStartDate().plusDays(6);
-            if (!plan.getWeekStartDate().isAfter(to) && !weekEnd.isBefore(from)) {
-                for (LocalDate d = plan.getWeekStartDate(); !d.isAfter(weekEnd); d = d.plusDays(1)) {
-                    if (!d.isBefore(from) && !d.isAfter(to)) workoutPlanDates.add(d);
-                }
-            }
-        });
-
-        Set<LocalDate> smokingDates = smokingLogRepository.findByUserIdAndDateBetween(userId, from, to)
-                .stream().map(SmokingLog::getLogDate).collect(Collectors.toSet());
-
-        Set<LocalDate> alcoholDates = alcoholLogRepository.findByUserIdAndDateBetween(userId, from, to)
-                .stream().map(AlcoholLog::getLogDate).collect(Collectors.toSet());
+        validateRange(from, to);
+
+        Set<LocalDate> weightDates = new HashSet<>(weightEntryRepository.findEntryDatesBetween(userId, from, to));
+        Set<LocalDate> journalDates = new HashSet<>(journalEntryRepository.findEntryDatesBetween(userId, from, to));
+        Set<LocalDate> smokingDates = new HashSet<>(smokingLogRepository.findLogDatesBetween(userId, from, to));
+        Set<LocalDate> alcoholDates = new HashSet<>(alcoholLogRepository.findLogDatesBetween(userId, from, to));
+
+        // Plans cover a week, so any plan starting up to 6 days before the range still intersects it
+        Set<LocalDate> mealPlanDates = expandWeeks(
+                mealPlanRepository.findWeekStartDatesBetween(userId, from.minusDays(6), to), from, to);
+        Set<LocalDate> workoutPlanDates = expandWeeks(
+                workoutPlanRepository.findWeekStartDatesBetween(userId, from.minusDays(6), to), from, to);
+
+        Map<LocalDate, HabitDayCount> habitCounts = new HashMap<>();
+        for (HabitDayCount count : habitLogRepository.countByUserIdGroupedByDate(userId, from, to)) {
+            habitCounts.put(count.getLogDate(), count);
+        }
 
-        // Active habits count for the user
-        long activeHabitsCount = habitRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(userId).size();
+        long activeHabitsCount = habitRepository.countByUserIdAndIsActiveTrue(userId);
 
         // Build day responses
-        List<CalendarDayResponse> days = new ArrayList<>();
+        List<CalendarDayResponse> days = new ArrayList<>((int) ChronoUnit.DAYS.between(from, to) + 1);
         long totalHabitsDone = 0;
         long totalHabitsLogged = 0;
 
         for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
-            long habitDone = habitLogRepository.countDoneByUserIdAndDate(userId, date);
-            long habitTotal = habitLogRepository.countByUserIdAndDate(userId, date);
+            HabitDayCount count = habitCounts.get(date);
+            long habitDone = count != null ? count.getDoneCount() : 0;
+            long habitTotal = count != null ? count.getTotalCount() : 0;
 
             totalHabitsDone += habitDone;
             totalHabitsLogged += habitTotal;
@@ -106,4 +98,25 @@ public class CalendarService {
                 .totals(totals)
                 .build();
     }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_RANGE_DAYS) {
+            throw new BadRequestException("Calendar range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    /** Marks every day of each plan week that falls inside [from, to]. */
+    private Set<LocalDate> expandWeeks(List<LocalDate> weekStarts, LocalDate from, LocalDate to) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (LocalDate weekStart : weekStarts) {
+            LocalDate weekEnd = weekStart.plusDays(6);
+            for (LocalDate d = weekStart; !d.isAfter(weekEnd); d = d.plusDays(1)) {
+                if (!d.isBefore(from) && !d.isAfter(to)) dates.add(d);
+            }
+        }
+        return dates;
+    }
 }
@@ -0,0 +1,115 @@
+package com.optivita.service;
+
+import com.optivita.dto.program.CheckpointEvaluationResponse;
+import com.optivita.dto.program.EvaluationCacheStatsResponse;
+import com.optivita.entity.Checkpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of checkpoint evaluations. An evaluation depends only on the checkpoint
+ * (its targets, covered by the entity version) and the program's progress entries, so results
+ * are keyed by (checkpoint id, checkpoint version, progress watermark). The watermark is a
+ * per-program generation bumped after any write that can change an evaluation commits; stale
+ * entries are never looked up again and age out of the LRU.
+ */
+@Component
+public class CheckpointEvaluationCache {
+
+    private static final int WATERMARK_STRIPES = 256;
+
+    record Key(UUID checkpointId, Integer version, long watermark) {
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, CheckpointEvaluationResponse> entries;
+
+    /**
+     * Programs hash onto stripes; bumping one stripe also retires the cached results of the
+     * other programs sharing it, which costs a recomputation but is never stale.
+     */
+    private final AtomicLongArray watermarks = new AtomicLongArray(WATERMARK_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CheckpointEvaluationCache(@Value("${app.checkpoint.evaluation-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CheckpointEvaluationResponse> eldest) {
+                return size() > CheckpointEvaluationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Key for evaluating cp against the program's current data. Take it before loading the
+     * progress entries: a write committing in between then leaves the result under a
+     * superseded watermark instead of caching stale data under the new one.
+     */
+    Key keyFor(UUID programId, Checkpoint cp) {
+        return new Key(cp.getId(), cp.getVersion(), watermarks.get(stripe(programId)));
+    }
+
+    /** The cached evaluation, or null; counts a hit or miss. */
+    CheckpointEvaluationResponse get(Key key) {
+        CheckpointEvaluationResponse cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    void put(Key key, CheckpointEvaluationResponse evaluation) {
+        synchronized (this) {
+            entries.put(key, evaluation);
+        }
+    }
+
+    /**
+     * Retires the program's cached evaluations once the current transaction completes
+     * (immediately when there is none).
+     */
+    public void invalidateProgram(UUID programId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            watermarks.incrementAndGet(stripe(programId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                watermarks.incrementAndGet(stripe(programId));
+            }
+        });
+    }
+
+    public EvaluationCacheStatsResponse stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return EvaluationCacheStatsResponse.builder()
+                .hits(h)
+                .misses(m)
+                .size(size)
+                .maxEntries(maxEntries)
+                .hitRate(h + m == 0 ? 0.0 : (double) h / (h + m))
+                .build();
+    }
+
+    private int stripe(UUID programId) {
+        return programId.hashCode() & (WATERMARK_STRIPES - 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.optivita.service;
+
+import com.optivita.entity.enums.CheckpointStatus;
+import com.optivita.repository.CheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nightly checkpoint status engine. Walks every program with an UPCOMING checkpoint inside
+ * the lookahead horizon, keyset-paginated by program id, and stores a fresh evaluation on each
+ * such checkpoint; past ones are closed as ACHIEVED or MISSED. Programs are evaluated on
+ * virtual threads, with a semaphore capping how many hold a database connection at once.
+ * A program that fails (e.g. a concurrent edit) is logged and picked up again on the next run.
+ */
+@Slf4j
+@Component
+public class CheckpointStatusJob {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final CheckpointRepository checkpointRepository;
+    private final ProgramService programService;
+    private final int lookaheadDays;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public CheckpointStatusJob(CheckpointRepository checkpointRepository,
+                               ProgramService programService,
+                               @Value("${app.checkpoint.engine.lookahead-days:7}") int lookaheadDays,
+                               @Value("${app.checkpoint.engine.chunk-size:200}") int chunkSize,
+                               @Value("${app.checkpoint.engine.parallelism:8}") int parallelism) {
+        this.checkpointRepository = checkpointRepository;
+        this.programService = programService;
+        this.lookaheadDays = lookaheadDays;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${app.checkpoint.engine.cron:0 15 3 * * *}")
+    public void run() {
+        evaluateDueCheckpoints(LocalDate.now());
+    }
+
+    /** @return the number of checkpoints evaluated */
+    public int evaluateDueCheckpoints(LocalDate today) {
+        long started = System.nanoTime();
+        LocalDate horizon = today.plusDays(lookaheadDays);
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicInteger evaluated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int programs = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            UUID after = MIN_ID;
+            while (true) {
+                List<UUID> programIds = checkpointRepository.findProgramIdsWithCheckpointsDue(
+                        CheckpointStatus.UPCOMING, horizon, after, Limit.of(chunkSize));
+                if (programIds.isEmpty()) break;
+
+                List<Future<?>> pending = new ArrayList<>(programIds.size());
+                for (UUID programId : programIds) {
+                    permits.acquireUninterruptibly();
+                    pending.add(executor.submit(() -> {
+                        try {
+                            evaluated.addAndGet(programService.refreshCheckpointEvaluations(programId, today, horizon));
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                            log.warn("Checkpoint evaluation failed for program {}: {}", programId, e.getMessage());
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                awaitAll(pending);
+
+                programs += programIds.size();
+                if (programIds.size() < chunkSize) break;
+                after = programIds.get(programIds.size() - 1);
+            }
+        }
+
+        log.info("Checkpoint engine evaluated {} checkpoints across {} programs ({} failed) in {} ms",
+                evaluated.get(), programs, failed.get(), (System.nanoTime() - started) / 1_000_000);
+        return evaluated.get();
+    }
+
+    private void awaitAll(List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.warn("Checkpoint evaluation task failed", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.optivita.service;
+
+import com.optivita.dto.calendar.DailySummaryResponse;
+import com.optivita.entity.DailySummary;
+import com.optivita.entity.JournalEntry;
+import com.optivita.entity.SmokingLog;
+import com.optivita.entity.WeightEntry;
+import com.optivita.exception.BadRequestException;
+import com.optivita.repository.*;
+import com.optivita.repository.projection.AlcoholDayTotal;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.HabitDayCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Maintains the {@link DailySummary} read model. Write paths call {@link #refresh}
+ * for the days they touched; {@link #rebuild} recomputes everything for a user
+ * from the raw tables.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailySummaryService {
+
+    private final DailySummaryRepository dailySummaryRepository;
+    private final WeightEntryRepository weightEntryRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final WorkoutPlanRepository workoutPlanRepository;
+    private final HabitLogRepository habitLogRepository;
+    private final SmokingLogRepository smokingLogRepository;
+    private final AlcoholLogRepository alcoholLogRepository;
+
+    @Transactional(readOnly = true)
+    public List<DailySummaryResponse> getRange(UUID userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > CalendarService.MAX_RANGE_DAYS) {
+            throw new BadRequestException("Summary range must not exceed " + CalendarService.MAX_RANGE_DAYS + " days");
+        }
+        return dailySummaryRepository.findByUserIdAndDayBetween(userId, from, to)
+                .stream().map(this::mapToResponse).toList();
+    }
+
+    /** Refreshes the single day touched by a write. */
+    @Transactional
+    public void refresh(UUID userId, LocalDate day) {
+        refresh(userId, day, day);
+    }
+
+    /** Refreshes a plan week (the start date and the six days after it). */
+    @Transactional
+    public void refreshWeek(UUID userId, LocalDate weekStartDate) {
+        refresh(userId, weekStartDate, weekStartDate.plusDays(6));
+    }
+
+    /**
+     * Recomputes the summary rows for [from, to] from the raw tables, inserting,
+     * updating or removing rows so the range matches the source data exactly.
+     * Rows are upserted on (user_id, day), so two writes refreshing the same new day
+     * concurrently do not collide on the unique key.
+     *
+     * @return the number of days in the range that have data
+     */
+    @Transactional
+    public int refresh(UUID userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, DailySummary> rows = new HashMap<>();
+        Function<LocalDate, DailySummary> row = day -> rows.computeIfAbsent(day,
+                d -> DailySummary.builder().day(d).build());
+
+        for (WeightEntry entry : weightEntryRepository.findByUserIdAndDateBetween(userId, from, to)) {
+            row.apply(entry.getEntryDate()).setWeightKg(entry.getWeightKg());
+        }
+        for (HabitDayCount count : habitLogRepository.countByUserIdGroupedByDate(userId, from, to)) {
+            DailySummary summary = row.apply(count.getLogDate());
+            summary.setHabitsDone((int) count.getDoneCount());
+            summary.setHabitsTotal((int) count.getTotalCount());
+        }
+        for (SmokingLog log : smokingLogRepository.findByUserIdAndDateBetween(userId, from, to)) {
+            DailySummary summary = row.apply(log.getLogDate());
+            summary.setCigarettesCount(log.getCigarettesCount());
+            summary.setSmokeFree(log.getSmokeFree());
+        }
+        for (AlcoholDayTotal total : alcoholLogRepository.sumUnitsByUserIdGroupedByDate(userId, from, to)) {
+            row.apply(total.getLogDate()).setAlcoholUnits(total.getUnits());
+        }
+        for (JournalEntry entry : journalEntryRepository.findByUserIdAndDateBetween(userId, from, to)) {
+            DailySummary summary = row.apply(entry.getEntryDate());
+            summary.setHasJournal(true);
+            summary.setMood(entry.getMood());
+            summary.setEnergy(entry.getEnergy());
+            summary.setSleepHours(entry.getSleepHours());
+        }
+        // Plans cover a week, so any plan starting up to 6 days before the range still intersects it
+        for (LocalDate day : planDays(mealPlanRepository.findWeekStartDatesBetween(userId, from.minusDays(6), to), from, to)) {
+            row.apply(day).setHasMealPlan(true);
+        }
+        for (LocalDate day : planDays(workoutPlanRepository.findWeekStartDatesBetween(userId, from.minusDays(6), to), from, to)) {
+            row.apply(day).setHasWorkoutPlan(true);
+        }
+
+        List<DailySummary> toSave = new ArrayList<>();
+        Set<LocalDate> keep = new HashSet<>();
+        for (DailySummary summary : rows.values()) {
+            if (isEmpty(summary)) continue;
+            toSave.add(summary);
+            keep.add(summary.getDay());
+        }
+        dailySummaryRepository.deleteInRangeExcept(userId, from, to, keep);
+        dailySummaryRepository.upsertAll(userId, toSave);
+        return toSave.size();
+    }
+
+    /**
+     * Drops and recomputes every summary row for the user, one year at a time
+     * across the span covered by any of the source tables.
+     *
+     * @return the number of days that have data
+     */
+    @Transactional
+    public int rebuild(UUID userId) {
+        dailySummaryRepository.deleteByUserId(userId);
+
+        // span[0] = first day with data, span[1] = last day with data
+        LocalDate[] span = new LocalDate[2];
+        include(span, weightEntryRepository.findDateRangeByUserId(userId), 0);
+        include(span, journalEntryRepository.findDateRangeByUserId(userId), 0);
+        include(span, habitLogRepository.findDateRangeByUserId(userId), 0);
+        include(span, smokingLogRepository.findDateRangeByUserId(userId), 0);
+        include(span, alcoholLogRepository.findDateRangeByUserId(userId), 0);
+        include(span, mealPlanRepository.findDateRangeByUserId(userId), 6);
+        include(span, workoutPlanRepository.findDateRangeByUserId(userId), 6);
+        if (span[0] == null) return 0;
+        return refreshByYear(userId, span[0], span[1]);
+    }
+
+    /**
+     * Same as {@link #refresh(UUID, LocalDate, LocalDate)}, but one year at a time so that
+     * long ranges (imports, rebuilds) never load more than a year of source rows at once.
+     */
+    @Transactional
+    public int refreshByYear(UUID userId, LocalDate first, LocalDate last) {
+        int days = 0;
+        for (LocalDate chunkStart = first; !chunkStart.isAfter(last); chunkStart = chunkStart.plusYears(1)) {
+            LocalDate chunkEnd = chunkStart.plusYears(1).minusDays(1);
+            days += refresh(userId, chunkStart, chunkEnd.isAfter(last) ? last : chunkEnd);
+        }
+        return days;
+    }
+
+    /** Widens span to cover range, extending its end by tailDays (6 for plan weeks). */
+    private void include(LocalDate[] span, DateRange range, int tailDays) {
+        if (range == null || range.getFirstDate() == null) return;
+        LocalDate last = range.getLastDate().plusDays(tailDays);
+        if (span[0] == null || range.getFirstDate().isBefore(span[0])) span[0] = range.getFirstDate();
+        if (span[1] == null || last.isAfter(span[1])) span[1] = last;
+    }
+
+    private List<LocalDate> planDays(List<LocalDate> weekStarts, LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate weekStart : weekStarts) {
+            for (int i = 0; i < 7; i++) {
+                LocalDate d = weekStart.plusDays(i);
+                if (!d.isBefore(from) && !d.isAfter(to)) days.add(d);
+            }
+        }
+        return days;
+    }
+
+    private boolean isEmpty(DailySummary summary) {
+        return summary.getWeightKg() == null
+                && summary.getHabitsTotal() == 0
+                && summary.getSmokeFree() == null
+                && summary.getAlcoholUnits() == null
+                && !summary.isHasJournal()
+                && !summary.isHasMealPlan()
+                && !summary.isHasWorkoutPlan();
+    }
+
+    private DailySummaryResponse mapToResponse(DailySummary summary) {
+        return DailySummaryResponse.builder()
+                .date(summary.getDay())
+                .weightKg(summary.getWeightKg())
+                .habitsDone(summary.getHabitsDone())
+                .habitsTotal(summary.getHabitsTotal())
+                .cigarettesCount(summary.getCigarettesCount())
+                .smokeFree(summary.getSmokeFree())
+                .alcoholUnits(summary.getAlcoholUnits())
+                .hasJournal(summary.isHasJournal())
+                .mood(summary.getMood())
+                .energy(summary.getEnergy())
+                .sleepHours(summary.getSleepHours())
+                .hasMealPlan(summary.isHasMealPlan())
+                .hasWorkoutPlan(summary.isHasWorkoutPlan())
+                .build();
+    }
+}
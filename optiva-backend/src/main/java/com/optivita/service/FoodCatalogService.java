@@ -0,0 +1,203 @@
+package com.optivita.service;
+
+import com.optivita.dto.food.FoodSuggestionResponse;
+import com.optivita.entity.MealItem;
+import com.optivita.entity.enums.MealType;
+import com.optivita.repository.MealPlanRepository;
+import com.optivita.repository.projection.FoodTupleRow;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Food autocomplete over the user's own meal items and a shared seed catalog. Each user's
+ * distinct items are indexed in memory on first search and kept in an LRU; later plan writes
+ * are added to a loaded index once they commit. History matches rank above catalog matches,
+ * and prefix matches above typo-tolerant ones.
+ */
+@Slf4j
+@Service
+public class FoodCatalogService {
+
+    private static final String SEED = "foods/seed-foods.csv";
+    private static final int WRITE_STRIPES = 256;
+
+    private final MealPlanRepository mealPlanRepository;
+    private final int maxUserFoods;
+    private final int maxUsers;
+    private final LinkedHashMap<UUID, FoodIndex> userIndexes;
+
+    /**
+     * Per-user generation bumped after a plan write commits. An index whose build overlapped
+     * a write may lack that write's items, so it is used once but not cached.
+     */
+    private final AtomicLongArray writes = new AtomicLongArray(WRITE_STRIPES);
+
+    private FoodIndex catalog = new FoodIndex(0);
+    private List<CatalogFood> catalogFoods = List.of();
+
+    /** A seed catalog food and the meal types it suits. */
+    record CatalogFood(FoodIndex.Food food, Set<MealType> meals) {
+    }
+
+    public FoodCatalogService(MealPlanRepository mealPlanRepository,
+                              @Value("${app.food-catalog.max-user-foods:5000}") int maxUserFoods,
+                              @Value("${app.food-catalog.max-users:1000}") int maxUsers) {
+        this.mealPlanRepository = mealPlanRepository;
+        this.maxUserFoods = maxUserFoods;
+        this.maxUsers = maxUsers;
+        this.userIndexes = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, FoodIndex> eldest) {
+                return size() > FoodCatalogService.this.maxUsers;
+            }
+        };
+    }
+
+    @PostConstruct
+    void loadCatalog() {
+        List<CatalogFood> foods = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(SEED).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean header = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                String[] cols = line.split(",", -1);
+                FoodIndex.Food food = new FoodIndex.Food(cols[0].trim(), cols[1].trim(), Integer.valueOf(cols[2].trim()),
+                        Double.valueOf(cols[3].trim()), Double.valueOf(cols[4].trim()), Double.valueOf(cols[5].trim()));
+                foods.add(new CatalogFood(food, cols.length > 6 ? meals(cols[6].trim()) : EnumSet.allOf(MealType.class)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read food catalog " + SEED, e);
+        }
+        FoodIndex index = new FoodIndex(foods.size());
+        foods.forEach(food -> index.add(food.food(), 1));
+        catalog = index;
+        catalogFoods = List.copyOf(foods);
+        log.info("Loaded {} catalog foods", index.size());
+    }
+
+    /** The seed catalog, for callers that plan with foods rather than search them. */
+    List<CatalogFood> catalogFoods() {
+        return catalogFoods;
+    }
+
+    public List<FoodSuggestionResponse> search(UUID userId, String query, int limit) {
+        int n = Math.max(1, Math.min(limit, FoodIndex.TOP_K));
+        List<FoodIndex.Match> history = userIndex(userId).search(query, n);
+        List<FoodIndex.Match> shared = catalog.search(query, n);
+
+        // Prefix before fuzzy; within each, the user's own items before the catalog's
+        List<FoodSuggestionResponse> results = new ArrayList<>(n);
+        Set<String> names = new HashSet<>();
+        for (boolean fuzzy : new boolean[]{false, true}) {
+            addMatches(history, fuzzy, FoodSuggestionResponse.Source.HISTORY, n, names, results);
+            addMatches(shared, fuzzy, FoodSuggestionResponse.Source.CATALOG, n, names, results);
+        }
+        return results;
+    }
+
+    /** Makes the items of a plan write searchable once the surrounding transaction commits. */
+    public void onItemsSaved(UUID userId, Collection<MealItem> items) {
+        List<FoodIndex.Food> foods = items.stream().map(FoodCatalogService::toFood).toList();
+        Runnable apply = () -> {
+            FoodIndex index;
+            synchronized (this) {
+                writes.incrementAndGet(stripe(userId));
+                index = userIndexes.get(userId);
+            }
+            if (index != null) foods.forEach(food -> index.add(food, 1));
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private FoodIndex userIndex(UUID userId) {
+        synchronized (this) {
+            FoodIndex cached = userIndexes.get(userId);
+            if (cached != null) return cached;
+        }
+        long generation = writes.get(stripe(userId));
+        FoodIndex index = new FoodIndex(maxUserFoods);
+        for (FoodTupleRow row : mealPlanRepository.findFoodTuplesByUserId(userId, maxUserFoods)) {
+            index.add(new FoodIndex.Food(row.getName(), row.getPortion(), row.getCalories(),
+                    row.getProteinG(), row.getCarbsG(), row.getFatG()), (int) Math.min(row.getUses(), Integer.MAX_VALUE));
+        }
+        synchronized (this) {
+            if (writes.get(stripe(userId)) == generation) {
+                FoodIndex raced = userIndexes.putIfAbsent(userId, index);
+                if (raced != null) return raced;
+            }
+        }
+        return index;
+    }
+
+    private static void addMatches(List<FoodIndex.Match> matches, boolean fuzzy, FoodSuggestionResponse.Source source,
+                                   int limit, Set<String> names, List<FoodSuggestionResponse> out) {
+        for (FoodIndex.Match match : matches) {
+            if (out.size() == limit) return;
+            if (match.fuzzy() != fuzzy) continue;
+            FoodIndex.Food food = match.food();
+            // One suggestion per name and portion; the user's own values win
+            if (!names.add(FoodIndex.normalize(food.name()) + '|' + FoodIndex.normalize(food.portion()))) continue;
+            out.add(FoodSuggestionResponse.builder()
+                    .name(food.name())
+                    .portion(food.portion())
+                    .calories(food.calories())
+                    .proteinG(food.proteinG())
+                    .carbsG(food.carbsG())
+                    .fatG(food.fatG())
+                    .source(source)
+                    .fuzzy(fuzzy)
+                    .build());
+        }
+    }
+
+    private static FoodIndex.Food toFood(MealItem item) {
+        return new FoodIndex.Food(item.getName(), item.getPortion(), item.getCalories(),
+                item.getProteinG(), item.getCarbsG(), item.getFatG());
+    }
+
+    /** Meal type codes of the seed file: B, L, D and S. */
+    private static Set<MealType> meals(String codes) {
+        Set<MealType> meals = EnumSet.noneOf(MealType.class);
+        for (char code : codes.toCharArray()) {
+            switch (code) {
+                case 'B' -> meals.add(MealType.BREAKFAST);
+                case 'L' -> meals.add(MealType.LUNCH);
+                case 'D' -> meals.add(MealType.DINNER);
+                case 'S' -> meals.add(MealType.SNACK);
+                default -> throw new IllegalStateException("Unknown meal code '" + code + "' in " + SEED);
+            }
+        }
+        return meals.isEmpty() ? EnumSet.allOf(MealType.class) : meals;
+    }
+
+    private static int stripe(UUID userId) {
+        return (userId.hashCode() & 0x7fffffff) % WRITE_STRIPES;
+    }
+}
@@ -0,0 +1,309 @@
+package com.optivita.service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix and typo-tolerant lookup over a set of foods. Prefixes go through a compressed (radix)
+ * trie over normalized names, with every word start inserted so "breast" also finds "Chicken
+ * breast". Each node keeps only its {@link #TOP_K} most used foods, which bounds memory per node
+ * and makes a prefix query a walk of at most |prefix| characters. Typos fall back to a trigram
+ * index whose candidates are verified with a bounded prefix edit distance.
+ * <p>
+ * Foods are only ever added; reads and writes are guarded by a read-write lock.
+ */
+final class FoodIndex {
+
+    static final int TOP_K = 10;
+
+    /** Queries shorter than this are matched by prefix only. */
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    /** One distinct (name, portion, macros) tuple. */
+    record Food(String name, String portion, Integer calories, Double proteinG, Double carbsG, Double fatG) {
+    }
+
+    /** A hit; distance is 0 for prefix matches. */
+    record Match(Food food, int distance, int weight) {
+
+        boolean fuzzy() {
+            return distance > 0;
+        }
+    }
+
+    private static final class Entry {
+        final Food food;
+        final String key;
+        final int weight;
+
+        Entry(Food food, String key, int weight) {
+            this.food = food;
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Node {
+        String label;
+        Map<Character, Node> children;
+        Entry[] top = new Entry[0];
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator.<Entry>comparingInt(e -> -e.weight)
+            .thenComparing(e -> e.key);
+
+    private final int maxFoods;
+    private final Node root = new Node("");
+    private final Map<Food, Entry> entries = new HashMap<>();
+    private final Map<String, List<Entry>> trigrams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    FoodIndex(int maxFoods) {
+        this.maxFoods = maxFoods;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a food unless it is already indexed or the index is full. Callers add the most used
+     * foods first, so the cap drops the long tail.
+     */
+    void add(Food food, int weight) {
+        String key = normalize(food.name());
+        if (key.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            if (entries.size() >= maxFoods || entries.containsKey(food)) return;
+            Entry entry = new Entry(food, key, weight);
+            entries.put(food, entry);
+            for (int start : wordStarts(key)) {
+                insert(key.substring(start), entry);
+            }
+            for (String gram : trigrams(key)) {
+                trigrams.computeIfAbsent(gram, g -> new ArrayList<>()).add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Prefix matches first (most used first), then fuzzy matches by distance. */
+    List<Match> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            List<Match> matches = new ArrayList<>(limit);
+            Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Entry entry : prefix(q)) {
+                if (matches.size() == limit) return matches;
+                matches.add(new Match(entry.food, 0, entry.weight));
+                seen.add(entry);
+            }
+            if (matches.size() < limit && q.length() >= MIN_FUZZY_LENGTH) {
+                fuzzy(q, seen, limit - matches.size(), matches);
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Trie ─────────────────────────────────────────────────────────────────
+
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        offer(node, entry);
+        int i = 0;
+        while (i < key.length()) {
+            char c = key.charAt(i);
+            if (node.children == null) node.children = new HashMap<>(4);
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(c, child);
+                offer(child, entry);
+                return;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge; the new middle node covers exactly the old child's subtree
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new HashMap<>(4);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top.clone();
+                node.children.put(c, middle);
+                child = middle;
+            }
+            offer(child, entry);
+            node = child;
+            i += common;
+        }
+    }
+
+    private static void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        for (Entry e : top) {
+            if (e == entry) return;
+        }
+        if (top.length < TOP_K) {
+            top = Arrays.copyOf(top, top.length + 1);
+        } else if (BY_WEIGHT.compare(entry, top[top.length - 1]) < 0) {
+            top = top.clone();
+        } else {
+            return;
+        }
+        // Insertion sort from the end; replaces the lightest entry when full
+        int i = top.length - 1;
+        while (i > 0 && BY_WEIGHT.compare(entry, top[i - 1]) < 0) {
+            top[i] = top[i - 1];
+            i--;
+        }
+        top[i] = entry;
+        node.top = top;
+    }
+
+    private Entry[] prefix(String q) {
+        Node node = root;
+        int i = 0;
+        while (i < q.length()) {
+            Node child = node.children == null ? null : node.children.get(q.charAt(i));
+            if (child == null) return new Entry[0];
+            int n = Math.min(child.label.length(), q.length() - i);
+            if (!child.label.regionMatches(0, q, i, n)) return new Entry[0];
+            node = child;
+            i += n;
+        }
+        return node.top;
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int n = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < n && label.charAt(i) == key.charAt(from + i)) i++;
+        return i;
+    }
+
+    // ── Fuzzy ────────────────────────────────────────────────────────────────
+
+    private void fuzzy(String q, Set<Entry> seen, int limit, List<Match> out) {
+        int maxEdits = q.length() <= 6 ? 1 : 2;
+        List<String> grams = trigrams(q);
+        // A word within maxEdits of the query shares at least this many of its trigrams
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+
+        Map<Entry, Integer> shared = new IdentityHashMap<>();
+        for (String gram : grams) {
+            List<Entry> posting = trigrams.get(gram);
+            if (posting == null) continue;
+            for (Entry entry : posting) {
+                if (!seen.contains(entry)) shared.merge(entry, 1, Integer::sum);
+            }
+        }
+
+        List<Match> candidates = new ArrayList<>();
+        for (Map.Entry<Entry, Integer> candidate : shared.entrySet()) {
+            if (candidate.getValue() < minShared) continue;
+            Entry entry = candidate.getKey();
+            int best = maxEdits + 1;
+            for (int start : wordStarts(entry.key)) {
+                best = Math.min(best, prefixDistance(q, entry.key, start, maxEdits));
+            }
+            if (best <= maxEdits) candidates.add(new Match(entry.food, best, entry.weight));
+        }
+        candidates.sort(Comparator.comparingInt(Match::distance).thenComparingInt(m -> -m.weight())
+                .thenComparing(m -> m.food().name()));
+        out.addAll(candidates.subList(0, Math.min(limit, candidates.size())));
+    }
+
+    /**
+     * Edit distance between q and the closest prefix of t starting at from, or max + 1 once it
+     * is certain to exceed max.
+     */
+    static int prefixDistance(String q, String t, int from, int max) {
+        int cols = Math.min(t.length() - from, q.length() + max);
+        int[] prev = new int[cols + 1];
+        int[] curr = new int[cols + 1];
+        for (int j = 0; j <= cols; j++) prev[j] = j;
+        for (int i = 1; i <= q.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= cols; j++) {
+                int cost = q.charAt(i - 1) == t.charAt(from + j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+        int best = max + 1;
+        for (int j = 0; j <= cols; j++) best = Math.min(best, prev[j]);
+        return best;
+    }
+
+    // ── Text ─────────────────────────────────────────────────────────────────
+
+    /** Lower case, accents stripped, anything but letters and digits collapsed to one space. */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(folded.length());
+        boolean space = true;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    private static int[] wordStarts(String key) {
+        int count = 1;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) == ' ') count++;
+        }
+        int[] starts = new int[count];
+        int n = 1;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) == ' ') starts[n++] = i + 1;
+        }
+        return starts;
+    }
+
+    /** Distinct trigrams of each word, padded at the word start so leading characters weigh in. */
+    private static List<String> trigrams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : key.split(" ")) {
+            String padded = "  " + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return new ArrayList<>(grams);
+    }
+}
@@ -3,6 +3,7 @@ package com.optivita.service;
 import com.optivita.dto.habit.*;
 import com.optivita.entity.Habit;
 import com.optivita.entity.HabitLog;
+import com.optivita.entity.Streak;
 import com.optivita.entity.User;
 import com.optivita.entity.enums.HabitLogStatus;
 import com.optivita.exception.BadRequestException;
@@ -10,13 +11,17 @@ import com.optivita.exception.ResourceNotFoundException;
 import com.optivita.repository.HabitLogRepository;
 import com.optivita.repository.HabitRepository;
 import com.optivita.repository.UserRepository;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.HabitLogCell;
+import com.optivita.repository.projection.HabitLogStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.UUID;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +30,8 @@ public class HabitService {
     private final HabitRepository habitRepository;
     private final HabitLogRepository habitLogRepository;
     private final UserRepository userRepository;
+    private final DailySummaryService dailySummaryService;
+    private final StreakService streakService;
 
     // ---- Habit CRUD ----
 
@@ -63,16 +70,33 @@ public class HabitService {
 
         if (request.getName() != null) habit.setName(request.getName());
         if (request.getDescription() != null) habit.setDescription(request.getDescription());
+        boolean activeChanged = request.getIsActive() != null && !request.getIsActive().equals(habit.getIsActive());
         if (request.getIsActive() != null) habit.setIsActive(request.getIsActive());
 
-        return mapHabitToResponse(habitRepository.save(habit));
+        Habit saved = habitRepository.save(habit);
+        if (activeChanged) {
+            // The habit's logged days may count differently once it is (in)active
+            refreshLoggedDays(userId, habitLogRepository.findDateRangeByHabitId(habitId));
+        }
+        return mapHabitToResponse(saved);
     }
 
     @Transactional
     public void deleteHabit(UUID userId, UUID habitId) {
         Habit habit = habitRepository.findByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Habit", "id", habitId));
+        // Read before the delete: the logs go with the habit
+        DateRange logged = habitLogRepository.findDateRangeByHabitId(habitId);
+        streakService.deleteHabitStreak(habitId);
+        habitLogRepository.deleteByHabitId(habitId);
         habitRepository.delete(habit);
+        habitRepository.flush();
+        refreshLoggedDays(userId, logged);
+    }
+
+    private void refreshLoggedDays(UUID userId, DateRange logged) {
+        if (logged == null || logged.getFirstDate() == null) return;
+        dailySummaryService.refreshByYear(userId, logged.getFirstDate(), logged.getLastDate());
     }
 
     // ---- Habit Logs ----
@@ -89,7 +113,110 @@ public class HabitService {
         log.setStatus(request.getStatus());
         log.setNotes(request.getNotes());
 
-        return mapLogToResponse(habitLogRepository.save(log));
+        HabitLog saved = habitLogRepository.save(log);
+        dailySummaryService.refresh(userId, saved.getLogDate());
+        streakService.onHabitDay(habit, saved.getLogDate(), saved.getStatus() == HabitLogStatus.DONE);
+        return mapLogToResponse(saved);
+    }
+
+    /**
+     * Writes a matrix of habit check-ins in one transaction. Ownership is checked with one
+     * query and all accepted cells are upserted in a single JDBC batch; cells for unknown
+     * habits are reported rather than failing the whole request.
+     */
+    @Transactional
+    public BulkHabitLogResponse bulkLog(UUID userId, BulkHabitLogRequest request) {
+        List<BulkHabitLogRequest.Entry> entries = request.getEntries();
+        Set<UUID> requestedIds = new HashSet<>();
+        for (BulkHabitLogRequest.Entry entry : entries) requestedIds.add(entry.getHabitId());
+
+        Map<UUID, Habit> owned = new HashMap<>();
+        for (Habit habit : habitRepository.findByUserIdAndIdIn(userId, requestedIds)) {
+            owned.put(habit.getId(), habit);
+        }
+
+        // Last entry wins when the same habit and date appear more than once
+        Map<String, Integer> lastIndexByCell = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            lastIndexByCell.put(entries.get(i).getHabitId() + "|" + entries.get(i).getDate(), i);
+        }
+
+        List<HabitLog> logs = new ArrayList<>();
+        List<BulkHabitLogResponse.CellResult> results = new ArrayList<>(entries.size());
+        int rejected = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            BulkHabitLogRequest.Entry entry = entries.get(i);
+            Habit habit = owned.get(entry.getHabitId());
+            BulkHabitLogResponse.Outcome outcome;
+            if (habit == null) {
+                outcome = BulkHabitLogResponse.Outcome.HABIT_NOT_FOUND;
+                rejected++;
+            } else if (lastIndexByCell.get(entry.getHabitId() + "|" + entry.getDate()) != i) {
+                outcome = BulkHabitLogResponse.Outcome.SUPERSEDED;
+            } else {
+                outcome = BulkHabitLogResponse.Outcome.SAVED;
+                logs.add(HabitLog.builder()
+                        .habit(habit)
+                        .logDate(entry.getDate())
+                        .status(entry.getStatus())
+                        .notes(entry.getNotes())
+                        .build());
+            }
+            results.add(BulkHabitLogResponse.CellResult.builder()
+                    .habitId(entry.getHabitId())
+                    .date(entry.getDate())
+                    .outcome(outcome)
+                    .build());
+        }
+
+        if (!logs.isEmpty()) {
+            habitLogRepository.upsertAll(logs);
+
+            LocalDate from = logs.stream().map(HabitLog::getLogDate).min(LocalDate::compareTo).orElseThrow();
+            LocalDate to = logs.stream().map(HabitLog::getLogDate).max(LocalDate::compareTo).orElseThrow();
+            dailySummaryService.refresh(userId, from, to);
+            logs.stream().map(HabitLog::getHabit).distinct().forEach(streakService::recomputeHabitStreak);
+        }
+
+        return BulkHabitLogResponse.builder()
+                .saved(logs.size())
+                .rejected(rejected)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Logs of all active habits for [from, to], grouped by habit. Logs are read as DTOs with
+     * one range query; active habits without logs in the range get an empty row.
+     */
+    @Transactional(readOnly = true)
+    public HabitMatrixResponse getLogMatrix(UUID userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > CalendarService.MAX_RANGE_DAYS) {
+            throw new BadRequestException("Range must not exceed " + CalendarService.MAX_RANGE_DAYS + " days");
+        }
+
+        Map<UUID, List<HabitLogResponse>> logsByHabit = new HashMap<>();
+        for (HabitLogResponse log : habitLogRepository.findActiveLogResponsesBetween(userId, from, to)) {
+            logsByHabit.computeIfAbsent(log.getHabitId(), id -> new ArrayList<>()).add(log);
+        }
+
+        List<HabitMatrixResponse.HabitRow> rows = habitRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(userId)
+                .stream()
+                .map(h -> HabitMatrixResponse.HabitRow.builder()
+                        .habitId(h.getId())
+                        .habitName(h.getName())
+                        .logs(logsByHabit.getOrDefault(h.getId(), List.of()))
+                        .build())
+                .toList();
+
+        return HabitMatrixResponse.builder()
+                .from(from)
+                .to(to)
+                .habits(rows)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -101,53 +228,118 @@ public class HabitService {
                 .stream().map(this::mapLogToResponse).toList();
     }
 
-    // ---- Analytics ----
+    // ---- Heatmap ----
+
+    @Transactional(readOnly = true)
+    public HabitHeatmapResponse getHeatmap(UUID userId, UUID habitId, int year) {
+        habitRepository.findByIdAndUserId(habitId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Habit", "id", habitId));
+        Year y = validYear(year);
+        List<HabitLogCell> cells = habitLogRepository.findCellsByHabitId(habitId, y.atDay(1), y.atMonth(12).atEndOfMonth());
+        return encodeHeatmap(habitId, y, cells);
+    }
 
+    /** Heatmaps for all of the user's habits for one year, from a single projection query. */
     @Transactional(readOnly = true)
+    public List<HabitHeatmapResponse> getAllHeatmaps(UUID userId, int year) {
+        Year y = validYear(year);
+        Map<UUID, List<HabitLogCell>> cellsByHabit = new HashMap<>();
+        for (HabitLogCell cell : habitLogRepository.findCellsByUserId(userId, y.atDay(1), y.atMonth(12).atEndOfMonth())) {
+            cellsByHabit.computeIfAbsent(cell.getHabitId(), id -> new ArrayList<>()).add(cell);
+        }
+        return habitRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(h -> encodeHeatmap(h.getId(), y, cellsByHabit.getOrDefault(h.getId(), List.of())))
+                .toList();
+    }
+
+    private Year validYear(int year) {
+        if (year < 1970 || year > 9999) {
+            throw new BadRequestException("Year must be between 1970 and 9999");
+        }
+        return Year.of(year);
+    }
+
+    /** Packs the year's statuses 2 bits per day; see {@link HabitHeatmapResponse} for the layout. */
+    private HabitHeatmapResponse encodeHeatmap(UUID habitId, Year year, List<HabitLogCell> cells) {
+        int days = year.length();
+        byte[] packed = new byte[(days + 3) / 4];
+        int done = 0, missed = 0, skipped = 0;
+        for (HabitLogCell cell : cells) {
+            int code = switch (cell.getStatus()) {
+                case DONE -> { done++; yield 1; }
+                case MISSED -> { missed++; yield 2; }
+                case SKIPPED -> { skipped++; yield 3; }
+            };
+            int day = cell.getLogDate().getDayOfYear() - 1;
+            packed[day >> 2] |= (byte) (code << ((day & 3) << 1));
+        }
+        return HabitHeatmapResponse.builder()
+                .habitId(habitId)
+                .year(year.getValue())
+                .days(days)
+                .cells(Base64.getEncoder().encodeToString(packed))
+                .doneCount(done)
+                .missedCount(missed)
+                .skippedCount(skipped)
+                .build();
+    }
+
+    // ---- Analytics ----
+
+    @Transactional
     public HabitAnalyticsResponse getAnalytics(UUID userId, UUID habitId) {
         Habit habit = habitRepository.findByIdAndUserId(habitId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Habit", "id", habitId));
 
         LocalDate now = LocalDate.now();
+        HabitLogStats stats = habitLogRepository
+                .findLogStatsByHabitId(habitId, now.minusDays(7), now.minusDays(30))
+                .orElse(null);
+        return buildAnalytics(habit, stats, streakService.getHabitStreak(habit), now);
+    }
 
-        // Streak calculation
-        List<HabitLog> logs = habitLogRepository.findByHabitIdOrderByLogDateDesc(habitId);
-        int streak = 0;
-        LocalDate checkDate = now;
-        for (HabitLog log : logs) {
-            if (log.getLogDate().equals(checkDate) && log.getStatus() == HabitLogStatus.DONE) {
-                streak++;
-                checkDate = checkDate.minusDays(1);
-            } else if (log.getLogDate().equals(checkDate)) {
-                break;
-            } else if (log.getLogDate().isBefore(checkDate)) {
-                break;
-            }
+    /**
+     * Analytics for all of the user's habits, in the same order as {@link #getAllHabits}.
+     * Counts come from one grouped query and streaks from the streak index, which this fills
+     * in for habits that have no row yet.
+     */
+    @Transactional
+    public List<HabitAnalyticsResponse> getAllAnalytics(UUID userId) {
+        List<Habit> habits = habitRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        if (habits.isEmpty()) return List.of();
+
+        LocalDate now = LocalDate.now();
+        Map<UUID, HabitLogStats> statsByHabit = new HashMap<>();
+        for (HabitLogStats stats : habitLogRepository.findLogStatsByUserId(userId, now.minusDays(7), now.minusDays(30))) {
+            statsByHabit.put(stats.getHabitId(), stats);
         }
+        Map<UUID, Streak> streaks = streakService.getHabitStreaks(userId, habits);
 
-        // Adherence 7 day
-        long done7 = habitLogRepository.countByHabitIdAndDateFromAndStatus(habitId, now.minusDays(7), HabitLogStatus.DONE);
-        long total7 = habitLogRepository.countByHabitIdAndDateFrom(habitId, now.minusDays(7));
-        double adherence7 = total7 > 0 ? Math.round(((double) done7 / 7) * 10000.0) / 100.0 : 0;
+        return habits.stream()
+                .map(h -> buildAnalytics(h, statsByHabit.get(h.getId()), streaks.get(h.getId()), now))
+                .toList();
+    }
 
-        // Adherence 30 day
-        long done30 = habitLogRepository.countByHabitIdAndDateFromAndStatus(habitId, now.minusDays(30), HabitLogStatus.DONE);
-        long total30 = habitLogRepository.countByHabitIdAndDateFrom(habitId, now.minusDays(30));
-        double adherence30 = total30 > 0 ? Math.round(((double) done30 / 30) * 10000.0) / 100.0 : 0;
+    /** Shared by the single and batched endpoints; stats is null for a habit with no logs. */
+    private HabitAnalyticsResponse buildAnalytics(Habit habit, HabitLogStats stats, Streak streak, LocalDate now) {
+        HabitAnalyticsResponse.HabitAnalyticsResponseBuilder response = HabitAnalyticsResponse.builder()
+                .habitId(habit.getId())
+                .habitName(habit.getName())
+                .currentStreak(streakService.currentLength(streak, now))
+                .longestStreak(streakService.longestLength(streak, now))
+                .lastBreakDate(streak.getLastBreakDate());
+        if (stats == null) return response.build();
 
-        // Totals
-        long totalDone = habitLogRepository.countByHabitIdAndDateFromAndStatus(habitId, LocalDate.MIN, HabitLogStatus.DONE);
-        long totalMissed = habitLogRepository.countByHabitIdAndDateFromAndStatus(habitId, LocalDate.MIN, HabitLogStatus.MISSED);
-        long totalSkipped = habitLogRepository.countByHabitIdAndDateFromAndStatus(habitId, LocalDate.MIN, HabitLogStatus.SKIPPED);
+        // Adherence is measured against the full window, not just the days logged
+        double adherence7 = stats.getTotal7() > 0 ? Math.round(((double) stats.getDone7() / 7) * 10000.0) / 100.0 : 0;
+        double adherence30 = stats.getTotal30() > 0 ? Math.round(((double) stats.getDone30() / 30) * 10000.0) / 100.0 : 0;
 
-        return HabitAnalyticsResponse.builder()
-                .habitName(habit.getName())
-                .currentStreak(streak)
+        return response
                 .adherence7Day(adherence7)
                 .adherence30Day(adherence30)
-                .totalDone(totalDone)
-                .totalMissed(totalMissed)
-                .totalSkipped(totalSkipped)
+                .totalDone(stats.getTotalDone())
+                .totalMissed(stats.getTotalMissed())
+                .totalSkipped(stats.getTotalSkipped())
                 .build();
     }
 
@@ -27,6 +27,7 @@ public class JournalService {
 
     private final JournalEntryRepository journalEntryRepository;
     private final UserRepository userRepository;
+    private final DailySummaryService dailySummaryService;
 
     @Transactional
     public JournalEntryResponse create(UUID userId, JournalEntryRequest request) {
@@ -50,7 +51,9 @@ public class JournalService {
                 .stress(request.getStress())
                 .build();
 
-        return mapToResponse(journalEntryRepository.save(entry));
+        JournalEntry saved = journalEntryRepository.save(entry);
+        dailySummaryService.refresh(userId, saved.getEntryDate());
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -114,7 +117,9 @@ public class JournalService {
         if (request.getSleepHours() != null) entry.setSleepHours(request.getSleepHours());
         if (request.getStress() != null) entry.setStress(request.getStress());
 
-        return mapToResponse(journalEntryRepository.save(entry));
+        JournalEntry saved = journalEntryRepository.save(entry);
+        dailySummaryService.refresh(userId, saved.getEntryDate());
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -122,6 +127,7 @@ public class JournalService {
         JournalEntry entry = journalEntryRepository.findByIdAndUserId(entryId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("JournalEntry", "id", entryId));
         journalEntryRepository.delete(entry);
+        dailySummaryService.refresh(userId, entry.getEntryDate());
     }
 
     private JournalEntryResponse mapToResponse(JournalEntry e) {
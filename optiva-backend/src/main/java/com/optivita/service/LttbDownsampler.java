@@ -0,0 +1,68 @@
+package com.optivita.service;
+
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling: keeps the first and last points and,
+ * for each bucket in between, the point forming the largest triangle with the previously
+ * kept point and the average of the next bucket. Preserves the visual shape of a series
+ * far better than uniform sampling.
+ */
+final class LttbDownsampler {
+
+    private LttbDownsampler() {
+    }
+
+    /**
+     * Returns the indices (ascending) of the points of the series to keep. When the series
+     * has at most threshold points, or threshold < 3, every index is returned.
+     */
+    static int[] select(WeightSeries series, int threshold) {
+        int n = series.size();
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        int k = 0;
+        kept[k++] = 0;
+
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        for (int i = 0; i < threshold - 2; i++) {
+            // Average of the next bucket
+            int avgStart = (int) ((i + 1) * bucketSize) + 1;
+            int avgEnd = Math.min((int) ((i + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += series.epochDay(j);
+                avgY += series.kg(j);
+            }
+            int avgCount = avgEnd - avgStart;
+            avgX /= avgCount;
+            avgY /= avgCount;
+
+            // Point in the current bucket with the largest triangle
+            int rangeStart = (int) (i * bucketSize) + 1;
+            int rangeEnd = (int) ((i + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double ax = series.epochDay(a);
+                double ay = series.kg(a);
+                double area = Math.abs((ax - avgX) * (series.kg(j) - ay) - (ax - series.epochDay(j)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            kept[k++] = next;
+            a = next;
+        }
+
+        kept[k] = n - 1;
+        return kept;
+    }
+}
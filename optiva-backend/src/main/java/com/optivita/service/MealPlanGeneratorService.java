@@ -0,0 +1,526 @@
+package com.optivita.service;
+
+import com.optivita.dto.meal.*;
+import com.optivita.entity.UserProfile;
+import com.optivita.entity.enums.Gender;
+import com.optivita.entity.enums.MealType;
+import com.optivita.exception.BadRequestException;
+import com.optivita.repository.MealPlanRepository;
+import com.optivita.repository.UserProfileRepository;
+import com.optivita.repository.projection.MealFoodRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a week of meals that meets daily calorie and macro targets, built from the foods
+ * the user already plans with and, optionally, the shared food catalog. Each of the
+ * 7 x 4 meals holds one to {@link #MAX_ITEMS} foods suited to its meal type.
+ *
+ * <p>The objective per day is the weighted squared relative error of calories, protein, carbs
+ * and fat, plus how far each meal strays from its share of the calories; over the week, foods
+ * used more than {@link #FREE_USES} times and catalog foods cost a little extra, so the plan
+ * varies and prefers the user's own foods. Every compute pool worker runs simulated annealing
+ * restarts (add, remove or swap one food in one meal, re-scoring only that day) until the
+ * time budget or the iteration cap, and the best plan any worker found wins.</p>
+ *
+ * <p>Not transactional: foods and targets are read up front so no connection is held while searching.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class MealPlanGeneratorService {
+
+    private static final MealType[] MEAL_TYPES = MealType.values();
+    private static final double[] MEAL_SHARE = {0.25, 0.35, 0.30, 0.10}; // BREAKFAST, LUNCH, DINNER, SNACK
+    private static final int MEALS = MEAL_TYPES.length;
+    private static final int DAYS = 7;
+    private static final int SLOTS = DAYS * MEALS;
+    private static final int MAX_ITEMS = 3;
+
+    // Objective weights
+    private static final double W_CALORIES = 4.0, W_PROTEIN = 2.0, W_CARBS = 1.0, W_FAT = 1.0;
+    private static final double W_SHARE = 0.5;
+    private static final double W_REPEAT = 0.01;
+    private static final int FREE_USES = 3;
+    static final double CATALOG_COST = 0.002;
+
+    // Search schedule
+    private static final int RESTART_ITERATIONS = 50_000;
+    private static final long MAX_ITERATIONS = 1_000_000; // per worker
+    private static final long MIN_ITERATIONS = 20_000;    // per worker, even when loading ate the budget
+    private static final double T_START = 0.02, T_END = 1e-5;
+    private static final double COOLING = Math.pow(T_END / T_START, 1.0 / RESTART_ITERATIONS);
+    private static final double ADD_RATE = 0.2, REMOVE_RATE = 0.15;
+
+    // Target derivation
+    private static final double DEFAULT_ACTIVITY = 1.375;
+    private static final int DEFICIT_KCAL = 500, SURPLUS_KCAL = 300, MIN_KCAL = 1200;
+    private static final double GOAL_TOLERANCE_KG = 1.0;
+    private static final double PROTEIN_G_PER_KG = 1.8;
+    private static final double MAX_PROTEIN_SHARE = 0.35, FAT_SHARE = 0.30, MIN_CARB_SHARE = 0.05;
+
+    private final MealPlanRepository mealPlanRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final WeightSeriesCache weightSeriesCache;
+    private final FoodCatalogService foodCatalogService;
+    private final ForkJoinPool computePool;
+
+    @Value("${app.meal-generator.time-budget-ms:200}")
+    private long timeBudgetMs;
+
+    @Value("${app.meal-generator.max-foods:500}")
+    private int maxFoods;
+
+    public MealPlanGenerateResponse generate(UUID userId, MealPlanGenerateRequest request) {
+        long started = System.nanoTime();
+        long deadline = started + timeBudgetMs * 1_000_000L;
+
+        Targets targets = targets(userId, request);
+        Model model = model(userId, request.isIncludeCatalog(), targets);
+
+        int workers = computePool.getParallelism();
+        SplittableRandom master = new SplittableRandom();
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom random = master.split();
+            tasks.add(computePool.submit(() -> search(model, random, deadline)));
+        }
+
+        Result best = null;
+        long iterations = 0;
+        int restarts = 0;
+        boolean budgetExhausted = false;
+        for (ForkJoinTask<Result> task : tasks) {
+            Result result = task.join();
+            iterations += result.iterations;
+            restarts += result.restarts;
+            budgetExhausted |= result.timedOut;
+            if (best == null || result.cost < best.cost) best = result;
+        }
+
+        List<MealPlanDayRequest> days = new ArrayList<>(DAYS);
+        List<MealPlanGenerateResponse.DayTotals> dayTotals = new ArrayList<>(DAYS);
+        for (int d = 0; d < DAYS; d++) {
+            List<MealRequest> meals = new ArrayList<>(MEALS);
+            double calories = 0, protein = 0, carbs = 0, fat = 0;
+            for (int meal = 0; meal < MEALS; meal++) {
+                int s = d * MEALS + meal;
+                if (best.count[s] == 0) continue;
+                List<MealItemRequest> items = new ArrayList<>(best.count[s]);
+                for (int k = 0; k < best.count[s]; k++) {
+                    int food = best.items[s * MAX_ITEMS + k];
+                    items.add(model.candidates.get(food).toRequest());
+                    calories += model.kcal[food];
+                    protein += model.protein[food];
+                    carbs += model.carbs[food];
+                    fat += model.fat[food];
+                }
+                meals.add(MealRequest.builder().mealType(MEAL_TYPES[meal]).items(items).build());
+            }
+            days.add(MealPlanDayRequest.builder().dayOfWeek(d + 1).meals(meals).build());
+            dayTotals.add(MealPlanGenerateResponse.DayTotals.builder()
+                    .dayOfWeek(d + 1)
+                    .totals(totals(calories, protein, carbs, fat))
+                    .build());
+        }
+
+        return MealPlanGenerateResponse.builder()
+                .plan(MealPlanRequest.builder().weekStartDate(request.getWeekStartDate()).days(days).build())
+                .targets(totals(targets.calories, targets.proteinG, targets.carbsG, targets.fatG))
+                .targetSource(targets.source)
+                .days(dayTotals)
+                .foodsConsidered(model.candidates.size())
+                .iterations(iterations)
+                .restarts(restarts)
+                .score(Math.round(best.cost * 1e6) / 1e6)
+                .budgetExhausted(budgetExhausted)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    // ── Targets ──────────────────────────────────────────────────────────────
+
+    record Targets(double calories, double proteinG, double carbsG, double fatG,
+                   MealPlanGenerateResponse.TargetSource source) {
+    }
+
+    /**
+     * Calories from the request, else from the requested macros, else from the profile by
+     * Mifflin-St Jeor; missing macros are split from the calories.
+     */
+    Targets targets(UUID userId, MealPlanGenerateRequest request) {
+        UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+        WeightSeries series = weightSeriesCache.get(userId);
+        Double weight = series.size() > 0 ? Double.valueOf(series.kg(series.size() - 1))
+                : profile != null ? profile.getStartingWeightKg() : null;
+
+        double calories;
+        MealPlanGenerateResponse.TargetSource source = MealPlanGenerateResponse.TargetSource.REQUEST;
+        if (request.getCalories() != null) {
+            calories = request.getCalories();
+        } else if (request.getProteinG() != null && request.getCarbsG() != null && request.getFatG() != null) {
+            calories = 4 * request.getProteinG() + 4 * request.getCarbsG() + 9 * request.getFatG();
+        } else {
+            if (profile == null || profile.getAge() == null || profile.getHeightCm() == null || weight == null) {
+                throw new BadRequestException(
+                        "Set a calorie target or complete your profile's age, height and weight");
+            }
+            double bmr = 10 * weight + 6.25 * profile.getHeightCm() - 5 * profile.getAge()
+                    + (profile.getGender() == Gender.MALE ? 5 : profile.getGender() == Gender.FEMALE ? -161 : -78);
+            double activity = request.getActivityFactor() != null ? request.getActivityFactor() : DEFAULT_ACTIVITY;
+            calories = bmr * activity;
+            Double goal = profile.getTargetWeightKg();
+            if (goal != null && goal < weight - GOAL_TOLERANCE_KG) {
+                calories = Math.max(calories - DEFICIT_KCAL, Math.max(bmr, MIN_KCAL));
+            } else if (goal != null && goal > weight + GOAL_TOLERANCE_KG) {
+                calories += SURPLUS_KCAL;
+            }
+            calories = Math.round(calories);
+            source = MealPlanGenerateResponse.TargetSource.PROFILE;
+        }
+
+        double protein = request.getProteinG() != null ? request.getProteinG()
+                : Math.min(weight != null ? PROTEIN_G_PER_KG * weight : 0.25 * calories / 4, MAX_PROTEIN_SHARE * calories / 4);
+        double fat = request.getFatG() != null ? request.getFatG() : FAT_SHARE * calories / 9;
+        double carbs = request.getCarbsG() != null ? request.getCarbsG()
+                : Math.max(calories - 4 * protein - 9 * fat, MIN_CARB_SHARE * calories) / 4;
+        return new Targets(calories, protein, carbs, fat, source);
+    }
+
+    // ── Model ────────────────────────────────────────────────────────────────
+
+    /** A food the generator may plan, with the meal types (bit per ordinal) it may go into. */
+    static final class Candidate {
+        final FoodIndex.Food food;
+        final double cost;
+        int mealMask;
+
+        Candidate(FoodIndex.Food food, double cost) {
+            this.food = food;
+            this.cost = cost;
+        }
+
+        MealItemRequest toRequest() {
+            return MealItemRequest.builder()
+                    .name(food.name())
+                    .portion(food.portion())
+                    .calories(food.calories())
+                    .proteinG(positive(food.proteinG()))
+                    .carbsG(positive(food.carbsG()))
+                    .fatG(positive(food.fatG()))
+                    .build();
+        }
+    }
+
+    /** Everything a search needs, in primitives; shared read-only by the workers. */
+    static final class Model {
+        List<Candidate> candidates;
+        double[] kcal, protein, carbs, fat, cost;
+        int[][] pool;        // candidate indexes per meal type
+        int[] slots;         // day * MEALS + meal, for the meal types that have candidates
+        double[] share;      // calorie share per meal type, 0 for those without candidates
+        double targetKcal, targetProtein, targetCarbs, targetFat;
+    }
+
+    private Model model(UUID userId, boolean includeCatalog, Targets targets) {
+        Map<FoodIndex.Food, Candidate> byFood = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        for (MealFoodRow row : mealPlanRepository.findMealFoodsByUserId(userId, maxFoods)) {
+            if (row.getMealType() == null) continue;
+            FoodIndex.Food food = new FoodIndex.Food(row.getName(), row.getPortion(), row.getCalories(),
+                    row.getProteinG(), row.getCarbsG(), row.getFatG());
+            Candidate candidate = byFood.computeIfAbsent(food, f -> new Candidate(f, 0.0));
+            candidate.mealMask |= 1 << MealType.valueOf(row.getMealType()).ordinal();
+            names.add(key(food));
+        }
+        if (includeCatalog) {
+            for (FoodCatalogService.CatalogFood catalogFood : foodCatalogService.catalogFoods()) {
+                // The user's own version of a food replaces the catalog's
+                if (names.contains(key(catalogFood.food()))) continue;
+                Candidate candidate = byFood.computeIfAbsent(catalogFood.food(), f -> new Candidate(f, CATALOG_COST));
+                for (MealType type : catalogFood.meals()) candidate.mealMask |= 1 << type.ordinal();
+            }
+        }
+        Model m = model(List.copyOf(byFood.values()), targets);
+        if (m.slots.length == 0) {
+            throw new BadRequestException(includeCatalog ? "No foods to plan with"
+                    : "No foods to plan with: add meal plans first or include the catalog");
+        }
+        return m;
+    }
+
+    /** The search model over the given candidates; without slots when no candidate suits any meal. */
+    static Model model(List<Candidate> candidates, Targets targets) {
+        Model m = new Model();
+        m.candidates = candidates;
+        int n = m.candidates.size();
+        m.kcal = new double[n];
+        m.protein = new double[n];
+        m.carbs = new double[n];
+        m.fat = new double[n];
+        m.cost = new double[n];
+        for (int i = 0; i < n; i++) {
+            Candidate c = m.candidates.get(i);
+            m.kcal[i] = c.food.calories();
+            m.protein[i] = orZero(c.food.proteinG());
+            m.carbs[i] = orZero(c.food.carbsG());
+            m.fat[i] = orZero(c.food.fatG());
+            m.cost[i] = c.cost;
+        }
+
+        m.pool = new int[MEALS][];
+        m.share = new double[MEALS];
+        double shares = 0;
+        for (int meal = 0; meal < MEALS; meal++) {
+            int bit = 1 << meal;
+            m.pool[meal] = IntStream.range(0, n)
+                    .filter(i -> (m.candidates.get(i).mealMask & bit) != 0).toArray();
+            if (m.pool[meal].length > 0) shares += MEAL_SHARE[meal];
+        }
+        List<Integer> slots = new ArrayList<>(SLOTS);
+        for (int meal = 0; meal < MEALS; meal++) {
+            if (m.pool[meal].length == 0) continue;
+            // Meal types without foods are dropped and the others take over their share
+            m.share[meal] = MEAL_SHARE[meal] / shares;
+            for (int d = 0; d < DAYS; d++) slots.add(d * MEALS + meal);
+        }
+        m.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+
+        m.targetKcal = targets.calories;
+        m.targetProtein = targets.proteinG;
+        m.targetCarbs = targets.carbsG;
+        m.targetFat = targets.fatG;
+        return m;
+    }
+
+    // ── Search ───────────────────────────────────────────────────────────────
+
+    private record Result(int[] items, int[] count, double cost, long iterations, int restarts, boolean timedOut) {
+    }
+
+    /**
+     * Annealing restarts until the deadline or {@link #MAX_ITERATIONS}; returns the best week seen.
+     * The first {@link #MIN_ITERATIONS} always run, so a slow start still yields a usable week.
+     */
+    private static Result search(Model m, SplittableRandom random, long deadline) {
+        Week week = new Week(m);
+        int[] bestItems = new int[SLOTS * MAX_ITEMS];
+        int[] bestCount = new int[SLOTS];
+        double best = Double.POSITIVE_INFINITY;
+        long iterations = 0;
+        int restarts = 0;
+        boolean timedOut = false;
+
+        search:
+        while (iterations < MAX_ITERATIONS) {
+            week.reset(random);
+            restarts++;
+            double temperature = T_START;
+            for (int i = 0; i < RESTART_ITERATIONS; i++, iterations++) {
+                if ((iterations & 255) == 0 && iterations >= MIN_ITERATIONS && System.nanoTime() > deadline) {
+                    timedOut = true;
+                    break search;
+                }
+                if (week.cost < best) {
+                    best = week.cost;
+                    System.arraycopy(week.items, 0, bestItems, 0, bestItems.length);
+                    System.arraycopy(week.count, 0, bestCount, 0, bestCount.length);
+                }
+                week.step(random, temperature);
+                temperature *= COOLING;
+            }
+        }
+        if (week.cost < best) {
+            best = week.cost;
+            System.arraycopy(week.items, 0, bestItems, 0, bestItems.length);
+            System.arraycopy(week.count, 0, bestCount, 0, bestCount.length);
+        }
+        return new Result(bestItems, bestCount, best, iterations, restarts, timedOut);
+    }
+
+    /** One worker's current week, with running day and meal sums so a move re-scores a single day. */
+    static final class Week {
+        final Model m;
+        final int[] items = new int[SLOTS * MAX_ITEMS];
+        final int[] count = new int[SLOTS];
+        final double[] mealKcal = new double[SLOTS];
+        final double[] dayKcal = new double[DAYS];
+        final double[] dayProtein = new double[DAYS];
+        final double[] dayCarbs = new double[DAYS];
+        final double[] dayFat = new double[DAYS];
+        final double[] dayCost = new double[DAYS];
+        final int[] uses;
+        double cost;
+
+        Week(Model m) {
+            this.m = m;
+            this.uses = new int[m.kcal.length];
+        }
+
+        /** A fresh random week of one or two foods per meal. */
+        void reset(SplittableRandom random) {
+            Arrays.fill(count, 0);
+            for (int s : m.slots) {
+                int n = 1 + random.nextInt(2);
+                for (int k = 0; k < n; k++) {
+                    int food = pick(s, random);
+                    if (food < 0) break;
+                    items[s * MAX_ITEMS + count[s]++] = food;
+                }
+            }
+            rescore();
+        }
+
+        /** Rebuilds the sums and the cost from the meals alone; {@link #step} keeps them current incrementally. */
+        double rescore() {
+            Arrays.fill(mealKcal, 0);
+            Arrays.fill(dayKcal, 0);
+            Arrays.fill(dayProtein, 0);
+            Arrays.fill(dayCarbs, 0);
+            Arrays.fill(dayFat, 0);
+            Arrays.fill(uses, 0);
+            for (int s = 0; s < SLOTS; s++) {
+                for (int k = 0; k < count[s]; k++) put(s, items[s * MAX_ITEMS + k], 1);
+            }
+            cost = 0;
+            for (int d = 0; d < DAYS; d++) {
+                dayCost[d] = dayCost(d);
+                cost += dayCost[d];
+            }
+            for (int food = 0; food < uses.length; food++) {
+                cost += W_REPEAT * repeats(uses[food]) + uses[food] * m.cost[food];
+            }
+            return cost;
+        }
+
+        /** Proposes adding, removing or swapping one food in one meal; keeps it by the Metropolis rule. */
+        void step(SplittableRandom random, double temperature) {
+            int s = m.slots[random.nextInt(m.slots.length)];
+            int base = s * MAX_ITEMS;
+            int n = count[s];
+            double r = random.nextDouble();
+            int added = -1;
+            int removed = -1;
+            int pos;
+            if (n < MAX_ITEMS && r < ADD_RATE) {
+                pos = n;
+                added = pick(s, random);
+                if (added < 0) return;
+            } else if (n > 1 && r < ADD_RATE + REMOVE_RATE) {
+                pos = random.nextInt(n);
+                removed = items[base + pos];
+            } else {
+                pos = random.nextInt(n);
+                removed = items[base + pos];
+                added = pick(s, random);
+                if (added < 0) return;
+            }
+
+            double delta = 0;
+            if (removed >= 0) {
+                put(s, removed, -1);
+                delta += W_REPEAT * (repeats(uses[removed]) - repeats(uses[removed] + 1)) - m.cost[removed];
+            }
+            if (added >= 0) {
+                put(s, added, 1);
+                delta += W_REPEAT * (repeats(uses[added]) - repeats(uses[added] - 1)) + m.cost[added];
+            }
+            int d = s / MEALS;
+            double day = dayCost(d);
+            delta += day - dayCost[d];
+
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                if (removed < 0) {
+                    items[base + n] = added;
+                    count[s]++;
+                } else if (added < 0) {
+                    items[base + pos] = items[base + n - 1];
+                    count[s]--;
+                } else {
+                    items[base + pos] = added;
+                }
+                dayCost[d] = day;
+                cost += delta;
+            } else {
+                if (added >= 0) put(s, added, -1);
+                if (removed >= 0) put(s, removed, 1);
+            }
+        }
+
+        /** A random food for the slot's meal type that the meal does not hold yet, or -1. */
+        private int pick(int s, SplittableRandom random) {
+            int[] pool = m.pool[s % MEALS];
+            int base = s * MAX_ITEMS;
+            for (int attempt = 0; attempt < 4; attempt++) {
+                int food = pool[random.nextInt(pool.length)];
+                boolean held = false;
+                for (int k = 0; k < count[s]; k++) held |= items[base + k] == food;
+                if (!held) return food;
+            }
+            return -1;
+        }
+
+        private void put(int s, int food, int sign) {
+            int d = s / MEALS;
+            mealKcal[s] += sign * m.kcal[food];
+            dayKcal[d] += sign * m.kcal[food];
+            dayProtein[d] += sign * m.protein[food];
+            dayCarbs[d] += sign * m.carbs[food];
+            dayFat[d] += sign * m.fat[food];
+            uses[food] += sign;
+        }
+
+        private double dayCost(int d) {
+            double calories = (dayKcal[d] - m.targetKcal) / m.targetKcal;
+            double protein = (dayProtein[d] - m.targetProtein) / m.targetProtein;
+            double carbs = (dayCarbs[d] - m.targetCarbs) / m.targetCarbs;
+            double fat = (dayFat[d] - m.targetFat) / m.targetFat;
+            double c = W_CALORIES * calories * calories + W_PROTEIN * protein * protein
+                    + W_CARBS * carbs * carbs + W_FAT * fat * fat;
+            for (int meal = 0; meal < MEALS; meal++) {
+                if (m.share[meal] == 0) continue;
+                double off = mealKcal[d * MEALS + meal] / m.targetKcal - m.share[meal];
+                c += W_SHARE * off * off;
+            }
+            return c;
+        }
+
+        private static double repeats(int uses) {
+            int extra = uses - FREE_USES;
+            return extra > 0 ? extra * extra : 0;
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static String key(FoodIndex.Food food) {
+        return FoodIndex.normalize(food.name()) + '|' + FoodIndex.normalize(food.portion());
+    }
+
+    private static NutritionTotalsResponse totals(double calories, double protein, double carbs, double fat) {
+        return NutritionTotalsResponse.builder()
+                .calories((int) Math.round(calories))
+                .proteinG(round(protein))
+                .carbsG(round(carbs))
+                .fatG(round(fat))
+                .build();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /** Item macros must be positive when the plan is submitted, so zeros are left out. */
+    private static Double positive(Double value) {
+        return value != null && value > 0 ? value : null;
+    }
+}
@@ -7,14 +7,17 @@ import com.optivita.exception.BadRequestException;
 import com.optivita.exception.ResourceNotFoundException;
 import com.optivita.repository.MealPlanRepository;
 import com.optivita.repository.UserRepository;
+import com.optivita.repository.projection.NutritionRow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,7 +28,10 @@ import java.util.UUID;
 public class MealPlanService {
 
     private final MealPlanRepository mealPlanRepository;
+    private final PlanGraphLoader planGraphLoader;
     private final UserRepository userRepository;
+    private final DailySummaryService dailySummaryService;
+    private final FoodCatalogService foodCatalogService;
 
     @Transactional
     public MealPlanResponse create(UUID userId, MealPlanRequest request) {
@@ -76,13 +82,16 @@ public class MealPlanService {
             }
         }
 
-        return mapToResponse(mealPlanRepository.save(plan));
+        NutritionRollup.apply(plan);
+        MealPlan saved = mealPlanRepository.save(plan);
+        dailySummaryService.refreshWeek(userId, saved.getWeekStartDate());
+        foodCatalogService.onItemsSaved(userId, items(saved));
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
     public List<MealPlanResponse> getAll(UUID userId) {
-        return mealPlanRepository.findByUserIdOrderByWeekStartDateDesc(userId)
-                .stream().map(this::mapToResponse).toList();
+        return planGraphLoader.mealPlans(mealPlanRepository.findByUserIdOrderByWeekStartDateDesc(userId));
     }
 
     @Transactional(readOnly = true)
@@ -101,7 +110,7 @@ public class MealPlanService {
         }
 
         return PageResponse.<MealPlanResponse>builder()
-                .content(result.getContent().stream().map(this::mapToResponse).toList())
+                .content(planGraphLoader.mealPlans(result.getContent()))
                 .page(result.getNumber())
                 .size(result.getSize())
                 .totalElements(result.getTotalElements())
@@ -115,53 +124,62 @@ public class MealPlanService {
     public MealPlanResponse getById(UUID userId, UUID planId) {
         MealPlan plan = mealPlanRepository.findByIdAndUserId(planId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
-        return mapToResponse(plan);
+        return planGraphLoader.mealPlan(plan);
     }
 
     @Transactional
     public MealPlanResponse update(UUID userId, UUID planId, MealPlanRequest request) {
         MealPlan plan = mealPlanRepository.findByIdAndUserId(planId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
+        if (request.getVersion() != null && !request.getVersion().equals(plan.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(MealPlan.class, planId);
+        }
 
-        // Clear and rebuild days
-        plan.getDays().clear();
-
-        if (request.getDays() != null) {
-            for (MealPlanDayRequest dayReq : request.getDays()) {
-                MealPlanDay day = MealPlanDay.builder()
-                        .mealPlan(plan)
-                        .dayOfWeek(dayReq.getDayOfWeek())
-                        .build();
-
-                if (dayReq.getMeals() != null) {
-                    for (MealRequest mealReq : dayReq.getMeals()) {
-                        Meal meal = Meal.builder()
-                                .mealPlanDay(day)
-                                .mealType(mealReq.getMealType())
-                                .build();
+        // Diff against the persisted tree so unchanged rows are left alone
+        PlanReconciler.reconcile(plan.getDays(), request.getDays(),
+                MealPlanDay::getDayOfWeek, MealPlanDayRequest::getDayOfWeek,
+                () -> MealPlanDay.builder().mealPlan(plan).build(),
+                this::applyDay);
+        NutritionRollup.apply(plan);
+
+        // Child rows carry no version; touching the plan bumps its @Version, so concurrent edits conflict
+        plan.setUpdatedAt(Instant.now());
+        MealPlan saved = mealPlanRepository.saveAndFlush(plan);
+        foodCatalogService.onItemsSaved(userId, items(saved));
+        return mapToResponse(saved);
+    }
 
-                        if (mealReq.getItems() != null) {
-                            for (MealItemRequest itemReq : mealReq.getItems()) {
-                                MealItem item = MealItem.builder()
-                                        .meal(meal)
-                                        .name(itemReq.getName())
-                                        .portion(itemReq.getPortion())
-                                        .calories(itemReq.getCalories())
-                                        .proteinG(itemReq.getProteinG())
-                                        .carbsG(itemReq.getCarbsG())
-                                        .fatG(itemReq.getFatG())
-                                        .build();
-                                meal.getItems().add(item);
-                            }
-                        }
-                        day.getMeals().add(meal);
-                    }
-                }
-                plan.getDays().add(day);
+    private static List<MealItem> items(MealPlan plan) {
+        List<MealItem> items = new ArrayList<>();
+        for (MealPlanDay day : plan.getDays()) {
+            for (Meal meal : day.getMeals()) {
+                items.addAll(meal.getItems());
             }
         }
+        return items;
+    }
+
+    private void applyDay(MealPlanDay day, MealPlanDayRequest dayReq) {
+        day.setDayOfWeek(dayReq.getDayOfWeek());
+        PlanReconciler.reconcile(day.getMeals(), dayReq.getMeals(),
+                Meal::getMealType, MealRequest::getMealType,
+                () -> Meal.builder().mealPlanDay(day).build(),
+                this::applyMeal);
+    }
 
-        return mapToResponse(mealPlanRepository.save(plan));
+    private void applyMeal(Meal meal, MealRequest mealReq) {
+        meal.setMealType(mealReq.getMealType());
+        PlanReconciler.reconcile(meal.getItems(), mealReq.getItems(),
+                MealItem::getName, MealItemRequest::getName,
+                () -> MealItem.builder().meal(meal).build(),
+                (item, itemReq) -> {
+                    item.setName(itemReq.getName());
+                    item.setPortion(itemReq.getPortion());
+                    item.setCalories(itemReq.getCalories());
+                    item.setProteinG(itemReq.getProteinG());
+                    item.setCarbsG(itemReq.getCarbsG());
+                    item.setFatG(itemReq.getFatG());
+                });
     }
 
     @Transactional
@@ -169,90 +187,96 @@ public class MealPlanService {
         MealPlan plan = mealPlanRepository.findByIdAndUserId(planId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
         mealPlanRepository.delete(plan);
+        dailySummaryService.refreshWeek(userId, plan.getWeekStartDate());
     }
 
     @Transactional
     public MealPlanResponse copyLastWeek(UUID userId, LocalDate newWeekStartDate) {
-        if (mealPlanRepository.findByUserIdAndWeekStartDate(userId, newWeekStartDate).isPresent()) {
-            throw new BadRequestException("Meal plan already exists for week starting: " + newWeekStartDate);
-        }
-
         MealPlan lastPlan = mealPlanRepository.findFirstByUserIdOrderByWeekStartDateDesc(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("No previous meal plan found to copy"));
+        return copyWeek(userId, lastPlan.getId(), newWeekStartDate);
+    }
 
-        User user = lastPlan.getUser();
-        MealPlan newPlan = MealPlan.builder()
-                .user(user)
-                .weekStartDate(newWeekStartDate)
-                .build();
+    /** Copies a plan to another week inside the database, see {@link MealPlanRepository#copyPlan}. */
+    @Transactional
+    public MealPlanResponse copyWeek(UUID userId, UUID sourcePlanId, LocalDate newWeekStartDate) {
+        requireFreeWeek(userId, newWeekStartDate);
+        UUID newId = UUID.randomUUID();
+        if (mealPlanRepository.copyPlan(sourcePlanId, userId, newId, newWeekStartDate) == 0) {
+            throw new ResourceNotFoundException("MealPlan", "id", sourcePlanId);
+        }
+        return loadCreated(userId, newId, newWeekStartDate);
+    }
+
+    @Transactional
+    public MealPlanResponse createFromTemplate(UUID userId, UUID templateId, LocalDate weekStartDate) {
+        requireFreeWeek(userId, weekStartDate);
+        UUID newId = UUID.randomUUID();
+        if (mealPlanRepository.createFromTemplate(templateId, userId, newId, weekStartDate) == 0) {
+            throw new ResourceNotFoundException("PlanTemplate", "id", templateId);
+        }
+        mealPlanRepository.refreshNutrition(List.of(newId));
+        return loadCreated(userId, newId, weekStartDate);
+    }
 
-        for (MealPlanDay srcDay : lastPlan.getDays()) {
-            MealPlanDay newDay = MealPlanDay.builder()
-                    .mealPlan(newPlan)
-                    .dayOfWeek(srcDay.getDayOfWeek())
-                    .build();
+    /**
+     * Planned calories and macros per day and per week from the stored rollups; plans stored
+     * before the rollups existed are backfilled first.
+     */
+    @Transactional
+    public MealPlanNutritionResponse getNutrition(UUID userId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        List<UUID> stale = mealPlanRepository.findIdsWithoutNutrition(userId);
+        if (!stale.isEmpty()) {
+            mealPlanRepository.refreshNutrition(stale);
+        }
 
-            for (Meal srcMeal : srcDay.getMeals()) {
-                Meal newMeal = Meal.builder()
-                        .mealPlanDay(newDay)
-                        .mealType(srcMeal.getMealType())
-                        .build();
+        LocalDate weekFrom = from.minusDays(6);
+        return MealPlanNutritionResponse.builder()
+                .from(from)
+                .to(to)
+                .days(mealPlanRepository.findDayNutrition(userId, weekFrom, from, to).stream()
+                        .map(this::mapNutritionRow).toList())
+                .weeks(mealPlanRepository.findWeekNutrition(userId, weekFrom, to).stream()
+                        .map(this::mapNutritionRow).toList())
+                .build();
+    }
 
-                for (MealItem srcItem : srcMeal.getItems()) {
-                    MealItem newItem = MealItem.builder()
-                            .meal(newMeal)
-                            .name(srcItem.getName())
-                            .portion(srcItem.getPortion())
-                            .calories(srcItem.getCalories())
-                            .proteinG(srcItem.getProteinG())
-                            .carbsG(srcItem.getCarbsG())
-                            .fatG(srcItem.getFatG())
-                            .build();
-                    newMeal.getItems().add(newItem);
-                }
-                newDay.getMeals().add(newMeal);
-            }
-            newPlan.getDays().add(newDay);
+    private MealPlanNutritionResponse.Point mapNutritionRow(NutritionRow row) {
+        return MealPlanNutritionResponse.Point.builder()
+                .date(row.getDate())
+                .totals(NutritionTotalsResponse.builder()
+                        .calories(row.getCalories())
+                        .proteinG(row.getProteinG())
+                        .carbsG(row.getCarbsG())
+                        .fatG(row.getFatG())
+                        .build())
+                .build();
+    }
+
+    private void requireFreeWeek(UUID userId, LocalDate weekStartDate) {
+        if (mealPlanRepository.findByUserIdAndWeekStartDate(userId, weekStartDate).isPresent()) {
+            throw new BadRequestException("Meal plan already exists for week starting: " + weekStartDate);
         }
+    }
 
-        return mapToResponse(mealPlanRepository.save(newPlan));
+    private MealPlanResponse loadCreated(UUID userId, UUID planId, LocalDate weekStartDate) {
+        dailySummaryService.refreshWeek(userId, weekStartDate);
+        MealPlan plan = mealPlanRepository.findById(planId)
+                .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
+        return planGraphLoader.mealPlan(plan);
     }
 
+    /** Maps a graph already in memory, e.g. one just built and saved; reads go through {@link PlanGraphLoader}. */
     private MealPlanResponse mapToResponse(MealPlan plan) {
-        List<MealPlanResponse.DayResponse> days = plan.getDays().stream().map(day -> {
-            List<MealPlanResponse.MealResponse> meals = day.getMeals().stream().map(meal -> {
-                List<MealPlanResponse.ItemResponse> items = meal.getItems().stream().map(item ->
-                        MealPlanResponse.ItemResponse.builder()
-                                .id(item.getId())
-                                .name(item.getName())
-                                .portion(item.getPortion())
-                                .calories(item.getCalories())
-                                .proteinG(item.getProteinG())
-                                .carbsG(item.getCarbsG())
-                                .fatG(item.getFatG())
-                                .build()
-                ).toList();
-
-                return MealPlanResponse.MealResponse.builder()
-                        .id(meal.getId())
-                        .mealType(meal.getMealType())
-                        .items(items)
-                        .build();
-            }).toList();
-
-            return MealPlanResponse.DayResponse.builder()
-                    .id(day.getId())
-                    .dayOfWeek(day.getDayOfWeek())
-                    .meals(meals)
-                    .build();
-        }).toList();
-
-        return MealPlanResponse.builder()
-                .id(plan.getId())
-                .weekStartDate(plan.getWeekStartDate())
-                .days(days)
-                .createdAt(plan.getCreatedAt())
-                .updatedAt(plan.getUpdatedAt())
-                .build();
+        List<MealPlanResponse.DayResponse> days = plan.getDays().stream()
+                .map(day -> PlanGraphLoader.mapDay(day, day.getMeals().stream()
+                        .map(meal -> PlanGraphLoader.mapMeal(meal, meal.getItems().stream()
+                                .map(PlanGraphLoader::mapItem).toList()))
+                        .toList()))
+                .toList();
+        return PlanGraphLoader.mapPlan(plan, days);
     }
 }
@@ -0,0 +1,96 @@
+package com.optivita.service;
+
+import com.optivita.dto.meal.MealPlanResponse;
+import com.optivita.dto.meal.NutritionTotalsResponse;
+import com.optivita.entity.*;
+
+import java.util.List;
+
+/**
+ * Maintains the {@link NutritionTotals} rollups of a meal plan graph held in memory, and maps
+ * them to responses. Missing item values count as zero; macros are kept to two decimals so the
+ * Java and SQL rollups agree.
+ */
+final class NutritionRollup {
+
+    private NutritionRollup() {
+    }
+
+    /** Recomputes meal, day and week totals bottom-up; unchanged totals stay clean for dirty checking. */
+    static void apply(MealPlan plan) {
+        Sum week = new Sum();
+        for (MealPlanDay day : plan.getDays()) {
+            Sum daySum = new Sum();
+            for (Meal meal : day.getMeals()) {
+                Sum mealSum = new Sum();
+                for (MealItem item : meal.getItems()) {
+                    mealSum.add(item.getCalories(), item.getProteinG(), item.getCarbsG(), item.getFatG());
+                }
+                meal.setNutrition(mealSum.toTotals());
+                daySum.add(mealSum);
+            }
+            day.setNutrition(daySum.toTotals());
+            week.add(daySum);
+        }
+        plan.setNutrition(week.toTotals());
+    }
+
+    static NutritionTotalsResponse toResponse(NutritionTotals totals) {
+        return NutritionTotalsResponse.builder()
+                .calories(totals.getCalories())
+                .proteinG(totals.getProteinG())
+                .carbsG(totals.getCarbsG())
+                .fatG(totals.getFatG())
+                .build();
+    }
+
+    /** Stored totals when present, otherwise summed from the mapped items (rows not yet backfilled). */
+    static NutritionTotalsResponse ofMeal(NutritionTotals stored, List<MealPlanResponse.ItemResponse> items) {
+        if (isStored(stored)) return toResponse(stored);
+        Sum sum = new Sum();
+        for (MealPlanResponse.ItemResponse item : items) {
+            sum.add(item.getCalories(), item.getProteinG(), item.getCarbsG(), item.getFatG());
+        }
+        return toResponse(sum.toTotals());
+    }
+
+    /** Stored totals when present, otherwise summed from the children's totals. */
+    static NutritionTotalsResponse ofChildren(NutritionTotals stored, List<NutritionTotalsResponse> children) {
+        if (isStored(stored)) return toResponse(stored);
+        Sum sum = new Sum();
+        for (NutritionTotalsResponse child : children) {
+            sum.add(child.getCalories(), child.getProteinG(), child.getCarbsG(), child.getFatG());
+        }
+        return toResponse(sum.toTotals());
+    }
+
+    private static boolean isStored(NutritionTotals totals) {
+        return totals != null && totals.getCalories() != null;
+    }
+
+    private static final class Sum {
+        private int calories;
+        private double proteinG;
+        private double carbsG;
+        private double fatG;
+
+        void add(Integer calories, Double proteinG, Double carbsG, Double fatG) {
+            if (calories != null) this.calories += calories;
+            if (proteinG != null) this.proteinG += proteinG;
+            if (carbsG != null) this.carbsG += carbsG;
+            if (fatG != null) this.fatG += fatG;
+        }
+
+        void add(Sum other) {
+            add(other.calories, other.proteinG, other.carbsG, other.fatG);
+        }
+
+        NutritionTotals toTotals() {
+            return new NutritionTotals(calories, round(proteinG), round(carbsG), round(fatG));
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+}
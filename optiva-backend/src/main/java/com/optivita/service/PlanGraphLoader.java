@@ -0,0 +1,199 @@
+package com.optivita.service;
+
+import com.optivita.dto.meal.MealPlanResponse;
+import com.optivita.dto.workout.WorkoutPlanResponse;
+import com.optivita.entity.*;
+import com.optivita.repository.MealPlanRepository;
+import com.optivita.repository.WorkoutPlanRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Maps pages of meal and workout plans to their responses with one query per tree level
+ * (days, then meals or sessions, then items or exercises) instead of walking the lazy
+ * collections plan by plan. Children are grouped by parent id and the DTOs are assembled
+ * in memory, so a page costs the same number of queries whatever its size.
+ * <p>
+ * Must be called inside a transaction; the parent links are only read for their ids.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanGraphLoader {
+
+    /** Keeps IN lists well below driver bind-parameter limits. */
+    private static final int IN_BATCH = 1000;
+
+    private final MealPlanRepository mealPlanRepository;
+    private final WorkoutPlanRepository workoutPlanRepository;
+
+    // ── Meal plans ───────────────────────────────────────────────────────────
+
+    public List<MealPlanResponse> mealPlans(List<MealPlan> plans) {
+        if (plans.isEmpty()) return List.of();
+
+        List<MealPlanDay> days = inBatches(ids(plans, MealPlan::getId), mealPlanRepository::findDaysByPlanIds);
+        List<Meal> meals = inBatches(ids(days, MealPlanDay::getId), mealPlanRepository::findMealsByDayIds);
+        List<MealItem> items = inBatches(ids(meals, Meal::getId), mealPlanRepository::findItemsByMealIds);
+
+        Map<UUID, List<MealPlanResponse.ItemResponse>> itemsByMeal = new HashMap<>();
+        for (MealItem item : items) {
+            itemsByMeal.computeIfAbsent(item.getMeal().getId(), k -> new ArrayList<>()).add(mapItem(item));
+        }
+        Map<UUID, List<MealPlanResponse.MealResponse>> mealsByDay = new HashMap<>();
+        for (Meal meal : meals) {
+            mealsByDay.computeIfAbsent(meal.getMealPlanDay().getId(), k -> new ArrayList<>())
+                    .add(mapMeal(meal, itemsByMeal.getOrDefault(meal.getId(), List.of())));
+        }
+        Map<UUID, List<MealPlanResponse.DayResponse>> daysByPlan = new HashMap<>();
+        for (MealPlanDay day : days) {
+            daysByPlan.computeIfAbsent(day.getMealPlan().getId(), k -> new ArrayList<>())
+                    .add(mapDay(day, mealsByDay.getOrDefault(day.getId(), List.of())));
+        }
+
+        return plans.stream()
+                .map(plan -> mapPlan(plan, daysByPlan.getOrDefault(plan.getId(), List.of())))
+                .toList();
+    }
+
+    public MealPlanResponse mealPlan(MealPlan plan) {
+        return mealPlans(List.of(plan)).get(0);
+    }
+
+    static MealPlanResponse.ItemResponse mapItem(MealItem item) {
+        return MealPlanResponse.ItemResponse.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .portion(item.getPortion())
+                .calories(item.getCalories())
+                .proteinG(item.getProteinG())
+                .carbsG(item.getCarbsG())
+                .fatG(item.getFatG())
+                .build();
+    }
+
+    static MealPlanResponse.MealResponse mapMeal(Meal meal, List<MealPlanResponse.ItemResponse> items) {
+        return MealPlanResponse.MealResponse.builder()
+                .id(meal.getId())
+                .mealType(meal.getMealType())
+                .items(items)
+                .totals(NutritionRollup.ofMeal(meal.getNutrition(), items))
+                .build();
+    }
+
+    static MealPlanResponse.DayResponse mapDay(MealPlanDay day, List<MealPlanResponse.MealResponse> meals) {
+        return MealPlanResponse.DayResponse.builder()
+                .id(day.getId())
+                .dayOfWeek(day.getDayOfWeek())
+                .meals(meals)
+                .totals(NutritionRollup.ofChildren(day.getNutrition(),
+                        meals.stream().map(MealPlanResponse.MealResponse::getTotals).toList()))
+                .build();
+    }
+
+    static MealPlanResponse mapPlan(MealPlan plan, List<MealPlanResponse.DayResponse> days) {
+        return MealPlanResponse.builder()
+                .id(plan.getId())
+                .weekStartDate(plan.getWeekStartDate())
+                .days(days)
+                .totals(NutritionRollup.ofChildren(plan.getNutrition(),
+                        days.stream().map(MealPlanResponse.DayResponse::getTotals).toList()))
+                .createdAt(plan.getCreatedAt())
+                .updatedAt(plan.getUpdatedAt())
+                .version(plan.getVersion())
+                .build();
+    }
+
+    // ── Workout plans ────────────────────────────────────────────────────────
+
+    public List<WorkoutPlanResponse> workoutPlans(List<WorkoutPlan> plans) {
+        if (plans.isEmpty()) return List.of();
+
+        List<WorkoutPlanDay> days = inBatches(ids(plans, WorkoutPlan::getId), workoutPlanRepository::findDaysByPlanIds);
+        List<WorkoutSession> sessions = inBatches(ids(days, WorkoutPlanDay::getId), workoutPlanRepository::findSessionsByDayIds);
+        List<Exercise> exercises = inBatches(ids(sessions, WorkoutSession::getId), workoutPlanRepository::findExercisesBySessionIds);
+
+        Map<UUID, List<WorkoutPlanResponse.ExerciseResponse>> exercisesBySession = new HashMap<>();
+        for (Exercise ex : exercises) {
+            exercisesBySession.computeIfAbsent(ex.getWorkoutSession().getId(), k -> new ArrayList<>()).add(mapExercise(ex));
+        }
+        Map<UUID, List<WorkoutPlanResponse.SessionResponse>> sessionsByDay = new HashMap<>();
+        for (WorkoutSession session : sessions) {
+            sessionsByDay.computeIfAbsent(session.getWorkoutPlanDay().getId(), k -> new ArrayList<>())
+                    .add(mapSession(session, exercisesBySession.getOrDefault(session.getId(), List.of())));
+        }
+        Map<UUID, List<WorkoutPlanResponse.DayResponse>> daysByPlan = new HashMap<>();
+        for (WorkoutPlanDay day : days) {
+            daysByPlan.computeIfAbsent(day.getWorkoutPlan().getId(), k -> new ArrayList<>())
+                    .add(mapDay(day, sessionsByDay.getOrDefault(day.getId(), List.of())));
+        }
+
+        return plans.stream()
+                .map(plan -> mapPlan(plan, daysByPlan.getOrDefault(plan.getId(), List.of())))
+                .toList();
+    }
+
+    public WorkoutPlanResponse workoutPlan(WorkoutPlan plan) {
+        return workoutPlans(List.of(plan)).get(0);
+    }
+
+    static WorkoutPlanResponse.ExerciseResponse mapExercise(Exercise ex) {
+        return WorkoutPlanResponse.ExerciseResponse.builder()
+                .id(ex.getId())
+                .name(ex.getName())
+                .sets(ex.getSets())
+                .reps(ex.getReps())
+                .duration(ex.getDuration())
+                .weight(ex.getWeight())
+                .orderIndex(ex.getOrderIndex())
+                .build();
+    }
+
+    static WorkoutPlanResponse.SessionResponse mapSession(WorkoutSession session,
+                                                          List<WorkoutPlanResponse.ExerciseResponse> exercises) {
+        return WorkoutPlanResponse.SessionResponse.builder()
+                .id(session.getId())
+                .name(session.getName())
+                .orderIndex(session.getOrderIndex())
+                .exercises(exercises)
+                .build();
+    }
+
+    static WorkoutPlanResponse.DayResponse mapDay(WorkoutPlanDay day, List<WorkoutPlanResponse.SessionResponse> sessions) {
+        return WorkoutPlanResponse.DayResponse.builder()
+                .id(day.getId())
+                .dayOfWeek(day.getDayOfWeek())
+                .sessions(sessions)
+                .build();
+    }
+
+    static WorkoutPlanResponse mapPlan(WorkoutPlan plan, List<WorkoutPlanResponse.DayResponse> days) {
+        return WorkoutPlanResponse.builder()
+                .id(plan.getId())
+                .weekStartDate(plan.getWeekStartDate())
+                .days(days)
+                .createdAt(plan.getCreatedAt())
+                .updatedAt(plan.getUpdatedAt())
+                .version(plan.getVersion())
+                .build();
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static <T> List<UUID> ids(List<T> rows, Function<T, UUID> id) {
+        return rows.stream().map(id).toList();
+    }
+
+    /** Runs the level query over the ids in chunks of {@link #IN_BATCH}, keeping each chunk's order. */
+    private static <T> List<T> inBatches(List<UUID> ids, Function<List<UUID>, List<T>> query) {
+        if (ids.isEmpty()) return List.of();
+        if (ids.size() <= IN_BATCH) return query.apply(ids);
+        List<T> rows = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_BATCH) {
+            rows.addAll(query.apply(ids.subList(from, Math.min(from + IN_BATCH, ids.size()))));
+        }
+        return rows;
+    }
+}
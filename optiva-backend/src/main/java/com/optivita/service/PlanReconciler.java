@@ -0,0 +1,66 @@
+package com.optivita.service;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Diffs one level of a persisted plan tree against the requested children so that an update
+ * only writes the rows that actually changed. Requested children are first matched to persisted
+ * ones by a stable key (day number, meal type, name); whatever remains on both sides is paired
+ * in order and updated in place. Only the surplus is inserted or, through orphan removal, deleted.
+ */
+final class PlanReconciler {
+
+    private PlanReconciler() {
+    }
+
+    /**
+     * Reconciles {@code persisted} in place with {@code requested}. After the call the collection
+     * holds the matched or new children in request order. {@code create} builds an empty child
+     * linked to the parent for a request without a counterpart; {@code apply} then copies the
+     * request onto every child, and Hibernate's dirty checking skips values that did not change.
+     */
+    static <E, R, K> void reconcile(List<E> persisted, List<R> requested,
+                                    Function<E, K> persistedKey, Function<R, K> requestedKey,
+                                    Supplier<E> create, BiConsumer<E, R> apply) {
+        List<R> requests = requested != null ? requested : List.of();
+
+        Map<K, Deque<E>> byKey = new HashMap<>();
+        for (E child : persisted) {
+            byKey.computeIfAbsent(persistedKey.apply(child), k -> new ArrayDeque<>()).add(child);
+        }
+
+        // Pass 1: same key
+        List<E> matched = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Set<E> taken = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < requests.size(); i++) {
+            Deque<E> candidates = byKey.get(requestedKey.apply(requests.get(i)));
+            if (candidates != null && !candidates.isEmpty()) {
+                E child = candidates.poll();
+                matched.set(i, child);
+                taken.add(child);
+            }
+        }
+
+        // Pass 2: reuse leftover rows in order before inserting or deleting any
+        Iterator<E> leftovers = persisted.stream().filter(child -> !taken.contains(child)).toList().iterator();
+        List<E> result = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            R request = requests.get(i);
+            E child = matched.get(i);
+            if (child == null && leftovers.hasNext()) {
+                child = leftovers.next();
+            }
+            if (child == null) {
+                child = create.get();
+            }
+            apply.accept(child, request);
+            result.add(child);
+        }
+
+        persisted.clear();
+        persisted.addAll(result);
+    }
+}
@@ -0,0 +1,71 @@
+package com.optivita.service;
+
+import com.optivita.dto.template.PlanTemplateResponse;
+import com.optivita.entity.PlanTemplate;
+import com.optivita.entity.enums.PlanKind;
+import com.optivita.exception.ResourceNotFoundException;
+import com.optivita.repository.PlanTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Saves meal and workout plans as reusable templates. Snapshots are taken in SQL, so a plan's
+ * tree never passes through the JVM; applying a template lives with the plan services.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlanTemplateService {
+
+    private final PlanTemplateRepository planTemplateRepository;
+
+    @Transactional
+    public PlanTemplateResponse saveMealPlan(UUID userId, UUID planId, String name) {
+        UUID templateId = UUID.randomUUID();
+        if (planTemplateRepository.saveMealPlan(templateId, userId, planId, name.trim()) == 0) {
+            throw new ResourceNotFoundException("MealPlan", "id", planId);
+        }
+        return get(userId, templateId, PlanKind.MEAL);
+    }
+
+    @Transactional
+    public PlanTemplateResponse saveWorkoutPlan(UUID userId, UUID planId, String name) {
+        UUID templateId = UUID.randomUUID();
+        if (planTemplateRepository.saveWorkoutPlan(templateId, userId, planId, name.trim()) == 0) {
+            throw new ResourceNotFoundException("WorkoutPlan", "id", planId);
+        }
+        return get(userId, templateId, PlanKind.WORKOUT);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlanTemplateResponse> getAll(UUID userId, PlanKind kind) {
+        return planTemplateRepository.findByUserIdAndKindOrderByCreatedAtDesc(userId, kind)
+                .stream().map(this::mapToResponse).toList();
+    }
+
+    @Transactional
+    public void delete(UUID userId, UUID templateId, PlanKind kind) {
+        PlanTemplate template = planTemplateRepository.findByIdAndUserIdAndKind(templateId, userId, kind)
+                .orElseThrow(() -> new ResourceNotFoundException("PlanTemplate", "id", templateId));
+        planTemplateRepository.delete(template);
+    }
+
+    private PlanTemplateResponse get(UUID userId, UUID templateId, PlanKind kind) {
+        return planTemplateRepository.findByIdAndUserIdAndKind(templateId, userId, kind)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("PlanTemplate", "id", templateId));
+    }
+
+    private PlanTemplateResponse mapToResponse(PlanTemplate template) {
+        return PlanTemplateResponse.builder()
+                .id(template.getId())
+                .kind(template.getKind())
+                .name(template.getName())
+                .dayCount(template.getDayCount())
+                .createdAt(template.getCreatedAt())
+                .build();
+    }
+}
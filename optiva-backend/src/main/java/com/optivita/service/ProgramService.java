@@ -10,12 +10,16 @@ import com.optivita.repository.ProgressEntryRepository;
 import com.optivita.repository.ProgramRepository;
 import com.optivita.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +31,10 @@ public class ProgramService {
     private final CheckpointRepository checkpointRepository;
     private final ProgressEntryRepository progressEntryRepository;
     private final UserRepository userRepository;
+    private final CheckpointEvaluationCache evaluationCache;
+
+    @Value("${app.checkpoint.evaluation-window:4}")
+    private int evaluationWindow;
 
     // â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•
     // PROGRAM CRUD
@@ -47,7 +55,7 @@ public class ProgramService {
                 .notes(request.getNotes())
                 .build();
 
-        program = programRepository.save(program);
+        // One persist cascades to the milestones, flushed as batched inserts
         buildMilestoneCheckpoints(program, start);
         program = programRepository.save(program);
         return mapToResponse(program);
@@ -61,9 +69,30 @@ public class ProgramService {
                 .toList();
     }
 
+    /** Program list without checkpoints; counts and the next checkpoint are computed in one query. */
+    @Transactional(readOnly = true)
+    public List<ProgramSummaryResponse> getSummariesByUser(UUID userId) {
+        return programRepository.findSummariesByUserId(userId).stream()
+                .map(row -> ProgramSummaryResponse.builder()
+                        .id(row.getId())
+                        .startDate(row.getStartDate())
+                        .endDate(row.getEndDate())
+                        .notes(row.getNotes())
+                        .createdAt(row.getCreatedAt())
+                        .checkpointCount(row.getCheckpointCount())
+                        .achievedCount(row.getAchievedCount())
+                        .missedCount(row.getMissedCount())
+                        .nextCheckpointDate(row.getNextCheckpointDate())
+                        .nextCheckpointTitle(row.getNextCheckpointTitle())
+                        .nextCheckpointStatus(row.getNextCheckpointStatus() != null
+                                ? CheckpointStatus.valueOf(row.getNextCheckpointStatus()) : null)
+                        .build())
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public ProgramResponse getById(UUID userId, UUID programId) {
-        Program program = programRepository.findByIdAndUserId(programId, userId)
+        Program program = programRepository.findWithCheckpointsByIdAndUserId(programId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
         return mapToResponse(program);
     }
@@ -107,7 +136,11 @@ public class ProgramService {
         if (request.getFocusTags() != null)       checkpoint.setFocusTags(request.getFocusTags());
         if (request.getTargetWeightKg() != null)  checkpoint.setTargetWeightKg(request.getTargetWeightKg());
         if (request.getNotes() != null)           checkpoint.setNotes(request.getNotes());
-        if (request.getTargetMetrics() != null)   checkpoint.setTargetMetrics(mapToTargetMetrics(request.getTargetMetrics()));
+        if (request.getTargetMetrics() != null) {
+            checkpoint.setTargetMetrics(mapToTargetMetrics(request.getTargetMetrics()));
+            checkpoint.setEvaluation(null); // scored against the old targets; the engine re-evaluates it
+        }
+        evaluationCache.invalidateProgram(programId);
 
         return mapCheckpointToResponse(checkpointRepository.save(checkpoint));
     }
@@ -125,10 +158,9 @@ public class ProgramService {
                 .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
 
         program.getCheckpoints().clear();
-        programRepository.save(program);
-
         buildMilestoneCheckpoints(program, program.getStartDate());
         program = programRepository.save(program);
+        evaluationCache.invalidateProgram(programId);
 
         return program.getCheckpoints().stream()
                 .map(this::mapCheckpointToResponse)
@@ -140,8 +172,8 @@ public class ProgramService {
     // â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•
 
     /**
-     * Evaluates a checkpoint by analysing the last 2â€“4 ProgressEntry records
-     * recorded before the checkpoint date.
+     * Evaluates a checkpoint by analysing the last {@code app.checkpoint.evaluation-window}
+     * (default 4) ProgressEntry records recorded before the checkpoint date.
      *
      * <p>Scoring: for each metric that has a target, a "met" flag is set.
      * Overall status:</p>
@@ -151,6 +183,9 @@ public class ProgramService {
      *   <li>ON_TRACK â€“ â‰¥ 60 % of tracked metrics met</li>
      *   <li>BEHIND   â€“ &lt; 60 % of tracked metrics met</li>
      * </ul>
+     *
+     * <p>Results are served from {@link CheckpointEvaluationCache} until the checkpoint or the
+     * program's progress entries change.</p>
      */
     @Transactional(readOnly = true)
     public CheckpointEvaluationResponse evaluateCheckpoint(UUID userId, UUID programId, UUID checkpointId) {
@@ -160,8 +195,12 @@ public class ProgramService {
         Checkpoint cp = checkpointRepository.findByIdAndProgramId(checkpointId, program.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Checkpoint", "id", checkpointId));
 
-        List<ProgressEntry> recent = progressEntryRepository
-                .findTop4ByProgramIdAndDateBeforeOrderByDateDesc(programId, cp.getCheckpointDate());
+        CheckpointEvaluationCache.Key key = evaluationCache.keyFor(programId, cp);
+        CheckpointEvaluationResponse cached = evaluationCache.get(key);
+        if (cached != null && cached.getEntriesAnalyzed() > 0) return cached;
+
+        List<ProgressEntry> recent = new ArrayList<>(progressEntryRepository
+                .findByProgramIdAndDateBeforeOrderByDateDesc(programId, cp.getCheckpointDate(), Limit.of(evaluationWindow)));
 
         if (recent.isEmpty()) {
             throw new BadRequestException(
@@ -169,17 +208,112 @@ public class ProgramService {
                     + ". Log at least one progress entry to evaluate this checkpoint.");
         }
 
+        Collections.reverse(recent);
+        CheckpointEvaluationResponse result = score(cp, ProgressWindows.of(recent).window(0, recent.size()));
+        evaluationCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Evaluates every checkpoint of the program in one pass: the progress entries are loaded
+     * once, and each checkpoint's window is found by binary search and summarised from
+     * prefix sums. Checkpoints with no earlier entries come back without a status. The entries
+     * are only loaded when some checkpoint misses the evaluation cache.
+     */
+    @Transactional(readOnly = true)
+    public List<CheckpointEvaluationResponse> evaluateProgram(UUID userId, UUID programId) {
+        Program program = programRepository.findByIdAndUserId(programId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
+
+        ProgressWindows windows = null;
+        List<CheckpointEvaluationResponse> results = new ArrayList<>(program.getCheckpoints().size());
+        for (Checkpoint cp : program.getCheckpoints()) {
+            CheckpointEvaluationCache.Key key = evaluationCache.keyFor(programId, cp);
+            CheckpointEvaluationResponse result = evaluationCache.get(key);
+            if (result == null) {
+                if (windows == null) {
+                    windows = ProgressWindows.of(progressEntryRepository.findByProgramIdOrderByDateAsc(programId));
+                }
+                result = evaluateWithin(cp, windows);
+                evaluationCache.put(key, result);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    public EvaluationCacheStatsResponse getEvaluationCacheStats() {
+        return evaluationCache.stats();
+    }
+
+    /**
+     * Re-evaluates the program's UPCOMING checkpoints dated on or before horizon from one load
+     * of its progress entries and stores the results on the checkpoints. A checkpoint whose date
+     * is before today is closed as well: ACHIEVED when AHEAD or ON_TRACK, MISSED when BEHIND.
+     * Without any earlier progress entry it stays UPCOMING. Called by the scheduled
+     * {@link CheckpointStatusJob}.
+     *
+     * @return the number of checkpoints evaluated
+     */
+    @Transactional
+    public int refreshCheckpointEvaluations(UUID programId, LocalDate today, LocalDate horizon) {
+        Program program = programRepository.findById(programId).orElse(null);
+        if (program == null) return 0; // deleted after the job listed it
+
+        ProgressWindows windows = null;
+        int evaluated = 0;
+        for (Checkpoint cp : program.getCheckpoints()) {
+            if (cp.getStatus() != CheckpointStatus.UPCOMING || cp.getCheckpointDate().isAfter(horizon)) continue;
+            if (windows == null) {
+                windows = ProgressWindows.of(progressEntryRepository.findByProgramIdOrderByDateAsc(programId));
+            }
+
+            CheckpointEvaluationResponse result = evaluateWithin(cp, windows);
+            cp.setEvaluation(CheckpointEvaluation.builder()
+                    .status(result.getStatus())
+                    .summary(result.getSummary())
+                    .entriesAnalyzed(result.getEntriesAnalyzed())
+                    .avgWeightChangeKg(result.getAvgWeightChangeKg())
+                    .avgWaistChangeCm(result.getAvgWaistChangeCm())
+                    .avgWorkoutsPerWeek(result.getAvgWorkoutsPerWeek())
+                    .avgStepsAvg(result.getAvgStepsAvg())
+                    .avgDietCompliance(result.getAvgDietCompliance())
+                    .evaluatedAt(result.getEvaluatedAt())
+                    .build());
+            if (result.getStatus() != null && cp.getCheckpointDate().isBefore(today)) {
+                cp.setStatus(result.getStatus() == EvaluationStatus.BEHIND
+                        ? CheckpointStatus.MISSED : CheckpointStatus.ACHIEVED);
+            }
+            evaluated++;
+        }
+        return evaluated;
+    }
+
+    /** Evaluates cp against the window of entries preceding it; without any, returns a result with no status. */
+    private CheckpointEvaluationResponse evaluateWithin(Checkpoint cp, ProgressWindows windows) {
+        int end = windows.endBefore(cp.getCheckpointDate());
+        if (end == 0) {
+            return CheckpointEvaluationResponse.builder()
+                    .checkpointId(cp.getId())
+                    .checkpointTitle(cp.getTitle())
+                    .checkpointDate(cp.getCheckpointDate())
+                    .summary("No progress entries before this checkpoint date yet.")
+                    .entriesAnalyzed(0)
+                    .evaluatedAt(Instant.now())
+                    .build();
+        }
+        return score(cp, windows.window(Math.max(0, end - evaluationWindow), end));
+    }
+
+    /** Scores a checkpoint's targets against the metrics of its evaluation window. */
+    private CheckpointEvaluationResponse score(Checkpoint cp, ProgressWindows.Window window) {
         TargetMetrics targets = cp.getTargetMetrics();
 
-        double avgWeightChange  = averageWeightChange(recent);
-        double avgWaistChange   = averageWaistChange(recent);
-        double avgWorkoutsPerWk = averageWorkoutsPerWeek(recent);
-        double avgSteps         = recent.stream()
-                .filter(e -> e.getStepsAvg() != null)
-                .mapToInt(ProgressEntry::getStepsAvg).average().orElse(0);
-        double avgDietCompliance = recent.stream()
-                .filter(e -> e.getDietComplianceScore() != null)
-                .mapToInt(ProgressEntry::getDietComplianceScore).average().orElse(0);
+        double avgWeightChange   = window.weightChange();
+        double avgWaistChange    = window.waistChange();
+        double avgWorkoutsPerWk  = window.avgWorkouts();
+        double avgSteps          = window.avgSteps();
+        double avgDietCompliance = window.avgDietCompliance();
 
         int totalMetrics = 0;
         int metMetrics   = 0;
@@ -257,7 +391,7 @@ public class ProgramService {
                 .checkpointDate(cp.getCheckpointDate())
                 .status(overallStatus)
                 .summary(summary)
-                .entriesAnalyzed(recent.size())
+                .entriesAnalyzed(window.entries())
                 .avgWeightChangeKg(round2(avgWeightChange))
                 .targetWeightChangeKg(targets != null ? targets.getTargetWeightChangeKg() : null)
                 .avgWaistChangeCm(round2(avgWaistChange))
@@ -268,6 +402,7 @@ public class ProgramService {
                 .targetStepsAverage(targets != null ? targets.getStepsAverage() : null)
                 .avgDietCompliance(round2(avgDietCompliance))
                 .targetDietCompliance(targets != null ? targets.getDietComplianceTarget() : null)
+                .evaluatedAt(Instant.now())
                 .build();
     }
 
@@ -292,7 +427,9 @@ public class ProgramService {
                 .photos(photosToString(request.getPhotos()))
                 .build();
 
-        return mapProgressToResponse(progressEntryRepository.save(entry));
+        ProgressEntry saved = progressEntryRepository.save(entry);
+        evaluationCache.invalidateProgram(programId);
+        return mapProgressToResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -317,6 +454,7 @@ public class ProgramService {
                 .orElseThrow(() -> new ResourceNotFoundException("ProgressEntry", "id", entryId));
 
         progressEntryRepository.delete(entry);
+        evaluationCache.invalidateProgram(programId);
     }
 
     // â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•
@@ -430,11 +568,37 @@ public class ProgramService {
                 .checkpointDate(cp.getCheckpointDate())
                 .title(cp.getTitle())
                 .phase(cp.getPhase())
-                .focusTags(cp.getFocusTags())
+                .focusTags(new ArrayList<>(cp.getFocusTags())) // copied while the lazy collection is attached
                 .targetMetrics(mapFromTargetMetrics(cp.getTargetMetrics()))
                 .targetWeightKg(cp.getTargetWeightKg())
                 .notes(cp.getNotes())
                 .status(cp.getStatus())
+                .evaluation(mapStoredEvaluation(cp))
+                .build();
+    }
+
+    private CheckpointEvaluationResponse mapStoredEvaluation(Checkpoint cp) {
+        CheckpointEvaluation e = cp.getEvaluation();
+        if (e == null || e.getEvaluatedAt() == null) return null;
+        TargetMetrics targets = cp.getTargetMetrics();
+        return CheckpointEvaluationResponse.builder()
+                .checkpointId(cp.getId())
+                .checkpointTitle(cp.getTitle())
+                .checkpointDate(cp.getCheckpointDate())
+                .status(e.getStatus())
+                .summary(e.getSummary())
+                .entriesAnalyzed(e.getEntriesAnalyzed() != null ? e.getEntriesAnalyzed() : 0)
+                .avgWeightChangeKg(e.getAvgWeightChangeKg())
+                .targetWeightChangeKg(targets != null ? targets.getTargetWeightChangeKg() : null)
+                .avgWaistChangeCm(e.getAvgWaistChangeCm())
+                .targetWaistChangeCm(targets != null ? targets.getTargetWaistChangeCm() : null)
+                .avgWorkoutsPerWeek(e.getAvgWorkoutsPerWeek())
+                .targetTrainingDaysPerWeek(targets != null ? targets.getTrainingDaysPerWeek() : null)
+                .avgStepsAvg(e.getAvgStepsAvg())
+                .targetStepsAverage(targets != null ? targets.getStepsAverage() : null)
+                .avgDietCompliance(e.getAvgDietCompliance())
+                .targetDietCompliance(targets != null ? targets.getDietComplianceTarget() : null)
+                .evaluatedAt(e.getEvaluatedAt())
                 .build();
     }
 
@@ -481,33 +645,6 @@ public class ProgramService {
     // PRIVATE â€” ANALYTICS HELPERS
     // â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•
 
-    /** Weight change = newest weight - oldest weight (within the window). */
-    private double averageWeightChange(List<ProgressEntry> entries) {
-        List<ProgressEntry> withWeight = entries.stream()
-                .filter(e -> e.getWeightKg() != null).toList();
-        if (withWeight.size() < 2) return 0.0;
-        double oldest = withWeight.get(withWeight.size() - 1).getWeightKg();
-        double newest = withWeight.get(0).getWeightKg();
-        return newest - oldest;
-    }
-
-    private double averageWaistChange(List<ProgressEntry> entries) {
-        List<ProgressEntry> withWaist = entries.stream()
-                .filter(e -> e.getWaistCm() != null).toList();
-        if (withWaist.size() < 2) return 0.0;
-        double oldest = withWaist.get(withWaist.size() - 1).getWaistCm();
-        double newest = withWaist.get(0).getWaistCm();
-        return newest - oldest;
-    }
-
-    /** Returns average workouts per entry (each entry ~1 week). */
-    private double averageWorkoutsPerWeek(List<ProgressEntry> entries) {
-        List<ProgressEntry> with = entries.stream()
-                .filter(e -> e.getWorkoutsCompleted() != null).toList();
-        if (with.isEmpty()) return 0.0;
-        return with.stream().mapToInt(ProgressEntry::getWorkoutsCompleted).average().orElse(0);
-    }
-
     private double round2(double val) {
         return Math.round(val * 100.0) / 100.0;
     }
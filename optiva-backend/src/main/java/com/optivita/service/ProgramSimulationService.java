@@ -0,0 +1,569 @@
+package com.optivita.service;
+
+import com.optivita.dto.program.ProgramSimulationResponse;
+import com.optivita.entity.Checkpoint;
+import com.optivita.entity.ProgressEntry;
+import com.optivita.entity.TargetMetrics;
+import com.optivita.entity.enums.CheckpointStatus;
+import com.optivita.exception.BadRequestException;
+import com.optivita.exception.ResourceNotFoundException;
+import com.optivita.repository.CheckpointRepository;
+import com.optivita.repository.ProgramRepository;
+import com.optivita.repository.ProgressEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Forecasts how a program's upcoming checkpoints will evaluate by simulating the progress
+ * entries the user has yet to log. Each trajectory logs an entry every fitted interval until
+ * the last checkpoint; at each checkpoint the last {@code app.checkpoint.evaluation-window}
+ * entries (real ones included) are scored exactly as {@link ProgramService} scores them.
+ *
+ * <p>Weight and waist follow random walks whose drift and volatility are fitted from recent
+ * history (weight entries first, program progress entries as fallback); workouts, steps and
+ * diet compliance are drawn around their recent mean. Trajectories run in batches on the
+ * compute pool with primitive ring buffers, so a step allocates nothing. Runs stop at the time
+ * budget and, in early-exit mode, as soon as every probability's standard error is within
+ * the tolerance.</p>
+ *
+ * <p>Not transactional: the inputs are read up front so no connection is held while simulating.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgramSimulationService {
+
+    static final int MAX_SIMULATIONS = 100_000;
+    private static final int MIN_FIT_POINTS = 3;
+    private static final int DEFAULT_INTERVAL_DAYS = 7;
+    private static final int MIN_CONVERGENCE_RUNS = 1_000;
+    private static final int ROUND_PER_WORKER = 500;
+
+    // Targets per checkpoint, NaN when unset
+    private static final int T_WEIGHT = 0, T_WAIST = 1, T_WORKOUTS = 2, T_STEPS = 3, T_DIET = 4, TARGETS = 5;
+    // Counters per checkpoint: one per target, then all met and ON_TRACK-or-better
+    private static final int ALL = 5, ON_TRACK = 6, SLOTS = 7;
+
+    private final ProgramRepository programRepository;
+    private final CheckpointRepository checkpointRepository;
+    private final ProgressEntryRepository progressEntryRepository;
+    private final WeightSeriesCache weightSeriesCache;
+    private final ForkJoinPool computePool;
+
+    @Value("${app.checkpoint.evaluation-window:4}")
+    private int evaluationWindow;
+
+    @Value("${app.simulation.history-days:90}")
+    private int historyDays;
+
+    @Value("${app.simulation.time-budget-ms:500}")
+    private long timeBudgetMs;
+
+    @Value("${app.simulation.tolerance:0.005}")
+    private double tolerance;
+
+    public ProgramSimulationResponse simulate(UUID userId, UUID programId, int simulations, boolean earlyExit) {
+        if (simulations < 1 || simulations > MAX_SIMULATIONS) {
+            throw new BadRequestException("simulations must be between 1 and " + MAX_SIMULATIONS);
+        }
+        long started = System.nanoTime();
+        long deadline = started + timeBudgetMs * 1_000_000L;
+
+        programRepository.findByIdAndUserId(programId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
+
+        LocalDate today = LocalDate.now();
+        List<Checkpoint> upcoming = checkpointRepository.findByProgramIdOrderByCheckpointDateAsc(programId).stream()
+                .filter(cp -> cp.getStatus() == CheckpointStatus.UPCOMING && cp.getCheckpointDate().isAfter(today))
+                .toList();
+        Model model = fit(userId, programId, today, upcoming);
+
+        long[] totals = new long[upcoming.size() * SLOTS];
+        int run = 0;
+        boolean converged = false;
+        boolean budgetExhausted = false;
+
+        if (!upcoming.isEmpty()) {
+            int workers = computePool.getParallelism();
+            SplittableRandom master = new SplittableRandom();
+            while (run < simulations) {
+                int round = earlyExit ? Math.min(simulations - run, workers * ROUND_PER_WORKER) : simulations - run;
+                int perTask = Math.ceilDiv(round, workers);
+
+                List<ForkJoinTask<long[]>> tasks = new ArrayList<>(workers);
+                for (int assigned = 0; assigned < round; assigned += perTask) {
+                    int runs = Math.min(perTask, round - assigned);
+                    SplittableRandom random = master.split();
+                    tasks.add(computePool.submit(() -> runBatch(model, random, runs, deadline)));
+                }
+
+                int completed = 0;
+                for (ForkJoinTask<long[]> task : tasks) {
+                    long[] counts = task.join();
+                    for (int i = 0; i < totals.length; i++) totals[i] += counts[i];
+                    completed += (int) counts[totals.length];
+                }
+                run += completed;
+
+                if (completed < round) {
+                    budgetExhausted = true;
+                    break;
+                }
+                if (earlyExit && run >= MIN_CONVERGENCE_RUNS && converged(model, totals, run)) {
+                    converged = run < simulations;
+                    break;
+                }
+            }
+        }
+
+        List<ProgramSimulationResponse.CheckpointForecast> forecasts = new ArrayList<>(upcoming.size());
+        for (int c = 0; c < upcoming.size(); c++) {
+            Checkpoint cp = upcoming.get(c);
+            int t = c * TARGETS;
+            int s = c * SLOTS;
+            boolean anyTarget = false;
+            for (int k = 0; k < TARGETS; k++) anyTarget |= !Double.isNaN(model.targets[t + k]);
+            forecasts.add(ProgramSimulationResponse.CheckpointForecast.builder()
+                    .checkpointId(cp.getId())
+                    .checkpointTitle(cp.getTitle())
+                    .checkpointDate(cp.getCheckpointDate())
+                    .weightChangeProbability(probability(model.targets[t + T_WEIGHT], totals[s + T_WEIGHT], run))
+                    .waistChangeProbability(probability(model.targets[t + T_WAIST], totals[s + T_WAIST], run))
+                    .trainingDaysProbability(probability(model.targets[t + T_WORKOUTS], totals[s + T_WORKOUTS], run))
+                    .stepsProbability(probability(model.targets[t + T_STEPS], totals[s + T_STEPS], run))
+                    .dietComplianceProbability(probability(model.targets[t + T_DIET], totals[s + T_DIET], run))
+                    .allTargetsProbability(anyTarget && run > 0 ? (double) totals[s + ALL] / run : null)
+                    .onTrackProbability(run > 0 ? (double) totals[s + ON_TRACK] / run : null)
+                    .build());
+        }
+
+        return ProgramSimulationResponse.builder()
+                .programId(programId)
+                .simulationsRequested(simulations)
+                .simulationsRun(run)
+                .converged(converged)
+                .budgetExhausted(budgetExhausted)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .model(ProgramSimulationResponse.Model.builder()
+                        .entryIntervalDays(model.interval)
+                        .weightDriftKgPerWeek(model.hasWeight ? model.weightDrift * 7 : null)
+                        .weightVolatilityKgPerWeek(model.hasWeight ? model.weightSd * Math.sqrt(7) : null)
+                        .waistDriftCmPerWeek(model.hasWaist ? model.waistDrift * 7 : null)
+                        .avgWorkoutsPerWeek(model.hasWorkouts ? model.workoutsMean : null)
+                        .avgSteps(model.hasSteps ? model.stepsMean : null)
+                        .avgDietCompliance(model.hasDiet ? model.dietMean : null)
+                        .build())
+                .checkpoints(forecasts)
+                .build();
+    }
+
+    private static Double probability(double target, long met, int run) {
+        return Double.isNaN(target) || run == 0 ? null : (double) met / run;
+    }
+
+    /** True once every reported probability's standard error is within the tolerance. */
+    private boolean converged(Model m, long[] totals, int run) {
+        int cps = m.checkpointDays.length;
+        for (int c = 0; c < cps; c++) {
+            for (int k = 0; k < SLOTS; k++) {
+                if (k < TARGETS && Double.isNaN(m.targets[c * TARGETS + k])) continue;
+                double p = (double) totals[c * SLOTS + k] / run;
+                if (Math.sqrt(p * (1 - p) / run) > tolerance) return false;
+            }
+        }
+        return true;
+    }
+
+    // ── Model ────────────────────────────────────────────────────────────────
+
+    /** Everything a trajectory needs, in primitives; shared read-only by the workers. */
+    private static final class Model {
+        int interval;
+        int window;          // entries per evaluation window
+        int firstDay;        // epoch day of the first simulated entry
+        int[] checkpointDays;
+        double[] targets;    // TARGETS per checkpoint
+
+        // Latest real entries, oldest first, NaN where a metric was not logged
+        double[] historyWeight;
+        double[] historyWaist;
+        double[] historyWorkouts;
+        double[] historySteps;
+        double[] historyDiet;
+
+        boolean hasWeight;
+        double weightLevel;
+        int weightDay;
+        double weightDrift;  // per day
+        double weightSd;     // per sqrt(day)
+
+        boolean hasWaist;
+        double waistLevel;
+        int waistDay;
+        double waistDrift;
+        double waistSd;
+
+        boolean hasWorkouts;
+        double workoutsMean;
+        double workoutsSd;
+        boolean hasSteps;
+        double stepsMean;
+        double stepsSd;
+        boolean hasDiet;
+        double dietMean;
+        double dietSd;
+    }
+
+    private Model fit(UUID userId, UUID programId, LocalDate today, List<Checkpoint> upcoming) {
+        Model m = new Model();
+        int cps = upcoming.size();
+        m.checkpointDays = new int[cps];
+        m.targets = new double[cps * TARGETS];
+        Arrays.fill(m.targets, Double.NaN);
+        for (int c = 0; c < cps; c++) {
+            Checkpoint cp = upcoming.get(c);
+            m.checkpointDays[c] = (int) cp.getCheckpointDate().toEpochDay();
+            TargetMetrics t = cp.getTargetMetrics();
+            if (t == null) continue;
+            int base = c * TARGETS;
+            if (t.getTargetWeightChangeKg() != null) m.targets[base + T_WEIGHT] = t.getTargetWeightChangeKg();
+            if (t.getTargetWaistChangeCm() != null)  m.targets[base + T_WAIST] = t.getTargetWaistChangeCm();
+            if (t.getTrainingDaysPerWeek() != null)  m.targets[base + T_WORKOUTS] = t.getTrainingDaysPerWeek();
+            if (t.getStepsAverage() != null)         m.targets[base + T_STEPS] = t.getStepsAverage();
+            if (t.getDietComplianceTarget() != null) m.targets[base + T_DIET] = t.getDietComplianceTarget();
+        }
+
+        List<ProgressEntry> entries = progressEntryRepository.findByProgramIdOrderByDateAsc(programId);
+        int n = entries.size();
+        int historyFrom = (int) today.minusDays(historyDays).toEpochDay();
+        int recentStart = 0;
+        while (recentStart < n && entries.get(recentStart).getDate().toEpochDay() < historyFrom) recentStart++;
+        List<ProgressEntry> recent = entries.subList(recentStart, n);
+
+        // Logging interval: median gap between recent entries
+        m.interval = DEFAULT_INTERVAL_DAYS;
+        if (recent.size() >= 2) {
+            int[] gaps = new int[recent.size() - 1];
+            for (int i = 1; i < recent.size(); i++) {
+                gaps[i - 1] = (int) (recent.get(i).getDate().toEpochDay() - recent.get(i - 1).getDate().toEpochDay());
+            }
+            Arrays.sort(gaps);
+            m.interval = Math.clamp(gaps[gaps.length / 2], 1, 31);
+        }
+        int todayDay = (int) today.toEpochDay();
+        m.firstDay = n == 0 ? todayDay
+                : Math.max(todayDay, (int) entries.get(n - 1).getDate().toEpochDay() + m.interval);
+
+        // The real entries that can still fall into a checkpoint's window
+        m.window = Math.max(evaluationWindow, 1);
+        int h = Math.min(n, m.window);
+        m.historyWeight = new double[h];
+        m.historyWaist = new double[h];
+        m.historyWorkouts = new double[h];
+        m.historySteps = new double[h];
+        m.historyDiet = new double[h];
+        for (int i = 0; i < h; i++) {
+            ProgressEntry e = entries.get(n - h + i);
+            m.historyWeight[i] = e.getWeightKg() != null ? e.getWeightKg() : Double.NaN;
+            m.historyWaist[i] = e.getWaistCm() != null ? e.getWaistCm() : Double.NaN;
+            m.historyWorkouts[i] = e.getWorkoutsCompleted() != null ? e.getWorkoutsCompleted() : Double.NaN;
+            m.historySteps[i] = e.getStepsAvg() != null ? e.getStepsAvg() : Double.NaN;
+            m.historyDiet[i] = e.getDietComplianceScore() != null ? e.getDietComplianceScore() : Double.NaN;
+        }
+
+        // Weight: the user's weight log when it has enough recent points, else the progress entries
+        WeightSeries series = weightSeriesCache.get(userId);
+        int from = series.lowerBound(historyFrom);
+        int points = series.size() - from;
+        if (points >= MIN_FIT_POINTS) {
+            int[] days = new int[points];
+            double[] kg = new double[points];
+            for (int i = 0; i < points; i++) {
+                days[i] = series.epochDay(from + i);
+                kg[i] = series.kg(from + i);
+            }
+            double[] walk = fitWalk(days, kg, points);
+            m.hasWeight = true;
+            m.weightDrift = walk[0];
+            m.weightSd = walk[1];
+            m.weightDay = days[points - 1];
+            m.weightLevel = kg[points - 1];
+        } else {
+            double[] walk = fitWalk(recent, true);
+            if (walk != null) {
+                m.hasWeight = true;
+                m.weightDrift = walk[0];
+                m.weightSd = walk[1];
+                m.weightDay = (int) walk[2];
+                m.weightLevel = walk[3];
+            }
+        }
+        // Progress entries are what gets scored, so the walk continues from their latest weight
+        if (m.hasWeight) {
+            for (int i = n - 1; i >= 0; i--) {
+                ProgressEntry e = entries.get(i);
+                if (e.getWeightKg() == null) continue;
+                if (e.getDate().toEpochDay() >= m.weightDay) {
+                    m.weightDay = (int) e.getDate().toEpochDay();
+                    m.weightLevel = e.getWeightKg();
+                }
+                break;
+            }
+        }
+
+        double[] waist = fitWalk(recent, false);
+        if (waist != null) {
+            m.hasWaist = true;
+            m.waistDrift = waist[0];
+            m.waistSd = waist[1];
+            m.waistDay = (int) waist[2];
+            m.waistLevel = waist[3];
+        }
+
+        double[] stat = meanAndSd(recent, T_WORKOUTS);
+        if (stat != null) {
+            m.hasWorkouts = true;
+            m.workoutsMean = stat[0];
+            m.workoutsSd = stat[1];
+        }
+        stat = meanAndSd(recent, T_STEPS);
+        if (stat != null) {
+            m.hasSteps = true;
+            m.stepsMean = stat[0];
+            m.stepsSd = stat[1];
+        }
+        stat = meanAndSd(recent, T_DIET);
+        if (stat != null) {
+            m.hasDiet = true;
+            m.dietMean = stat[0];
+            m.dietSd = stat[1];
+        }
+        return m;
+    }
+
+    /** Walk fitted from the weight (or waist) of progress entries: {drift, sd, lastDay, lastValue}, or null. */
+    private static double[] fitWalk(List<ProgressEntry> entries, boolean weight) {
+        int[] days = new int[entries.size()];
+        double[] values = new double[entries.size()];
+        int count = 0;
+        for (ProgressEntry e : entries) {
+            Double v = weight ? e.getWeightKg() : e.getWaistCm();
+            if (v == null) continue;
+            days[count] = (int) e.getDate().toEpochDay();
+            values[count++] = v;
+        }
+        if (count < MIN_FIT_POINTS) return null;
+        double[] walk = fitWalk(days, values, count);
+        return new double[]{walk[0], walk[1], days[count - 1], values[count - 1]};
+    }
+
+    /**
+     * Random walk with drift: the drift is the least-squares slope per day, the volatility the
+     * gap-weighted spread of the steps around it, per square root of a day.
+     */
+    private static double[] fitWalk(int[] days, double[] values, int n) {
+        double meanDay = 0;
+        double meanValue = 0;
+        for (int i = 0; i < n; i++) {
+            meanDay += days[i];
+            meanValue += values[i];
+        }
+        meanDay /= n;
+        meanValue /= n;
+        double cov = 0;
+        double var = 0;
+        for (int i = 0; i < n; i++) {
+            cov += (days[i] - meanDay) * (values[i] - meanValue);
+            var += (days[i] - meanDay) * (days[i] - meanDay);
+        }
+        double drift = var > 0 ? cov / var : 0.0;
+
+        double squares = 0;
+        long span = 0;
+        for (int i = 1; i < n; i++) {
+            int gap = days[i] - days[i - 1];
+            double residual = values[i] - values[i - 1] - drift * gap;
+            squares += residual * residual;
+            span += gap;
+        }
+        return new double[]{drift, span > 0 ? Math.sqrt(squares / span) : 0.0};
+    }
+
+    private static double[] meanAndSd(List<ProgressEntry> entries, int metric) {
+        double sum = 0;
+        double sumSquares = 0;
+        int count = 0;
+        for (ProgressEntry e : entries) {
+            Number v = switch (metric) {
+                case T_WORKOUTS -> e.getWorkoutsCompleted();
+                case T_STEPS -> e.getStepsAvg();
+                default -> e.getDietComplianceScore();
+            };
+            if (v == null) continue;
+            sum += v.doubleValue();
+            sumSquares += v.doubleValue() * v.doubleValue();
+            count++;
+        }
+        if (count == 0) return null;
+        double mean = sum / count;
+        double variance = count > 1 ? (sumSquares - count * mean * mean) / (count - 1) : 0.0;
+        return new double[]{mean, Math.sqrt(Math.max(variance, 0.0))};
+    }
+
+    // ── Simulation kernel ────────────────────────────────────────────────────
+
+    /**
+     * Runs up to {@code runs} trajectories, stopping early at the deadline.
+     *
+     * @return the counters ({@code SLOTS} per checkpoint) followed by the number of trajectories run
+     */
+    private static long[] runBatch(Model m, SplittableRandom random, int runs, long deadline) {
+        int cps = m.checkpointDays.length;
+        int w = m.window;
+        long[] counts = new long[cps * SLOTS + 1];
+
+        double[] weight = new double[w];
+        double[] waist = new double[w];
+        double[] workouts = new double[w];
+        double[] steps = new double[w];
+        double[] diet = new double[w];
+
+        int done = 0;
+        for (; done < runs; done++) {
+            if ((done & 63) == 0 && System.nanoTime() > deadline) break;
+
+            int size = m.historyWeight.length;
+            System.arraycopy(m.historyWeight, 0, weight, 0, size);
+            System.arraycopy(m.historyWaist, 0, waist, 0, size);
+            System.arraycopy(m.historyWorkouts, 0, workouts, 0, size);
+            System.arraycopy(m.historySteps, 0, steps, 0, size);
+            System.arraycopy(m.historyDiet, 0, diet, 0, size);
+            int pos = size % w;
+
+            double weightLevel = m.weightLevel;
+            int weightDay = m.weightDay;
+            double waistLevel = m.waistLevel;
+            int waistDay = m.waistDay;
+
+            int day = m.firstDay;
+            int cp = 0;
+            while (true) {
+                // The ring holds every entry dated before day, so these checkpoints' windows are complete
+                while (cp < cps && m.checkpointDays[cp] <= day) {
+                    score(m, cp, weight, waist, workouts, steps, diet, size, pos, counts);
+                    cp++;
+                }
+                if (cp == cps) break;
+
+                // A walk anchored after this entry (e.g. a weight logged ahead of today) holds its
+                // level until the entries catch up, rather than stepping back in time
+                double entryWeight = Double.NaN;
+                if (m.hasWeight) {
+                    int gap = Math.max(0, day - weightDay);
+                    weightLevel += m.weightDrift * gap + m.weightSd * Math.sqrt(gap) * random.nextGaussian();
+                    weightDay += gap;
+                    entryWeight = weightLevel;
+                }
+                double entryWaist = Double.NaN;
+                if (m.hasWaist) {
+                    int gap = Math.max(0, day - waistDay);
+                    waistLevel += m.waistDrift * gap + m.waistSd * Math.sqrt(gap) * random.nextGaussian();
+                    waistDay += gap;
+                    entryWaist = waistLevel;
+                }
+                weight[pos] = entryWeight;
+                waist[pos] = entryWaist;
+                workouts[pos] = m.hasWorkouts
+                        ? Math.max(0.0, m.workoutsMean + m.workoutsSd * random.nextGaussian()) : Double.NaN;
+                steps[pos] = m.hasSteps
+                        ? Math.max(0.0, m.stepsMean + m.stepsSd * random.nextGaussian()) : Double.NaN;
+                diet[pos] = m.hasDiet
+                        ? Math.clamp(m.dietMean + m.dietSd * random.nextGaussian(), 0.0, 100.0) : Double.NaN;
+                pos = (pos + 1) % w;
+                if (size < w) size++;
+
+                day += m.interval;
+            }
+        }
+        counts[cps * SLOTS] = done;
+        return counts;
+    }
+
+    /** Scores one checkpoint from the ring the way ProgressWindows and ProgramService.score do. */
+    private static void score(Model m, int cp, double[] weight, double[] waist, double[] workouts,
+                              double[] steps, double[] diet, int size, int pos, long[] counts) {
+        int w = weight.length;
+        int start = (pos - size + w) % w;
+
+        double firstWeight = Double.NaN, lastWeight = Double.NaN;
+        double firstWaist = Double.NaN, lastWaist = Double.NaN;
+        int weightPoints = 0, waistPoints = 0;
+        double workoutSum = 0, stepsSum = 0, dietSum = 0;
+        int workoutCount = 0, stepsCount = 0, dietCount = 0;
+        for (int k = 0; k < size; k++) {
+            int i = (start + k) % w;
+            if (!Double.isNaN(weight[i])) {
+                if (weightPoints++ == 0) firstWeight = weight[i];
+                lastWeight = weight[i];
+            }
+            if (!Double.isNaN(waist[i])) {
+                if (waistPoints++ == 0) firstWaist = waist[i];
+                lastWaist = waist[i];
+            }
+            if (!Double.isNaN(workouts[i])) { workoutSum += workouts[i]; workoutCount++; }
+            if (!Double.isNaN(steps[i]))    { stepsSum += steps[i]; stepsCount++; }
+            if (!Double.isNaN(diet[i]))     { dietSum += diet[i]; dietCount++; }
+        }
+        double weightChange = weightPoints >= 2 ? lastWeight - firstWeight : 0.0;
+        double waistChange = waistPoints >= 2 ? lastWaist - firstWaist : 0.0;
+        double avgWorkouts = workoutCount == 0 ? 0.0 : workoutSum / workoutCount;
+        double avgSteps = stepsCount == 0 ? 0.0 : stepsSum / stepsCount;
+        double avgDiet = dietCount == 0 ? 0.0 : dietSum / dietCount;
+
+        int t = cp * TARGETS;
+        int s = cp * SLOTS;
+        int total = 0;
+        int met = 0;
+        double target = m.targets[t + T_WEIGHT];
+        if (!Double.isNaN(target)) {
+            total++;
+            if (meetsChange(weightChange, target)) { met++; counts[s + T_WEIGHT]++; }
+        }
+        target = m.targets[t + T_WAIST];
+        if (!Double.isNaN(target)) {
+            total++;
+            if (meetsChange(waistChange, target)) { met++; counts[s + T_WAIST]++; }
+        }
+        target = m.targets[t + T_WORKOUTS];
+        if (!Double.isNaN(target)) {
+            total++;
+            if (avgWorkouts >= target) { met++; counts[s + T_WORKOUTS]++; }
+        }
+        target = m.targets[t + T_STEPS];
+        if (!Double.isNaN(target)) {
+            total++;
+            if (avgSteps >= target) { met++; counts[s + T_STEPS]++; }
+        }
+        target = m.targets[t + T_DIET];
+        if (!Double.isNaN(target)) {
+            total++;
+            if (avgDiet >= target) { met++; counts[s + T_DIET]++; }
+        }
+        if (total > 0 && met == total) counts[s + ALL]++;
+        if (total == 0 || (double) met / total >= 0.6) counts[s + ON_TRACK]++;
+    }
+
+    /** A loss target is met at or below it, a gain target at or above it. */
+    private static boolean meetsChange(double change, double target) {
+        return target < 0 ? change <= target : change >= target;
+    }
+}
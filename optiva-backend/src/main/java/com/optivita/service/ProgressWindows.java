@@ -0,0 +1,138 @@
+package com.optivita.service;
+
+import com.optivita.entity.ProgressEntry;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A program's progress entries in ascending date order, indexed so that the metrics of
+ * any run of consecutive entries (the evaluation window before a checkpoint) cost O(1):
+ * prefix sums for the averages, and nearest-entry links for the first and last
+ * weight/waist measurement. Finding a window's end is a binary search on the dates.
+ */
+final class ProgressWindows {
+
+    /** Metrics of one window; changes are newest minus oldest measurement, 0 with fewer than two. */
+    record Window(int entries, double weightChange, double waistChange,
+                  double avgWorkouts, double avgSteps, double avgDietCompliance) {
+    }
+
+    private final long[] epochDays;
+
+    private final double[] weight;
+    private final int[] nextWeight; // first index >= i with a weight, n if none
+    private final int[] prevWeight; // last index <= i with a weight, -1 if none
+
+    private final double[] waist;
+    private final int[] nextWaist;
+    private final int[] prevWaist;
+
+    // Prefix sums and counts of non-null values, length n + 1
+    private final double[] workoutSum;
+    private final int[] workoutCount;
+    private final double[] stepsSum;
+    private final int[] stepsCount;
+    private final double[] dietSum;
+    private final int[] dietCount;
+
+    private ProgressWindows(List<ProgressEntry> entries) {
+        int n = entries.size();
+        epochDays = new long[n];
+        weight = new double[n];
+        waist = new double[n];
+        workoutSum = new double[n + 1];
+        workoutCount = new int[n + 1];
+        stepsSum = new double[n + 1];
+        stepsCount = new int[n + 1];
+        dietSum = new double[n + 1];
+        dietCount = new int[n + 1];
+
+        boolean[] hasWeight = new boolean[n];
+        boolean[] hasWaist = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            ProgressEntry e = entries.get(i);
+            epochDays[i] = e.getDate().toEpochDay();
+            if (e.getWeightKg() != null) {
+                hasWeight[i] = true;
+                weight[i] = e.getWeightKg();
+            }
+            if (e.getWaistCm() != null) {
+                hasWaist[i] = true;
+                waist[i] = e.getWaistCm();
+            }
+            workoutSum[i + 1] = workoutSum[i] + (e.getWorkoutsCompleted() != null ? e.getWorkoutsCompleted() : 0);
+            workoutCount[i + 1] = workoutCount[i] + (e.getWorkoutsCompleted() != null ? 1 : 0);
+            stepsSum[i + 1] = stepsSum[i] + (e.getStepsAvg() != null ? e.getStepsAvg() : 0);
+            stepsCount[i + 1] = stepsCount[i] + (e.getStepsAvg() != null ? 1 : 0);
+            dietSum[i + 1] = dietSum[i] + (e.getDietComplianceScore() != null ? e.getDietComplianceScore() : 0);
+            dietCount[i + 1] = dietCount[i] + (e.getDietComplianceScore() != null ? 1 : 0);
+        }
+
+        nextWeight = new int[n];
+        prevWeight = new int[n];
+        nextWaist = new int[n];
+        prevWaist = new int[n];
+        link(hasWeight, prevWeight, nextWeight);
+        link(hasWaist, prevWaist, nextWaist);
+    }
+
+    /** Entries must be sorted by date ascending. */
+    static ProgressWindows of(List<ProgressEntry> ascending) {
+        return new ProgressWindows(ascending);
+    }
+
+    int size() {
+        return epochDays.length;
+    }
+
+    /** Number of entries dated strictly before date, i.e. the exclusive end of its window. */
+    int endBefore(LocalDate date) {
+        long target = date.toEpochDay();
+        int lo = 0;
+        int hi = epochDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < target) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Metrics over entries [from, to). */
+    Window window(int from, int to) {
+        return new Window(
+                to - from,
+                change(weight, nextWeight, prevWeight, from, to),
+                change(waist, nextWaist, prevWaist, from, to),
+                average(workoutSum, workoutCount, from, to),
+                average(stepsSum, stepsCount, from, to),
+                average(dietSum, dietCount, from, to));
+    }
+
+    private static double change(double[] values, int[] next, int[] prev, int from, int to) {
+        if (from >= to) return 0.0;
+        int oldest = next[from];
+        int newest = prev[to - 1];
+        return oldest < newest ? values[newest] - values[oldest] : 0.0;
+    }
+
+    private static double average(double[] sum, int[] count, int from, int to) {
+        int c = count[to] - count[from];
+        return c == 0 ? 0.0 : (sum[to] - sum[from]) / c;
+    }
+
+    private static void link(boolean[] present, int[] prev, int[] next) {
+        int n = present.length;
+        int last = -1;
+        for (int i = 0; i < n; i++) {
+            if (present[i]) last = i;
+            prev[i] = last;
+        }
+        int first = n;
+        for (int i = n - 1; i >= 0; i--) {
+            if (present[i]) first = i;
+            next[i] = first;
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package com.optivita.service;
 
 import com.optivita.dto.PageResponse;
+import com.optivita.dto.TrendPeriod;
 import com.optivita.dto.smoking.SmokingAnalyticsResponse;
 import com.optivita.dto.smoking.SmokingLogRequest;
 import com.optivita.dto.smoking.SmokingLogResponse;
 import com.optivita.entity.SmokingLog;
+import com.optivita.entity.Streak;
 import com.optivita.entity.User;
 import com.optivita.exception.BadRequestException;
 import com.optivita.exception.ResourceNotFoundException;
 import com.optivita.repository.SmokingLogRepository;
 import com.optivita.repository.UserRepository;
+import com.optivita.repository.projection.SmokingPeriodStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -19,7 +22,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -28,6 +34,8 @@ public class SmokingService {
 
     private final SmokingLogRepository smokingLogRepository;
     private final UserRepository userRepository;
+    private final DailySummaryService dailySummaryService;
+    private final StreakService streakService;
 
     @Transactional
     public SmokingLogResponse create(UUID userId, SmokingLogRequest request) {
@@ -47,7 +55,10 @@ public class SmokingService {
                 .notes(request.getNotes())
                 .build();
 
-        return mapToResponse(smokingLogRepository.save(log));
+        SmokingLog saved = smokingLogRepository.save(log);
+        dailySummaryService.refresh(userId, saved.getLogDate());
+        streakService.onSmokingDay(userId, saved.getLogDate(), Boolean.TRUE.equals(saved.getSmokeFree()));
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -99,7 +110,10 @@ public class SmokingService {
         if (request.getCravings() != null) log.setCravings(request.getCravings());
         if (request.getNotes() != null) log.setNotes(request.getNotes());
 
-        return mapToResponse(smokingLogRepository.save(log));
+        SmokingLog saved = smokingLogRepository.save(log);
+        dailySummaryService.refresh(userId, saved.getLogDate());
+        streakService.onSmokingDay(userId, saved.getLogDate(), Boolean.TRUE.equals(saved.getSmokeFree()));
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -107,28 +121,28 @@ public class SmokingService {
         SmokingLog log = smokingLogRepository.findByIdAndUserId(logId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("SmokingLog", "id", logId));
         smokingLogRepository.delete(log);
+        dailySummaryService.refresh(userId, log.getLogDate());
+        streakService.onSmokingDay(userId, log.getLogDate(), false);
     }
 
-    @Transactional(readOnly = true)
-    public SmokingAnalyticsResponse getAnalytics(UUID userId) {
-        // Smoke-free streak
-        List<SmokingLog> allLogs = smokingLogRepository.findByUserIdOrderByLogDateDesc(userId);
-        int streak = 0;
-        LocalDate checkDate = LocalDate.now();
-        for (SmokingLog log : allLogs) {
-            if (log.getLogDate().equals(checkDate) && Boolean.TRUE.equals(log.getSmokeFree())) {
-                streak++;
-                checkDate = checkDate.minusDays(1);
-            } else if (log.getLogDate().equals(checkDate)) {
-                break;
-            } else if (log.getLogDate().isBefore(checkDate)) {
-                break;
-            }
+    /**
+     * Analytics with a daily view of the last 30 days and a trend over the last periods
+     * buckets of the given size. Costs two queries plus the indexed streak, which the first
+     * call saves.
+     */
+    @Transactional
+    public SmokingAnalyticsResponse getAnalytics(UUID userId, TrendPeriod period, int periods) {
+        if (periods < 1 || periods > TrendPeriod.MAX_PERIODS) {
+            throw new BadRequestException("periods must be between 1 and " + TrendPeriod.MAX_PERIODS);
         }
-
-        // Weekly avg cigarettes (last 7 days)
-        LocalDate weekAgo = LocalDate.now().minusDays(7);
-        List<SmokingLog> weekLogs = smokingLogRepository.findByUserIdAndDateBetween(userId, weekAgo, LocalDate.now());
+        // Smoke-free streak from the index
+        LocalDate today = LocalDate.now();
+        Streak streak = streakService.getSmokeFreeStreak(userId);
+
+        // Trend points (last 30 days); the weekly average is taken from the same rows
+        List<SmokingLog> recentLogs = smokingLogRepository.findByUserIdAndDateBetween(userId, today.minusDays(30), today);
+        LocalDate weekAgo = today.minusDays(7);
+        List<SmokingLog> weekLogs = recentLogs.stream().filter(l -> !l.getLogDate().isBefore(weekAgo)).toList();
         Double weeklyAvg = null;
         if (!weekLogs.isEmpty()) {
             double total = weekLogs.stream()
@@ -137,12 +151,7 @@ public class SmokingService {
                     .sum();
             weeklyAvg = Math.round((total / 7) * 100.0) / 100.0;
         }
-
-        // Trend points (last 30 days)
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        List<SmokingAnalyticsResponse.TrendPoint> trendPoints = smokingLogRepository
-                .findByUserIdAndDateBetween(userId, thirtyDaysAgo, LocalDate.now())
-                .stream()
+        List<SmokingAnalyticsResponse.TrendPoint> trendPoints = recentLogs.stream()
                 .map(l -> SmokingAnalyticsResponse.TrendPoint.builder()
                         .date(l.getLogDate())
                         .cigarettesCount(l.getCigarettesCount())
@@ -151,10 +160,34 @@ public class SmokingService {
                         .build())
                 .toList();
 
+        // Trend buckets, including the empty ones
+        LocalDate from = period.plus(period.truncate(today), 1 - periods);
+        Map<LocalDate, SmokingPeriodStats> rows = new HashMap<>();
+        for (SmokingPeriodStats row : smokingLogRepository.aggregateByPeriod(userId, period.sqlUnit(), from, today)) {
+            rows.put(row.getPeriodStart(), row);
+        }
+        List<SmokingAnalyticsResponse.PeriodStats> trend = new ArrayList<>(periods);
+        for (LocalDate start = from; !start.isAfter(today); start = period.plus(start, 1)) {
+            SmokingPeriodStats row = rows.get(start);
+            long cigarettes = row != null && row.getTotalCigarettes() != null ? row.getTotalCigarettes() : 0;
+            trend.add(SmokingAnalyticsResponse.PeriodStats.builder()
+                    .periodStart(start)
+                    .loggedDays(row != null ? row.getLoggedDays() : 0)
+                    .smokeFreeDays(row != null ? row.getSmokeFreeDays() : 0)
+                    .totalCigarettes(cigarettes)
+                    .avgCigarettes(row != null ? Math.round((double) cigarettes / row.getLoggedDays() * 100.0) / 100.0 : null)
+                    .avgCravings(row != null && row.getAvgCravings() != null
+                            ? Math.round(row.getAvgCravings() * 100.0) / 100.0 : null)
+                    .build());
+        }
+
         return SmokingAnalyticsResponse.builder()
-                .smokeFreeStreak(streak)
+                .smokeFreeStreak(streakService.currentLength(streak, today))
+                .longestSmokeFreeStreak(streakService.longestLength(streak, today))
                 .weeklyAvgCigarettes(weeklyAvg)
                 .trendPoints(trendPoints)
+                .period(period)
+                .trend(trend)
                 .build();
     }
 
@@ -0,0 +1,275 @@
+package com.optivita.service;
+
+import com.optivita.entity.Habit;
+import com.optivita.entity.Streak;
+import com.optivita.entity.User;
+import com.optivita.entity.enums.StreakType;
+import com.optivita.exception.ResourceNotFoundException;
+import com.optivita.repository.*;
+import com.optivita.repository.projection.DateRange;
+import com.optivita.repository.projection.HabitRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Maintains the {@link Streak} index. Writes that extend the latest run (the usual
+ * "log today" case) update the row in place; anything else, such as backfilling or
+ * deleting a past day, recomputes the row from the history's runs of consecutive days,
+ * which the database collapses with a gaps-and-islands query.
+ * Reads never touch the log tables when the row exists; the first read of a streak with no
+ * row yet (history from before the index) computes the row and saves it. Rows are only
+ * created under the user's row lock, so concurrent first reads and writes insert one.
+ */
+@Service
+@RequiredArgsConstructor
+public class StreakService {
+
+    private final StreakRepository streakRepository;
+    private final HabitLogRepository habitLogRepository;
+    private final SmokingLogRepository smokingLogRepository;
+    private final AlcoholLogRepository alcoholLogRepository;
+    private final UserRepository userRepository;
+
+    // ---- Write side ----
+
+    /** Records the state of a habit on date after a write; done is false when the day is not DONE. */
+    @Transactional
+    public void onHabitDay(Habit habit, LocalDate date, boolean done) {
+        Optional<Streak> existing = streakRepository.findByHabitId(habit.getId());
+        if (existing.isPresent() && applyToLatestRun(existing.get(), date, done)) return;
+        recomputeHabitStreak(habit);
+    }
+
+    /** Recomputes a habit's streak from its full history. */
+    @Transactional
+    public void recomputeHabitStreak(Habit habit) {
+        Streak streak = streakRepository.findByHabitId(habit.getId()).orElseGet(() -> {
+            lockUser(habit.getUser().getId());
+            return streakRepository.findByHabitId(habit.getId()).orElseGet(() -> newHabitStreak(habit));
+        });
+        computeRuns(streak, habitLogRepository.findDoneRunsByHabitId(habit.getId()));
+        streakRepository.save(streak);
+    }
+
+    @Transactional
+    public void deleteHabitStreak(UUID habitId) {
+        streakRepository.deleteByHabitId(habitId);
+    }
+
+    /** Records the state of date after a smoking log write; smokeFree is false when the log was deleted. */
+    @Transactional
+    public void onSmokingDay(UUID userId, LocalDate date, boolean smokeFree) {
+        Optional<Streak> existing = streakRepository.findUserStreak(userId, StreakType.SMOKE_FREE);
+        if (existing.isPresent() && applyToLatestRun(existing.get(), date, smokeFree)) return;
+        recomputeUserStreak(userId, StreakType.SMOKE_FREE, existing);
+    }
+
+    @Transactional
+    public void onDrinkingDay(UUID userId, LocalDate date) {
+        Optional<Streak> existing = streakRepository.findUserStreak(userId, StreakType.ALCOHOL_FREE);
+        if (existing.isPresent()) {
+            Streak streak = existing.get();
+            if (!date.isBefore(streak.getRunStart())) {
+                // Drink after the last drinking day closes the open alcohol-free run
+                streak.setLongestStreak(Math.max(streak.getLongestStreak(),
+                        (int) ChronoUnit.DAYS.between(streak.getRunStart(), date)));
+                streak.setRunStart(date.plusDays(1));
+                streak.setLastBreakDate(date);
+                return;
+            }
+            if (date.equals(streak.getLastBreakDate())) return;
+        }
+        recomputeUserStreak(userId, StreakType.ALCOHOL_FREE, existing);
+    }
+
+    @Transactional
+    public void onAlcoholLogRemoved(UUID userId) {
+        recomputeUserStreak(userId, StreakType.ALCOHOL_FREE,
+                streakRepository.findUserStreak(userId, StreakType.ALCOHOL_FREE));
+    }
+
+    // ---- Read side ----
+
+    /** Returns the indexed streak, indexing the habit first when it has no row yet. */
+    @Transactional
+    public Streak getHabitStreak(Habit habit) {
+        return streakRepository.findByHabitId(habit.getId())
+                .orElseGet(() -> indexHabits(habit.getUser().getId(), List.of(habit)).get(habit.getId()));
+    }
+
+    /**
+     * Streaks for the given habits keyed by habit id: one query for the indexed ones, and one
+     * runs query for all of those still missing a row, which are saved on the way.
+     */
+    @Transactional
+    public Map<UUID, Streak> getHabitStreaks(UUID userId, List<Habit> habits) {
+        Map<UUID, Streak> streaks = new HashMap<>();
+        for (Streak streak : streakRepository.findHabitStreaksByUserId(userId)) {
+            streaks.put(streak.getHabit().getId(), streak);
+        }
+        List<Habit> missing = habits.stream().filter(habit -> !streaks.containsKey(habit.getId())).toList();
+        if (!missing.isEmpty()) streaks.putAll(indexHabits(userId, missing));
+        return streaks;
+    }
+
+    @Transactional
+    public Streak getSmokeFreeStreak(UUID userId) {
+        Optional<Streak> existing = streakRepository.findUserStreak(userId, StreakType.SMOKE_FREE);
+        return existing.isPresent() ? existing.get() : recomputeUserStreak(userId, StreakType.SMOKE_FREE, existing);
+    }
+
+    @Transactional
+    public Streak getAlcoholFreeStreak(UUID userId) {
+        Optional<Streak> existing = streakRepository.findUserStreak(userId, StreakType.ALCOHOL_FREE);
+        return existing.isPresent() ? existing.get() : recomputeUserStreak(userId, StreakType.ALCOHOL_FREE, existing);
+    }
+
+    /** Length of the streak running through today, 0 when the latest run does not reach today. */
+    public int currentLength(Streak streak, LocalDate today) {
+        if (streak.getRunStart() == null || streak.getRunStart().isAfter(today)) return 0;
+        if (streak.getRunEnd() != null && streak.getRunEnd().isBefore(today)) return 0;
+        return (int) ChronoUnit.DAYS.between(streak.getRunStart(), today) + 1;
+    }
+
+    public int longestLength(Streak streak, LocalDate today) {
+        int open = streak.getRunEnd() == null ? currentLength(streak, today) : 0;
+        return Math.max(streak.getLongestStreak(), open);
+    }
+
+    // ---- Computation ----
+
+    /**
+     * Applies a single-day change that only touches the latest run. Returns false when the
+     * change falls inside the history and the row has to be recomputed.
+     */
+    private boolean applyToLatestRun(Streak streak, LocalDate date, boolean good) {
+        LocalDate runStart = streak.getRunStart();
+        LocalDate runEnd = streak.getRunEnd();
+        if (runEnd == null) return false;
+
+        if (date.isAfter(runEnd)) {
+            // runEnd is the latest good day, so a bad day after it changes nothing
+            if (!good) return true;
+            if (date.equals(runEnd.plusDays(1))) {
+                streak.setRunEnd(date);
+            } else {
+                streak.setLastBreakDate(runEnd.plusDays(1));
+                streak.setRunStart(date);
+                streak.setRunEnd(date);
+            }
+            streak.setLongestStreak(Math.max(streak.getLongestStreak(),
+                    (int) ChronoUnit.DAYS.between(streak.getRunStart(), streak.getRunEnd()) + 1));
+            return true;
+        }
+        return good && !date.isBefore(runStart);
+    }
+
+    /** Rebuilds a run-based streak from the ascending runs of consecutive good days. */
+    private void computeRuns(Streak streak, List<DateRange> runs) {
+        LocalDate lastBreak = null;
+        int longest = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            DateRange run = runs.get(i);
+            longest = Math.max(longest, (int) ChronoUnit.DAYS.between(run.getFirstDate(), run.getLastDate()) + 1);
+            if (i > 0) lastBreak = runs.get(i - 1).getLastDate().plusDays(1);
+        }
+        DateRange latest = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+        streak.setRunStart(latest != null ? latest.getFirstDate() : null);
+        streak.setRunEnd(latest != null ? latest.getLastDate() : null);
+        streak.setLastBreakDate(lastBreak);
+        streak.setLongestStreak(longest);
+    }
+
+    /**
+     * Creates and saves rows for habits that had none, from one runs query. Another
+     * transaction may have indexed some of them while this one waited for the lock.
+     */
+    private Map<UUID, Streak> indexHabits(UUID userId, List<Habit> habits) {
+        lockUser(userId);
+        Map<UUID, Streak> streaks = new HashMap<>();
+        List<UUID> habitIds = habits.stream().map(Habit::getId).toList();
+        for (Streak streak : streakRepository.findByHabitIdIn(habitIds)) {
+            streaks.put(streak.getHabit().getId(), streak);
+        }
+        Map<UUID, List<DateRange>> runs = new HashMap<>();
+        for (HabitRun run : habitLogRepository.findDoneRunsByHabitIds(habitIds)) {
+            runs.computeIfAbsent(run.getHabitId(), id -> new ArrayList<>()).add(run);
+        }
+        List<Streak> created = new ArrayList<>();
+        for (Habit habit : habits) {
+            if (streaks.containsKey(habit.getId())) continue;
+            Streak streak = newHabitStreak(habit);
+            computeRuns(streak, runs.getOrDefault(habit.getId(), List.of()));
+            created.add(streak);
+            streaks.put(habit.getId(), streak);
+        }
+        streakRepository.saveAll(created);
+        return streaks;
+    }
+
+    private Streak newHabitStreak(Habit habit) {
+        return Streak.builder()
+                .user(habit.getUser())
+                .habit(habit)
+                .type(StreakType.HABIT)
+                .build();
+    }
+
+    /** Recomputes a smoke-free or alcohol-free streak from the full history, creating the row if needed. */
+    private Streak recomputeUserStreak(UUID userId, StreakType type, Optional<Streak> existing) {
+        Streak streak = existing.orElseGet(() -> {
+            User user = lockUser(userId);
+            return streakRepository.findUserStreak(userId, type)
+                    .orElseGet(() -> Streak.builder().user(user).type(type).build());
+        });
+        if (type == StreakType.SMOKE_FREE) {
+            computeRuns(streak, smokingLogRepository.findSmokeFreeRunsByUserId(userId));
+        } else {
+            computeAlcoholFree(streak, accountStartDate(userId), alcoholLogRepository.findDrinkingRunsByUserId(userId));
+        }
+        return streakRepository.save(streak);
+    }
+
+    private User lockUser(UUID userId) {
+        return userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    }
+
+    /**
+     * Rebuilds the open-ended alcohol-free streak from the ascending runs of drinking days;
+     * the alcohol-free runs are the gaps between them. Days before the account existed are
+     * not counted as alcohol-free.
+     */
+    private void computeAlcoholFree(Streak streak, LocalDate anchor, List<DateRange> drinkingRuns) {
+        LocalDate runStart = anchor;
+        LocalDate lastDrink = null;
+        int longest = 0;
+        for (DateRange run : drinkingRuns) {
+            if (!run.getLastDate().isBefore(runStart)) {
+                if (!run.getFirstDate().isBefore(runStart)) {
+                    longest = Math.max(longest, (int) ChronoUnit.DAYS.between(runStart, run.getFirstDate()));
+                }
+                runStart = run.getLastDate().plusDays(1);
+            }
+            lastDrink = run.getLastDate();
+        }
+        streak.setRunStart(runStart);
+        streak.setRunEnd(null);
+        streak.setLastBreakDate(lastDrink);
+        streak.setLongestStreak(longest);
+    }
+
+    private LocalDate accountStartDate(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        return user.getCreatedAt() != null
+                ? LocalDate.ofInstant(user.getCreatedAt(), ZoneId.systemDefault())
+                : LocalDate.now();
+    }
+}
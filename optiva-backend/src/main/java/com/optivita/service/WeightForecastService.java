@@ -0,0 +1,219 @@
+package com.optivita.service;
+
+import com.optivita.dto.weight.WeightStatsResponse;
+import com.optivita.entity.WeightRegression;
+import com.optivita.repository.WeightEntryRepository;
+import com.optivita.repository.WeightRegressionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Projects when a user reaches their target weight from a least-squares line over the last
+ * {@code app.weight-forecast.window-days} of weight entries. The regression sums live in
+ * {@link WeightRegression} and are adjusted by every weight write, so a forecast costs O(1)
+ * plus the few entries that aged out of the window since the last write.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeightForecastService {
+
+    private static final int MIN_POINTS = 3;
+    private static final int MAX_FORECAST_DAYS = 3650;
+    private static final double REACHED_KG = 0.1;
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    /** Two-sided 95 % Student t quantiles for 1..30 degrees of freedom; 1.96 beyond. */
+    private static final double[] T95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private final WeightRegressionRepository weightRegressionRepository;
+    private final WeightEntryRepository weightEntryRepository;
+
+    @Value("${app.weight-forecast.window-days:90}")
+    private int windowDays;
+
+    /** Regression sums relative to an origin day. */
+    private record Sums(int n, double x, double y, double xy, double xx, double yy) {
+
+        static Sums of(WeightRegression r) {
+            return new Sums(r.getN(), r.getSumX(), r.getSumY(), r.getSumXY(), r.getSumXX(), r.getSumYY());
+        }
+
+        /** Sums of series entries [from, to). */
+        static Sums of(WeightSeries series, int from, int to, int originDay) {
+            double x = 0, y = 0, xy = 0, xx = 0, yy = 0;
+            for (int i = from; i < to; i++) {
+                double dx = series.epochDay(i) - originDay;
+                double kg = series.kg(i);
+                x += dx;
+                y += kg;
+                xy += dx * kg;
+                xx += dx * dx;
+                yy += kg * kg;
+            }
+            return new Sums(Math.max(to - from, 0), x, y, xy, xx, yy);
+        }
+
+        Sums minus(Sums o) {
+            return new Sums(n - o.n, x - o.x, y - o.y, xy - o.xy, xx - o.xx, yy - o.yy);
+        }
+    }
+
+    // ── Write hooks (run inside the caller's transaction) ───────────────────
+
+    public void onEntryAdded(UUID userId, LocalDate date, double kg) {
+        onEntryChanged(userId, null, 0, date, kg);
+    }
+
+    public void onEntryRemoved(UUID userId, LocalDate date, double kg) {
+        onEntryChanged(userId, date, kg, null, 0);
+    }
+
+    /** Replaces one entry's point; either side may be null for a pure add or remove. */
+    public void onEntryChanged(UUID userId, LocalDate oldDate, double oldKg, LocalDate newDate, double newKg) {
+        Optional<WeightRegression> row = weightRegressionRepository.findByUserId(userId);
+        if (row.isEmpty()) {
+            rebuild(userId);
+            return;
+        }
+        WeightRegression r = row.get();
+        LocalDate newStart = windowStart(LocalDate.now());
+        // The write is already flushed, so the slide's scan sees it: a point in the interval
+        // being dropped would be taken off sums it never entered, or left in them for good
+        if (inDropped(r, newStart, oldDate) || inDropped(r, newStart, newDate)) {
+            rebuild(userId);
+            return;
+        }
+        slide(userId, r, newStart);
+        if (oldDate != null) add(userId, r.getOriginDay(), oldDate, oldKg, -1);
+        if (newDate != null) add(userId, r.getOriginDay(), newDate, newKg, 1);
+    }
+
+    private static boolean inDropped(WeightRegression row, LocalDate newStart, LocalDate date) {
+        return date != null && !date.isBefore(row.getWindowStart()) && date.isBefore(newStart);
+    }
+
+    private void add(UUID userId, int originDay, LocalDate date, double kg, int sign) {
+        double dx = date.toEpochDay() - originDay;
+        weightRegressionRepository.addSums(userId, date, sign,
+                sign * dx, sign * kg, sign * dx * kg, sign * dx * dx, sign * kg * kg);
+    }
+
+    /** Recomputes the user's sums from the entries in the current window, e.g. after a bulk import. */
+    public void rebuild(UUID userId) {
+        weightEntryRepository.flush(); // the scan below goes through JDBC
+        LocalDate start = windowStart(LocalDate.now());
+        int origin = (int) start.toEpochDay();
+        WeightSeries series = weightEntryRepository.loadSeries(userId, start, MAX_DATE);
+        Sums sums = Sums.of(series, 0, series.size(), origin);
+        weightRegressionRepository.upsert(UUID.randomUUID(), userId, start, origin,
+                sums.n(), sums.x(), sums.y(), sums.xy(), sums.xx(), sums.yy());
+    }
+
+    private void slide(UUID userId, WeightRegression row, LocalDate newStart) {
+        if (!row.getWindowStart().isBefore(newStart)) return;
+        WeightSeries dropped = weightEntryRepository.loadSeries(userId, row.getWindowStart(), newStart.minusDays(1));
+        Sums sums = Sums.of(dropped, 0, dropped.size(), row.getOriginDay());
+        weightRegressionRepository.slideWindow(userId, row.getWindowStart(), newStart,
+                sums.n(), sums.x(), sums.y(), sums.xy(), sums.xx(), sums.yy());
+    }
+
+    // ── Forecast ─────────────────────────────────────────────────────────────
+
+    /**
+     * Forecast from the stored sums; entries that aged out since the last write are taken
+     * off using the user's series, so reads never write. Without a stored row yet (no write
+     * since this was introduced) the window is summed from the series directly.
+     *
+     * @param series   the user's full weight history, oldest first
+     * @param targetKg the profile's target weight, or null
+     */
+    public WeightStatsResponse.GoalForecast forecast(UUID userId, WeightSeries series, Double targetKg) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = windowStart(today);
+        int windowFrom = series.lowerBound(start.toEpochDay());
+
+        Sums sums;
+        int origin;
+        Optional<WeightRegression> row = weightRegressionRepository.findByUserId(userId);
+        if (row.isPresent()) {
+            WeightRegression r = row.get();
+            origin = r.getOriginDay();
+            sums = Sums.of(r);
+            if (r.getWindowStart().isBefore(start)) {
+                int droppedFrom = series.lowerBound(r.getWindowStart().toEpochDay());
+                sums = sums.minus(Sums.of(series, droppedFrom, windowFrom, origin));
+            }
+        } else {
+            origin = (int) start.toEpochDay();
+            sums = Sums.of(series, windowFrom, series.size(), origin);
+        }
+
+        WeightStatsResponse.GoalForecast.GoalForecastBuilder forecast = WeightStatsResponse.GoalForecast.builder()
+                .targetWeight(targetKg)
+                .entriesUsed(sums.n())
+                .windowStart(start);
+
+        int n = sums.n();
+        double sxx = sums.xx() - sums.x() * sums.x() / n;
+        if (n < MIN_POINTS || sxx <= 0) {
+            return forecast.outlook(WeightStatsResponse.Outlook.INSUFFICIENT_DATA).build();
+        }
+        double sxy = sums.xy() - sums.x() * sums.y() / n;
+        double slope = sxy / sxx;
+        double intercept = (sums.y() - slope * sums.x()) / n;
+        double sse = Math.max(0.0, sums.yy() - sums.y() * sums.y() / n - slope * sxy);
+        double slopeError = Math.sqrt(sse / (n - 2) / sxx);
+        double t = n - 2 <= T95.length ? T95[n - 3] : 1.96;
+        double low = slope - t * slopeError;
+        double high = slope + t * slopeError;
+
+        forecast.weeklyRateKg(round(slope * 7))
+                .weeklyRateLowKg(round(low * 7))
+                .weeklyRateHighKg(round(high * 7));
+
+        if (targetKg == null) {
+            return forecast.outlook(WeightStatsResponse.Outlook.NO_TARGET).build();
+        }
+
+        double fittedToday = intercept + slope * (today.toEpochDay() - origin);
+        double remaining = targetKg - fittedToday;
+        if (Math.abs(remaining) <= REACHED_KG) {
+            return forecast.outlook(WeightStatsResponse.Outlook.REACHED).build();
+        }
+        if (slope * remaining <= 0) {
+            return forecast.outlook(WeightStatsResponse.Outlook.MOVING_AWAY).build();
+        }
+
+        // The steeper bound (in the target's direction) gives the earliest date
+        double steep = remaining < 0 ? low : high;
+        double shallow = remaining < 0 ? high : low;
+        return forecast.outlook(WeightStatsResponse.Outlook.ON_COURSE)
+                .projectedGoalDate(dateAt(today, remaining, slope))
+                .goalDateEarliest(dateAt(today, remaining, steep))
+                .goalDateLatest(dateAt(today, remaining, shallow))
+                .build();
+    }
+
+    /** Day the remaining change is covered at the given daily rate; null if never or too far out. */
+    private static LocalDate dateAt(LocalDate today, double remaining, double ratePerDay) {
+        if (ratePerDay * remaining <= 0) return null;
+        double days = Math.ceil(remaining / ratePerDay);
+        return days > MAX_FORECAST_DAYS ? null : today.plusDays((long) days);
+    }
+
+    private LocalDate windowStart(LocalDate today) {
+        return today.minusDays(windowDays);
+    }
+
+    private static Double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,293 @@
+package com.optivita.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optivita.dto.weight.WeightEntryRequest;
+import com.optivita.dto.weight.WeightImportResponse;
+import com.optivita.entity.WeightEntry;
+import com.optivita.exception.BadRequestException;
+import com.optivita.repository.WeightEntryRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports weight history from CSV or JSON. The upload is parsed row by row and written in
+ * fixed-size JDBC batches, so memory stays flat however large the file is; dates the user
+ * already has are skipped by the insert itself rather than checked one query per row.
+ * A malformed file (as opposed to a bad row) rolls back the whole import.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeightImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+    private static final Set<String> DATE_COLUMNS = Set.of("date", "entry_date");
+    private static final Set<String> WEIGHT_COLUMNS = Set.of("weight", "weight_kg", "weightkg");
+    private static final String NOTES_COLUMN = "notes";
+
+    private final WeightEntryRepository weightEntryRepository;
+    private final WeightTrendService weightTrendService;
+    private final WeightForecastService weightForecastService;
+    private final DailySummaryService dailySummaryService;
+    private final WeightSeriesCache weightSeriesCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * CSV: comma-separated date (yyyy-MM-dd), weight in kg and optional notes. An optional
+     * header row may name the columns (date/entry_date, weight/weight_kg/weightKg, notes) in any order.
+     * JSON: a top-level array of objects shaped like {@link WeightEntryRequest}.
+     */
+    @Transactional
+    public WeightImportResponse importEntries(UUID userId, InputStream in, WeightImportResponse.Format format)
+            throws IOException {
+        ImportRun run = new ImportRun(userId);
+        if (format == WeightImportResponse.Format.JSON) {
+            readJson(in, run);
+        } else {
+            readCsv(in, run);
+        }
+        run.flush();
+
+        if (run.firstDate != null) {
+            weightTrendService.recomputeFrom(userId, run.firstDate);
+            weightForecastService.rebuild(userId);
+            weightSeriesCache.invalidate(userId);
+            dailySummaryService.refreshByYear(userId, run.firstDate, run.lastDate);
+        }
+
+        return WeightImportResponse.builder()
+                .format(format)
+                .accepted(run.accepted)
+                .skipped(run.skipped)
+                .rejected(run.rejected)
+                .errors(run.errors)
+                .build();
+    }
+
+    // ── CSV ──────────────────────────────────────────────────────────────────
+
+    private void readCsv(InputStream in, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int dateCol = 0;
+        int weightCol = 1;
+        int notesCol = 2;
+        boolean first = true;
+        long lineNo = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (first && line.startsWith("\uFEFF")) line = line.substring(1);
+            if (line.isBlank()) continue;
+            List<String> fields = splitCsv(line);
+
+            if (first) {
+                first = false;
+                if (isHeader(fields)) {
+                    dateCol = weightCol = notesCol = -1;
+                    for (int i = 0; i < fields.size(); i++) {
+                        String name = columnName(fields.get(i));
+                        if (DATE_COLUMNS.contains(name)) dateCol = i;
+                        else if (WEIGHT_COLUMNS.contains(name)) weightCol = i;
+                        else if (NOTES_COLUMN.equals(name)) notesCol = i;
+                    }
+                    if (dateCol < 0 || weightCol < 0) {
+                        throw new BadRequestException("CSV header must contain 'date' and 'weight_kg' columns");
+                    }
+                    continue;
+                }
+            }
+
+            if (fields == null) {
+                run.reject(lineNo, "Unterminated quoted field");
+                continue;
+            }
+            String dateText = field(fields, dateCol);
+            String weightText = field(fields, weightCol);
+            String notes = field(fields, notesCol);
+
+            WeightEntryRequest request = new WeightEntryRequest();
+            try {
+                request.setDate(dateText == null || dateText.isBlank() ? null : LocalDate.parse(dateText.trim()));
+            } catch (DateTimeParseException e) {
+                run.reject(lineNo, "Invalid date: " + dateText);
+                continue;
+            }
+            try {
+                request.setWeightKg(weightText == null || weightText.isBlank() ? null : Double.parseDouble(weightText.trim()));
+            } catch (NumberFormatException e) {
+                run.reject(lineNo, "Invalid weight: " + weightText);
+                continue;
+            }
+            request.setNotes(notes == null || notes.isBlank() ? null : notes);
+            run.add(lineNo, request);
+        }
+    }
+
+    /**
+     * The first row is a header when it is not data and names one of the known columns;
+     * otherwise it is read as data, so a first row with a bad date is rejected like any other.
+     */
+    private boolean isHeader(List<String> fields) {
+        if (fields == null || fields.isEmpty()) return false;
+        try {
+            LocalDate.parse(fields.get(0).trim());
+            return false;
+        } catch (DateTimeParseException e) {
+            return fields.stream().map(this::columnName).anyMatch(name ->
+                    DATE_COLUMNS.contains(name) || WEIGHT_COLUMNS.contains(name) || NOTES_COLUMN.equals(name));
+        }
+    }
+
+    private String columnName(String field) {
+        return field.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    /** Splits one CSV line, honouring double-quoted fields with "" escapes; null if a quote is left open. */
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(current.toString());
+        return fields;
+    }
+
+    // ── JSON ─────────────────────────────────────────────────────────────────
+
+    private void readJson(InputStream in, ImportRun run) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("JSON import must be an array of weight entries");
+            }
+            long index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("JSON import ended before the closing ']'");
+                }
+                // Read one element as a tree so a bad element can be rejected without losing our place
+                JsonNode node = parser.readValueAsTree();
+                if (node == null || !node.isObject()) {
+                    run.reject(index++, "Expected an object");
+                    continue;
+                }
+                WeightEntryRequest request;
+                try {
+                    request = objectMapper.treeToValue(node, WeightEntryRequest.class);
+                } catch (JsonProcessingException e) {
+                    run.reject(index++, "Invalid entry: " + e.getOriginalMessage());
+                    continue;
+                }
+                run.add(index++, request);
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // ── Batching ─────────────────────────────────────────────────────────────
+
+    /** Counters and the pending chunk for one import. */
+    private final class ImportRun {
+        private final UUID userId;
+        private final List<WeightEntry> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<WeightImportResponse.RowError> errors = new ArrayList<>();
+        private int accepted;
+        private int skipped;
+        private int rejected;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+
+        private ImportRun(UUID userId) {
+            this.userId = userId;
+        }
+
+        void add(long row, WeightEntryRequest request) {
+            Set<ConstraintViolation<WeightEntryRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(row, violations.iterator().next().getMessage());
+                return;
+            }
+            if (!Double.isFinite(request.getWeightKg())) {
+                reject(row, "Weight must be a finite number");
+                return;
+            }
+            chunk.add(WeightEntry.builder()
+                    .entryDate(request.getDate())
+                    .weightKg(request.getWeightKg())
+                    .notes(request.getNotes())
+                    .build());
+            if (chunk.size() == CHUNK_SIZE) flush();
+        }
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(WeightImportResponse.RowError.builder().row(row).message(message).build());
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+            int inserted = weightEntryRepository.insertIgnoringExisting(userId, chunk);
+            accepted += inserted;
+            skipped += chunk.size() - inserted;
+            if (inserted > 0) {
+                for (WeightEntry entry : chunk) {
+                    LocalDate date = entry.getEntryDate();
+                    if (firstDate == null || date.isBefore(firstDate)) firstDate = date;
+                    if (lastDate == null || date.isAfter(lastDate)) lastDate = date;
+                }
+            }
+            chunk.clear();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.optivita.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Weight entries as parallel primitive arrays (epoch day, kg) in ascending date order,
+ * used for charting and numeric work without materializing entities. Once built and
+ * handed out (e.g. by the per-user cache) a series is only read, never appended to.
+ */
+public final class WeightSeries {
+
+    private int[] epochDays;
+    private double[] kg;
+    private int size;
+
+    public WeightSeries(int initialCapacity) {
+        this.epochDays = new int[Math.max(initialCapacity, 16)];
+        this.kg = new double[epochDays.length];
+    }
+
+    private WeightSeries(int[] epochDays, double[] kg) {
+        this.epochDays = epochDays;
+        this.kg = kg;
+        this.size = epochDays.length;
+    }
+
+    public void add(LocalDate date, double weightKg) {
+        if (size == epochDays.length) {
+            epochDays = Arrays.copyOf(epochDays, size * 2);
+            kg = Arrays.copyOf(kg, size * 2);
+        }
+        epochDays[size] = (int) date.toEpochDay();
+        kg[size] = weightKg;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int epochDay(int i) {
+        return epochDays[i];
+    }
+
+    public double kg(int i) {
+        return kg[i];
+    }
+
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(epochDays[i]);
+    }
+
+    /** Index of the first entry on or after epochDay, or size() if there is none. */
+    public int lowerBound(long epochDay) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < epochDay) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Copy of the entries dated within [from, to]. */
+    public WeightSeries slice(LocalDate from, LocalDate to) {
+        int start = lowerBound(from.toEpochDay());
+        int end = lowerBound(to.toEpochDay() + 1);
+        if (start >= end) return new WeightSeries(new int[0], new double[0]);
+        return new WeightSeries(Arrays.copyOfRange(epochDays, start, end), Arrays.copyOfRange(kg, start, end));
+    }
+
+    /**
+     * Index of the entry closest to date and at most maxDays away, the earlier one on ties,
+     * or -1 when there is none.
+     */
+    public int closestIndex(LocalDate date, int maxDays) {
+        long target = date.toEpochDay();
+        int after = lowerBound(target);
+        int before = after - 1;
+        long afterDiff = after < size ? epochDays[after] - target : Long.MAX_VALUE;
+        long beforeDiff = before >= 0 ? target - epochDays[before] : Long.MAX_VALUE;
+        if (beforeDiff <= afterDiff) {
+            return beforeDiff <= maxDays ? before : -1;
+        }
+        return afterDiff <= maxDays ? after : -1;
+    }
+
+    /** Mean weight of the entries in [from, size()), or null when that range is empty. */
+    public Double averageFrom(int from) {
+        if (from >= size) return null;
+        double sum = 0;
+        for (int i = from; i < size; i++) sum += kg[i];
+        return sum / (size - from);
+    }
+}
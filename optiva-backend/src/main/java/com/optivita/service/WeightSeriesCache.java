@@ -0,0 +1,106 @@
+package com.optivita.service;
+
+import com.optivita.repository.WeightEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process cache of each user's full weight history as a {@link WeightSeries}.
+ * Histories are small and mostly append-only, so series, stats and closest-entry lookups
+ * are answered from memory. Least recently used users are evicted once the cached points
+ * exceed the configured budget; writes invalidate the user's series after commit.
+ */
+@Component
+public class WeightSeriesCache {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int GENERATION_STRIPES = 64;
+
+    private final WeightEntryRepository weightEntryRepository;
+    private final long maxPoints;
+
+    private final LinkedHashMap<UUID, WeightSeries> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedPoints;
+
+    /**
+     * Bumped on every invalidation. A load only populates the cache if its stripe did not
+     * move while the load was running, so a read racing a write cannot cache stale data.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public WeightSeriesCache(WeightEntryRepository weightEntryRepository,
+                             @Value("${app.weight-cache.max-points:2000000}") long maxPoints) {
+        this.weightEntryRepository = weightEntryRepository;
+        this.maxPoints = maxPoints;
+    }
+
+    /** The user's full history, oldest first. Callers must not modify the returned series. */
+    public WeightSeries get(UUID userId) {
+        synchronized (this) {
+            WeightSeries cached = entries.get(userId);
+            if (cached != null) return cached;
+        }
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        WeightSeries loaded = weightEntryRepository.loadSeries(userId, MIN_DATE, MAX_DATE);
+
+        synchronized (this) {
+            if (generations.get(stripe) == generation && loaded.size() <= maxPoints) {
+                WeightSeries previous = entries.put(userId, loaded);
+                if (previous != null) cachedPoints -= previous.size();
+                cachedPoints += loaded.size();
+                evict();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the user's series once the current transaction completes (immediately when
+     * there is none), so that the next read sees the committed data.
+     */
+    public void invalidate(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                discard(userId);
+            }
+        });
+    }
+
+    private void discard(UUID userId) {
+        generations.incrementAndGet(stripe(userId));
+        synchronized (this) {
+            WeightSeries removed = entries.remove(userId);
+            if (removed != null) cachedPoints -= removed.size();
+        }
+    }
+
+    /** Removes least recently used series until the point budget is met. Caller holds the lock. */
+    private void evict() {
+        Iterator<Map.Entry<UUID, WeightSeries>> it = entries.entrySet().iterator();
+        while (cachedPoints > maxPoints && it.hasNext()) {
+            cachedPoints -= it.next().getValue().size();
+            it.remove();
+        }
+    }
+
+    private int stripe(UUID userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+}
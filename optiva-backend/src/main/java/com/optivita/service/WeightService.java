@@ -3,14 +3,15 @@ package com.optivita.service;
 import com.optivita.dto.PageResponse;
 import com.optivita.dto.weight.WeightEntryRequest;
 import com.optivita.dto.weight.WeightEntryResponse;
+import com.optivita.dto.weight.WeightSeriesResponse;
 import com.optivita.dto.weight.WeightStatsResponse;
-import com.optivita.entity.Checkpoint;
-import com.optivita.entity.Program;
+import com.optivita.dto.weight.WeightTrendResponse;
 import com.optivita.entity.User;
+import com.optivita.entity.UserProfile;
 import com.optivita.entity.WeightEntry;
 import com.optivita.exception.BadRequestException;
 import com.optivita.exception.ResourceNotFoundException;
-import com.optivita.repository.ProgramRepository;
+import com.optivita.repository.CheckpointRepository;
 import com.optivita.repository.UserProfileRepository;
 import com.optivita.repository.UserRepository;
 import com.optivita.repository.WeightEntryRepository;
@@ -22,19 +23,30 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class WeightService {
 
+    private static final int MIN_SERIES_POINTS = 3;
+    private static final int MAX_SERIES_POINTS = 5000;
+    private static final int CHECKPOINT_MATCH_DAYS = 3;
+
     private final WeightEntryRepository weightEntryRepository;
     private final UserRepository userRepository;
     private final UserProfileRepository profileRepository;
-    private final ProgramRepository programRepository;
+    private final CheckpointRepository checkpointRepository;
+    private final WeightSeriesCache weightSeriesCache;
+    private final DailySummaryService dailySummaryService;
+    private final WeightTrendService weightTrendService;
+    private final WeightForecastService weightForecastService;
 
     @Transactional
     public WeightEntryResponse create(UUID userId, WeightEntryRequest request) {
@@ -52,7 +64,12 @@ public class WeightService {
                 .notes(request.getNotes())
                 .build();
 
-        return mapToResponse(weightEntryRepository.save(entry));
+        WeightEntry saved = weightEntryRepository.save(entry);
+        weightTrendService.recomputeFrom(userId, saved.getEntryDate());
+        weightForecastService.onEntryAdded(userId, saved.getEntryDate(), saved.getWeightKg());
+        weightSeriesCache.invalidate(userId);
+        dailySummaryService.refresh(userId, saved.getEntryDate());
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -100,12 +117,23 @@ public class WeightService {
     public WeightEntryResponse update(UUID userId, UUID entryId, WeightEntryRequest request) {
         WeightEntry entry = weightEntryRepository.findByIdAndUserId(entryId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("WeightEntry", "id", entryId));
+        LocalDate previousDate = entry.getEntryDate();
+        double previousKg = entry.getWeightKg();
 
         if (request.getDate() != null) entry.setEntryDate(request.getDate());
         if (request.getWeightKg() != null) entry.setWeightKg(request.getWeightKg());
         if (request.getNotes() != null) entry.setNotes(request.getNotes());
 
-        return mapToResponse(weightEntryRepository.save(entry));
+        WeightEntry saved = weightEntryRepository.save(entry);
+        weightTrendService.recomputeFrom(userId,
+                previousDate.isBefore(saved.getEntryDate()) ? previousDate : saved.getEntryDate());
+        weightForecastService.onEntryChanged(userId, previousDate, previousKg, saved.getEntryDate(), saved.getWeightKg());
+        weightSeriesCache.invalidate(userId);
+        dailySummaryService.refresh(userId, saved.getEntryDate());
+        if (!previousDate.equals(saved.getEntryDate())) {
+            dailySummaryService.refresh(userId, previousDate);
+        }
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -113,74 +141,142 @@ public class WeightService {
         WeightEntry entry = weightEntryRepository.findByIdAndUserId(entryId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("WeightEntry", "id", entryId));
         weightEntryRepository.delete(entry);
+        weightTrendService.recomputeFrom(userId, entry.getEntryDate());
+        weightForecastService.onEntryRemoved(userId, entry.getEntryDate(), entry.getWeightKg());
+        weightSeriesCache.invalidate(userId);
+        dailySummaryService.refresh(userId, entry.getEntryDate());
+    }
+
+    public WeightTrendResponse getTrend(UUID userId, LocalDate from, LocalDate to) {
+        return weightTrendService.getTrend(userId, from, to);
+    }
+
+    /**
+     * Chart series for [from, to], sliced from the cached history. Without a bucket, entries
+     * are downsampled with LTTB to at most maxPoints; with WEEK or MONTH, min/max/avg are
+     * returned per calendar bucket.
+     */
+    public WeightSeriesResponse getSeries(UUID userId, LocalDate from, LocalDate to, int maxPoints,
+                                          WeightSeriesResponse.Bucket bucket) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (maxPoints < MIN_SERIES_POINTS || maxPoints > MAX_SERIES_POINTS) {
+            throw new BadRequestException("maxPoints must be between " + MIN_SERIES_POINTS + " and " + MAX_SERIES_POINTS);
+        }
+
+        WeightSeries series = weightSeriesCache.get(userId).slice(from, to);
+        WeightSeriesResponse.WeightSeriesResponseBuilder response = WeightSeriesResponse.builder()
+                .from(from)
+                .to(to)
+                .totalPoints(series.size())
+                .bucket(bucket);
+
+        if (bucket != null) {
+            return response.buckets(bucketStats(series, bucket)).build();
+        }
+
+        int[] kept = LttbDownsampler.select(series, maxPoints);
+        List<WeightSeriesResponse.Point> points = new ArrayList<>(kept.length);
+        for (int i : kept) {
+            points.add(WeightSeriesResponse.Point.builder()
+                    .date(series.date(i))
+                    .weightKg(series.kg(i))
+                    .build());
+        }
+        return response.points(points).build();
+    }
+
+    private List<WeightSeriesResponse.BucketStats> bucketStats(WeightSeries series, WeightSeriesResponse.Bucket bucket) {
+        List<WeightSeriesResponse.BucketStats> buckets = new ArrayList<>();
+        int i = 0;
+        while (i < series.size()) {
+            LocalDate start = bucketStart(series.date(i), bucket);
+            LocalDate next = bucket == WeightSeriesResponse.Bucket.WEEK ? start.plusWeeks(1) : start.plusMonths(1);
+            long nextEpochDay = next.toEpochDay();
+
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            double sum = 0;
+            int count = 0;
+            for (; i < series.size() && series.epochDay(i) < nextEpochDay; i++) {
+                double kg = series.kg(i);
+                min = Math.min(min, kg);
+                max = Math.max(max, kg);
+                sum += kg;
+                count++;
+            }
+            buckets.add(WeightSeriesResponse.BucketStats.builder()
+                    .start(start)
+                    .count(count)
+                    .minKg(min)
+                    .maxKg(max)
+                    .avgKg(Math.round(sum / count * 100.0) / 100.0)
+                    .build());
+        }
+        return buckets;
     }
 
+    private LocalDate bucketStart(LocalDate date, WeightSeriesResponse.Bucket bucket) {
+        return bucket == WeightSeriesResponse.Bucket.WEEK
+                ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : date.withDayOfMonth(1);
+    }
+
+    /**
+     * Builds weight stats from the cached history; only the profile and the checkpoint
+     * targets are read from the database. Checkpoints are matched to the closest entry
+     * within 3 days by binary search.
+     */
     @Transactional(readOnly = true)
     public WeightStatsResponse getStats(UUID userId) {
         WeightStatsResponse.WeightStatsResponseBuilder stats = WeightStatsResponse.builder();
+        WeightSeries series = weightSeriesCache.get(userId);
 
-        // Current weight (latest entry)
-        weightEntryRepository.findFirstByUserIdOrderByEntryDateDesc(userId)
-                .ifPresent(latest -> {
-                    stats.currentWeight(latest.getWeightKg());
-                    stats.currentWeightDate(latest.getEntryDate());
-                });
+        Double currentWeight = null;
+        Double firstWeight = null;
+        if (series.size() > 0) {
+            currentWeight = series.kg(series.size() - 1);
+            firstWeight = series.kg(0);
+            stats.currentWeight(currentWeight);
+            stats.currentWeightDate(series.date(series.size() - 1));
+        }
 
         // Starting weight from profile or first entry
-        Double startingWeight = profileRepository.findByUserId(userId)
-                .map(p -> p.getStartingWeightKg())
-                .orElseGet(() -> weightEntryRepository.findFirstByUserIdOrderByEntryDateAsc(userId)
-                        .map(WeightEntry::getWeightKg)
-                        .orElse(null));
+        Optional<UserProfile> profile = profileRepository.findByUserId(userId);
+        Double startingWeight = profile.isPresent() ? profile.get().getStartingWeightKg() : firstWeight;
         stats.startingWeight(startingWeight);
 
         // Total change
-        WeightEntry latest = weightEntryRepository.findFirstByUserIdOrderByEntryDateDesc(userId).orElse(null);
-        if (startingWeight != null && latest != null) {
-            stats.totalChange(Math.round((latest.getWeightKg() - startingWeight) * 100.0) / 100.0);
+        if (startingWeight != null && currentWeight != null) {
+            stats.totalChange(Math.round((currentWeight - startingWeight) * 100.0) / 100.0);
         }
 
         // 7-day rolling average
-        LocalDate sevenDaysAgo = LocalDate.now().minusDays(7);
-        List<WeightEntry> recent = weightEntryRepository.findByUserIdAndDateFrom(userId, sevenDaysAgo);
-        if (!recent.isEmpty()) {
-            double avg = recent.stream().mapToDouble(WeightEntry::getWeightKg).average().orElse(0);
-            stats.rollingAvg7Day(Math.round(avg * 100.0) / 100.0);
+        Double avg7 = series.averageFrom(series.lowerBound(LocalDate.now().minusDays(7).toEpochDay()));
+        if (avg7 != null) {
+            stats.rollingAvg7Day(Math.round(avg7 * 100.0) / 100.0);
         }
 
         // Checkpoint progress
-        List<Program> programs = programRepository.findByUserIdOrderByStartDateDesc(userId);
-        List<WeightStatsResponse.CheckpointProgressItem> cpProgress = new ArrayList<>();
-        for (Program program : programs) {
-            for (Checkpoint cp : program.getCheckpoints()) {
-                WeightEntry closestEntry = findClosestEntry(userId, cp.getCheckpointDate());
-                cpProgress.add(WeightStatsResponse.CheckpointProgressItem.builder()
-                        .title(cp.getTitle())
-                        .checkpointDate(cp.getCheckpointDate())
-                        .targetWeight(cp.getTargetWeightKg())
-                        .actualWeight(closestEntry != null ? closestEntry.getWeightKg() : null)
-                        .status(cp.getStatus().name())
-                        .build());
-            }
-        }
-        stats.checkpointProgress(cpProgress);
+        stats.checkpointProgress(checkpointRepository.findTargetsByUserId(userId).stream()
+                .map(cp -> {
+                    int closest = series.closestIndex(cp.getCheckpointDate(), CHECKPOINT_MATCH_DAYS);
+                    return WeightStatsResponse.CheckpointProgressItem.builder()
+                            .title(cp.getTitle())
+                            .checkpointDate(cp.getCheckpointDate())
+                            .targetWeight(cp.getTargetWeightKg())
+                            .actualWeight(closest >= 0 ? series.kg(closest) : null)
+                            .status(cp.getStatus().name())
+                            .build();
+                })
+                .toList());
 
-        return stats.build();
-    }
+        // Goal forecast from the incrementally maintained regression
+        stats.goalForecast(weightForecastService.forecast(userId, series,
+                profile.map(UserProfile::getTargetWeightKg).orElse(null)));
 
-    private WeightEntry findClosestEntry(UUID userId, LocalDate targetDate) {
-        // Find entries within 3 days of the checkpoint date
-        List<WeightEntry> nearby = weightEntryRepository.findByUserIdAndDateBetween(
-                userId, targetDate.minusDays(3), targetDate.plusDays(3));
-        if (nearby.isEmpty()) return null;
-
-        return nearby.stream()
-                .min((a, b) -> {
-                    long diffA = Math.abs(a.getEntryDate().toEpochDay() - targetDate.toEpochDay());
-                    long diffB = Math.abs(b.getEntryDate().toEpochDay() - targetDate.toEpochDay());
-                    return Long.compare(diffA, diffB);
-                })
-                .orElse(null);
+        return stats.build();
     }
 
     private WeightEntryResponse mapToResponse(WeightEntry entry) {
@@ -189,6 +285,9 @@ public class WeightService {
                 .date(entry.getEntryDate())
                 .weightKg(entry.getWeightKg())
                 .notes(entry.getNotes())
+                .trendKg(entry.getTrendKg() != null ? Math.round(entry.getTrendKg() * 100.0) / 100.0 : null)
+                .avg7Kg(entry.getAvg7Kg())
+                .avg30Kg(entry.getAvg30Kg())
                 .createdAt(entry.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,150 @@
+package com.optivita.service;
+
+import com.optivita.dto.weight.WeightTrendResponse;
+import com.optivita.entity.WeightEntry;
+import com.optivita.exception.BadRequestException;
+import com.optivita.repository.WeightEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the derived trend columns on weight entries: a gap-adjusted exponential
+ * moving average (trend weight) and 7/30-day rolling means. A change on a given date only
+ * affects entries on or after it, so writes recompute that suffix and nothing before it.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeightTrendService {
+
+    /** Smoothing factor per day; a gap of n days applies 1 - (1 - ALPHA)^n. */
+    static final double ALPHA = 0.1;
+
+    private static final int ROLLING_WINDOW_LONG = 30;
+    private static final int ROLLING_WINDOW_SHORT = 7;
+    private static final int RATE_WINDOW_DAYS = 28;
+
+    private final WeightEntryRepository weightEntryRepository;
+
+    /**
+     * Recomputes trend and rolling averages for every entry dated on or after from.
+     * Falls back to the full history when the entry before from has no trend yet.
+     */
+    @Transactional
+    public void recomputeFrom(UUID userId, LocalDate from) {
+        WeightEntry seed = weightEntryRepository.findFirstByUserIdAndEntryDateBeforeOrderByEntryDateDesc(userId, from)
+                .orElse(null);
+        if (seed != null && seed.getTrendKg() == null) {
+            recomputeAll(userId);
+            return;
+        }
+
+        // Rolling windows for entries at from need up to 29 days of earlier entries
+        List<WeightEntry> entries = weightEntryRepository.findByUserIdAndDateFrom(userId,
+                from.minusDays(ROLLING_WINDOW_LONG - 1));
+        apply(entries, from, seed);
+    }
+
+    @Transactional
+    public void recomputeAll(UUID userId) {
+        apply(weightEntryRepository.findByUserIdAndDateFrom(userId, LocalDate.of(1900, 1, 1)), LocalDate.MIN, null);
+    }
+
+    /**
+     * Trend series for [from, to] plus the weekly rate of change of the trend over the last
+     * four weeks of the range. Entries written before trends existed are backfilled first.
+     */
+    @Transactional
+    public WeightTrendResponse getTrend(UUID userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (weightEntryRepository.existsByUserIdAndTrendKgIsNull(userId)) {
+            recomputeAll(userId);
+        }
+
+        List<WeightEntry> entries = weightEntryRepository.findByUserIdAndDateBetween(userId, from, to);
+        List<WeightTrendResponse.TrendPoint> points = entries.stream()
+                .map(e -> WeightTrendResponse.TrendPoint.builder()
+                        .date(e.getEntryDate())
+                        .weightKg(e.getWeightKg())
+                        .trendKg(round(e.getTrendKg()))
+                        .avg7Kg(e.getAvg7Kg())
+                        .avg30Kg(e.getAvg30Kg())
+                        .build())
+                .toList();
+
+        return WeightTrendResponse.builder()
+                .from(from)
+                .to(to)
+                .points(points)
+                .weeklyRateKg(weeklyRate(entries))
+                .build();
+    }
+
+    /**
+     * Recomputes entries dated on or after from. entries must be ascending and include every
+     * entry from 29 days before from onward; seed is the last entry before from, or null.
+     */
+    private void apply(List<WeightEntry> entries, LocalDate from, WeightEntry seed) {
+        Double trend = seed != null ? seed.getTrendKg() : null;
+        LocalDate trendDate = seed != null ? seed.getEntryDate() : null;
+
+        int start7 = 0;
+        int start30 = 0;
+        double sum7 = 0;
+        double sum30 = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            WeightEntry entry = entries.get(i);
+            LocalDate date = entry.getEntryDate();
+            double kg = entry.getWeightKg();
+
+            sum7 += kg;
+            sum30 += kg;
+            while (!entries.get(start7).getEntryDate().isAfter(date.minusDays(ROLLING_WINDOW_SHORT))) {
+                sum7 -= entries.get(start7++).getWeightKg();
+            }
+            while (!entries.get(start30).getEntryDate().isAfter(date.minusDays(ROLLING_WINDOW_LONG))) {
+                sum30 -= entries.get(start30++).getWeightKg();
+            }
+
+            if (date.isBefore(from)) continue;
+
+            if (trend == null) {
+                trend = kg;
+            } else {
+                long gap = ChronoUnit.DAYS.between(trendDate, date);
+                trend += (1 - Math.pow(1 - ALPHA, gap)) * (kg - trend);
+            }
+            trendDate = date;
+
+            entry.setTrendKg(trend);
+            entry.setAvg7Kg(round(sum7 / (i - start7 + 1)));
+            entry.setAvg30Kg(round(sum30 / (i - start30 + 1)));
+        }
+    }
+
+    /** Change of the trend per 7 days between the last entry and the entry ~4 weeks before it. */
+    private Double weeklyRate(List<WeightEntry> entries) {
+        if (entries.size() < 2) return null;
+        WeightEntry last = entries.get(entries.size() - 1);
+        LocalDate windowStart = last.getEntryDate().minusDays(RATE_WINDOW_DAYS);
+        WeightEntry first = entries.get(0);
+        for (WeightEntry entry : entries) {
+            if (entry.getEntryDate().isAfter(windowStart)) break;
+            first = entry;
+        }
+        long days = ChronoUnit.DAYS.between(first.getEntryDate(), last.getEntryDate());
+        if (days == 0) return null;
+        return round((last.getTrendKg() - first.getTrendKg()) / days * 7);
+    }
+
+    private static Double round(Double value) {
+        return value == null ? null : Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -12,9 +12,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -24,7 +26,9 @@ import java.util.UUID;
 public class WorkoutPlanService {
 
     private final WorkoutPlanRepository workoutPlanRepository;
+    private final PlanGraphLoader planGraphLoader;
     private final UserRepository userRepository;
+    private final DailySummaryService dailySummaryService;
 
     @Transactional
     public WorkoutPlanResponse create(UUID userId, WorkoutPlanRequest request) {
@@ -76,13 +80,14 @@ public class WorkoutPlanService {
             }
         }
 
-        return mapToResponse(workoutPlanRepository.save(plan));
+        WorkoutPlan saved = workoutPlanRepository.save(plan);
+        dailySummaryService.refreshWeek(userId, saved.getWeekStartDate());
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
     public List<WorkoutPlanResponse> getAll(UUID userId) {
-        return workoutPlanRepository.findByUserIdOrderByWeekStartDateDesc(userId)
-                .stream().map(this::mapToResponse).toList();
+        return planGraphLoader.workoutPlans(workoutPlanRepository.findByUserIdOrderByWeekStartDateDesc(userId));
     }
 
     @Transactional(readOnly = true)
@@ -101,7 +106,7 @@ public class WorkoutPlanService {
         }
 
         return PageResponse.<WorkoutPlanResponse>builder()
-                .content(result.getContent().stream().map(this::mapToResponse).toList())
+                .content(planGraphLoader.workoutPlans(result.getContent()))
                 .page(result.getNumber())
                 .size(result.getSize())
                 .totalElements(result.getTotalElements())
@@ -115,53 +120,50 @@ public class WorkoutPlanService {
     public WorkoutPlanResponse getById(UUID userId, UUID planId) {
         WorkoutPlan plan = workoutPlanRepository.findByIdAndUserId(planId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("WorkoutPlan", "id", planId));
-        return mapToResponse(plan);
+        return planGraphLoader.workoutPlan(plan);
     }
 
     @Transactional
     public WorkoutPlanResponse update(UUID userId, UUID planId, WorkoutPlanRequest request) {
         WorkoutPlan plan = workoutPlanRepository.findByIdAndUserId(planId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("WorkoutPlan", "id", planId));
+        if (request.getVersion() != null && !request.getVersion().equals(plan.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(WorkoutPlan.class, planId);
+        }
 
-        plan.getDays().clear();
-
-        if (request.getDays() != null) {
-            for (WorkoutDayRequest dayReq : request.getDays()) {
-                WorkoutPlanDay day = WorkoutPlanDay.builder()
-                        .workoutPlan(plan)
-                        .dayOfWeek(dayReq.getDayOfWeek())
-                        .build();
+        // Diff against the persisted tree so unchanged rows are left alone
+        PlanReconciler.reconcile(plan.getDays(), request.getDays(),
+                WorkoutPlanDay::getDayOfWeek, WorkoutDayRequest::getDayOfWeek,
+                () -> WorkoutPlanDay.builder().workoutPlan(plan).build(),
+                this::applyDay);
 
-                if (dayReq.getSessions() != null) {
-                    for (WorkoutSessionRequest sessionReq : dayReq.getSessions()) {
-                        WorkoutSession session = WorkoutSession.builder()
-                                .workoutPlanDay(day)
-                                .name(sessionReq.getName())
-                                .orderIndex(sessionReq.getOrderIndex())
-                                .build();
+        // Child rows carry no version; touching the plan bumps its @Version, so concurrent edits conflict
+        plan.setUpdatedAt(Instant.now());
+        return mapToResponse(workoutPlanRepository.saveAndFlush(plan));
+    }
 
-                        if (sessionReq.getExercises() != null) {
-                            for (ExerciseRequest exReq : sessionReq.getExercises()) {
-                                Exercise exercise = Exercise.builder()
-                                        .workoutSession(session)
-                                        .name(exReq.getName())
-                                        .sets(exReq.getSets())
-                                        .reps(exReq.getReps())
-                                        .duration(exReq.getDuration())
-                                        .weight(exReq.getWeight())
-                                        .orderIndex(exReq.getOrderIndex())
-                                        .build();
-                                session.getExercises().add(exercise);
-                            }
-                        }
-                        day.getSessions().add(session);
-                    }
-                }
-                plan.getDays().add(day);
-            }
-        }
+    private void applyDay(WorkoutPlanDay day, WorkoutDayRequest dayReq) {
+        day.setDayOfWeek(dayReq.getDayOfWeek());
+        PlanReconciler.reconcile(day.getSessions(), dayReq.getSessions(),
+                WorkoutSession::getOrderIndex, WorkoutSessionRequest::getOrderIndex,
+                () -> WorkoutSession.builder().workoutPlanDay(day).build(),
+                this::applySession);
+    }
 
-        return mapToResponse(workoutPlanRepository.save(plan));
+    private void applySession(WorkoutSession session, WorkoutSessionRequest sessionReq) {
+        session.setName(sessionReq.getName());
+        session.setOrderIndex(sessionReq.getOrderIndex());
+        PlanReconciler.reconcile(session.getExercises(), sessionReq.getExercises(),
+                Exercise::getOrderIndex, ExerciseRequest::getOrderIndex,
+                () -> Exercise.builder().workoutSession(session).build(),
+                (exercise, exReq) -> {
+                    exercise.setName(exReq.getName());
+                    exercise.setSets(exReq.getSets());
+                    exercise.setReps(exReq.getReps());
+                    exercise.setDuration(exReq.getDuration());
+                    exercise.setWeight(exReq.getWeight());
+                    exercise.setOrderIndex(exReq.getOrderIndex());
+                });
     }
 
     @Transactional
@@ -169,44 +171,58 @@ public class WorkoutPlanService {
         WorkoutPlan plan = workoutPlanRepository.findByIdAndUserId(planId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("WorkoutPlan", "id", planId));
         workoutPlanRepository.delete(plan);
+        dailySummaryService.refreshWeek(userId, plan.getWeekStartDate());
+    }
+
+    @Transactional
+    public WorkoutPlanResponse copyLastWeek(UUID userId, LocalDate newWeekStartDate) {
+        WorkoutPlan lastPlan = workoutPlanRepository.findFirstByUserIdOrderByWeekStartDateDesc(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("No previous workout plan found to copy"));
+        return copyWeek(userId, lastPlan.getId(), newWeekStartDate);
+    }
+
+    /** Copies a plan to another week inside the database, see {@link WorkoutPlanRepository#copyPlan}. */
+    @Transactional
+    public WorkoutPlanResponse copyWeek(UUID userId, UUID sourcePlanId, LocalDate newWeekStartDate) {
+        requireFreeWeek(userId, newWeekStartDate);
+        UUID newId = UUID.randomUUID();
+        if (workoutPlanRepository.copyPlan(sourcePlanId, userId, newId, newWeekStartDate) == 0) {
+            throw new ResourceNotFoundException("WorkoutPlan", "id", sourcePlanId);
+        }
+        return loadCreated(userId, newId, newWeekStartDate);
+    }
+
+    @Transactional
+    public WorkoutPlanResponse createFromTemplate(UUID userId, UUID templateId, LocalDate weekStartDate) {
+        requireFreeWeek(userId, weekStartDate);
+        UUID newId = UUID.randomUUID();
+        if (workoutPlanRepository.createFromTemplate(templateId, userId, newId, weekStartDate) == 0) {
+            throw new ResourceNotFoundException("PlanTemplate", "id", templateId);
+        }
+        return loadCreated(userId, newId, weekStartDate);
+    }
+
+    private void requireFreeWeek(UUID userId, LocalDate weekStartDate) {
+        if (workoutPlanRepository.findByUserIdAndWeekStartDate(userId, weekStartDate).isPresent()) {
+            throw new BadRequestException("Workout plan already exists for week starting: " + weekStartDate);
+        }
     }
 
+    private WorkoutPlanResponse loadCreated(UUID userId, UUID planId, LocalDate weekStartDate) {
+        dailySummaryService.refreshWeek(userId, weekStartDate);
+        WorkoutPlan plan = workoutPlanRepository.findById(planId)
+                .orElseThrow(() -> new ResourceNotFoundException("WorkoutPlan", "id", planId));
+        return planGraphLoader.workoutPlan(plan);
+    }
+
+    /** Maps a graph already in memory, e.g. one just built and saved; reads go through {@link PlanGraphLoader}. */
     private WorkoutPlanResponse mapToResponse(WorkoutPlan plan) {
-        List<WorkoutPlanResponse.DayResponse> days = plan.getDays().stream().map(day -> {
-            List<WorkoutPlanResponse.SessionResponse> sessions = day.getSessions().stream().map(session -> {
-                List<WorkoutPlanResponse.ExerciseResponse> exercises = session.getExercises().stream().map(ex ->
-                        WorkoutPlanResponse.ExerciseResponse.builder()
-                                .id(ex.getId())
-                                .name(ex.getName())
-                                .sets(ex.getSets())
-                                .reps(ex.getReps())
-                                .duration(ex.getDuration())
-                                .weight(ex.getWeight())
-                                .orderIndex(ex.getOrderIndex())
-                                .build()
-                ).toList();
-
-                return WorkoutPlanResponse.SessionResponse.builder()
-                        .id(session.getId())
-                        .name(session.getName())
-                        .orderIndex(session.getOrderIndex())
-                        .exercises(exercises)
-                        .build();
-            }).toList();
-
-            return WorkoutPlanResponse.DayResponse.builder()
-                    .id(day.getId())
-                    .dayOfWeek(day.getDayOfWeek())
-                    .sessions(sessions)
-                    .build();
-        }).toList();
-
-        return WorkoutPlanResponse.builder()
-                .id(plan.getId())
-                .weekStartDate(plan.getWeekStartDate())
-                .days(days)
-                .createdAt(plan.getCreatedAt())
-                .updatedAt(plan.getUpdatedAt())
-                .build();
+        List<WorkoutPlanResponse.DayResponse> days = plan.getDays().stream()
+                .map(day -> PlanGraphLoader.mapDay(day, day.getSessions().stream()
+                        .map(session -> PlanGraphLoader.mapSession(session, session.getExercises().stream()
+                                .map(PlanGraphLoader::mapExercise).toList()))
+                        .toList()))
+                .toList();
+        return PlanGraphLoader.mapPlan(plan, days);
     }
 }
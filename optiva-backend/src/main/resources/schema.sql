@@ -66,6 +66,15 @@ CREATE TABLE IF NOT EXISTS checkpoints (
     target_weight_kg DOUBLE PRECISION,
     notes TEXT,
     status VARCHAR(20) NOT NULL DEFAULT 'UPCOMING',
+    eval_status VARCHAR(20),
+    eval_summary TEXT,
+    eval_entries_analyzed INTEGER,
+    eval_avg_weight_change_kg DOUBLE PRECISION,
+    eval_avg_waist_change_cm DOUBLE PRECISION,
+    eval_avg_workouts_per_week DOUBLE PRECISION,
+    eval_avg_steps DOUBLE PRECISION,
+    eval_avg_diet_compliance DOUBLE PRECISION,
+    evaluated_at TIMESTAMP WITH TIME ZONE,
     version INTEGER DEFAULT 0
 );
 CREATE INDEX IF NOT EXISTS idx_checkpoints_program_id ON checkpoints(program_id);
@@ -77,17 +86,39 @@ CREATE TABLE IF NOT EXISTS weight_entries (
     entry_date DATE NOT NULL,
     weight_kg DOUBLE PRECISION NOT NULL,
     notes TEXT,
+    trend_kg DOUBLE PRECISION,
+    avg7_kg DOUBLE PRECISION,
+    avg30_kg DOUBLE PRECISION,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
     UNIQUE(user_id, entry_date)
 );
 CREATE INDEX IF NOT EXISTS idx_weight_entries_user_id ON weight_entries(user_id);
 CREATE INDEX IF NOT EXISTS idx_weight_entries_user_date ON weight_entries(user_id, entry_date);
 
+-- Weight Regressions (least-squares sums over the forecast window, one row per user)
+CREATE TABLE IF NOT EXISTS weight_regressions (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    window_start DATE NOT NULL,
+    origin_day INTEGER NOT NULL,
+    n INTEGER NOT NULL DEFAULT 0,
+    sum_x DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_y DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_xy DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_xx DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_yy DOUBLE PRECISION NOT NULL DEFAULT 0
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_weight_regressions_user_id ON weight_regressions(user_id);
+
 -- Meal Plans
 CREATE TABLE IF NOT EXISTS meal_plans (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     week_start_date DATE NOT NULL,
+    total_calories INTEGER,
+    total_protein_g DOUBLE PRECISION,
+    total_carbs_g DOUBLE PRECISION,
+    total_fat_g DOUBLE PRECISION,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
     version INTEGER DEFAULT 0,
@@ -99,14 +130,22 @@ CREATE INDEX IF NOT EXISTS idx_meal_plans_user_id ON meal_plans(user_id);
 CREATE TABLE IF NOT EXISTS meal_plan_days (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     meal_plan_id UUID NOT NULL REFERENCES meal_plans(id) ON DELETE CASCADE,
-    day_of_week INTEGER NOT NULL
+    day_of_week INTEGER NOT NULL,
+    total_calories INTEGER,
+    total_protein_g DOUBLE PRECISION,
+    total_carbs_g DOUBLE PRECISION,
+    total_fat_g DOUBLE PRECISION
 );
 
 -- Meals
 CREATE TABLE IF NOT EXISTS meals (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     meal_plan_day_id UUID NOT NULL REFERENCES meal_plan_days(id) ON DELETE CASCADE,
-    meal_type VARCHAR(20) NOT NULL
+    meal_type VARCHAR(20) NOT NULL,
+    total_calories INTEGER,
+    total_protein_g DOUBLE PRECISION,
+    total_carbs_g DOUBLE PRECISION,
+    total_fat_g DOUBLE PRECISION
 );
 
 -- Meal Items
@@ -160,6 +199,18 @@ CREATE TABLE IF NOT EXISTS exercises (
     order_index INTEGER NOT NULL
 );
 
+-- Plan Templates (a meal or workout plan's days as JSONB, applied to any week)
+CREATE TABLE IF NOT EXISTS plan_templates (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    kind VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    payload JSONB NOT NULL,
+    day_count INTEGER NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS idx_plan_templates_user_kind ON plan_templates(user_id, kind);
+
 -- Habits
 CREATE TABLE IF NOT EXISTS habits (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -172,6 +223,7 @@ CREATE TABLE IF NOT EXISTS habits (
     version INTEGER DEFAULT 0
 );
 CREATE INDEX IF NOT EXISTS idx_habits_user_id ON habits(user_id);
+CREATE INDEX IF NOT EXISTS idx_habits_user_active ON habits(user_id, is_active);
 
 -- Habit Logs
 CREATE TABLE IF NOT EXISTS habit_logs (
@@ -235,3 +287,39 @@ CREATE TABLE IF NOT EXISTS alcohol_logs (
 );
 CREATE INDEX IF NOT EXISTS idx_alcohol_logs_user_id ON alcohol_logs(user_id);
 CREATE INDEX IF NOT EXISTS idx_alcohol_logs_user_date ON alcohol_logs(user_id, log_date);
+
+-- Daily Summaries (per-user, per-day read model kept current by every tracking write)
+CREATE TABLE IF NOT EXISTS daily_summaries (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    weight_kg DOUBLE PRECISION,
+    habits_done INTEGER NOT NULL DEFAULT 0,
+    habits_total INTEGER NOT NULL DEFAULT 0,
+    cigarettes_count INTEGER,
+    smoke_free BOOLEAN,
+    alcohol_units DOUBLE PRECISION,
+    has_journal BOOLEAN NOT NULL DEFAULT FALSE,
+    mood INTEGER,
+    energy INTEGER,
+    sleep_hours DOUBLE PRECISION,
+    has_meal_plan BOOLEAN NOT NULL DEFAULT FALSE,
+    has_workout_plan BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    UNIQUE(user_id, day)
+);
+
+-- Streaks (one row per habit, plus a smoke-free and an alcohol-free row per user)
+CREATE TABLE IF NOT EXISTS streaks (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    habit_id UUID REFERENCES habits(id) ON DELETE CASCADE,
+    type VARCHAR(20) NOT NULL,
+    run_start DATE,
+    run_end DATE,
+    longest_streak INTEGER NOT NULL DEFAULT 0,
+    last_break_date DATE,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS idx_streaks_user_type ON streaks(user_id, type);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_streaks_habit_id ON streaks(habit_id);
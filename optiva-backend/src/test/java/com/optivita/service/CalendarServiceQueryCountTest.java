@@ -0,0 +1,77 @@
+package com.optivita.service;
+
+import com.optivita.dto.calendar.CalendarResponse;
+import com.optivita.support.QueryCounter;
+import com.optivita.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The calendar costs the same fixed set of queries whatever the range length. */
+@SpringBootTest(properties = QueryCounter.ENABLE)
+class CalendarServiceQueryCountTest {
+
+    /** Weight, journal, smoking, alcohol, meal plan and workout plan dates, habit counts, active habits. */
+    private static final int CALENDAR_QUERIES = 8;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private TestUsers users;
+    private UUID userId;
+    private final LocalDate to = LocalDate.of(2025, 12, 31);
+
+    @BeforeEach
+    void seed() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+        LocalDate from = to.minusDays(364);
+        jdbc.update("INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, created_at) " +
+                "SELECT gen_random_uuid(), ?, d, 80, now() FROM generate_series(?::date, ?::date, interval '1 day') d",
+                userId, from, to);
+        jdbc.update("INSERT INTO journal_entries (id, user_id, entry_date, mood, created_at, updated_at, version) " +
+                "SELECT gen_random_uuid(), ?, d, 5, now(), now(), 0 FROM generate_series(?::date, ?::date, interval '3 days') d",
+                userId, from, to);
+        UUID habitId = UUID.randomUUID();
+        jdbc.update("INSERT INTO habits (id, user_id, name, is_active, created_at, updated_at, version) " +
+                "VALUES (?, ?, 'Walk', true, now(), now(), 0)", habitId, userId);
+        jdbc.update("INSERT INTO habit_logs (id, habit_id, log_date, status, created_at) " +
+                "SELECT gen_random_uuid(), ?, d, 'DONE', now() FROM generate_series(?::date, ?::date, interval '1 day') d",
+                habitId, from, to);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.delete(userId);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {30, 90, 365})
+    void queryCountDoesNotGrowWithRange(int days) {
+        LocalDate from = to.minusDays(days - 1);
+        QueryCounter counter = new QueryCounter(entityManagerFactory);
+        CalendarResponse[] response = new CalendarResponse[1];
+
+        long queries = counter.count(() -> response[0] = calendarService.getCalendar(userId, from, to));
+
+        assertThat(queries).isEqualTo(CALENDAR_QUERIES);
+        assertThat(response[0].getDays()).hasSize(days);
+        assertThat(response[0].getDays()).allMatch(day -> day.isHasWeight() && day.getHabitDoneCount() == 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.optivita.service;
+
+import com.optivita.dto.calendar.DailySummaryResponse;
+import com.optivita.dto.habit.HabitLogRequest;
+import com.optivita.dto.habit.HabitRequest;
+import com.optivita.dto.habit.HabitResponse;
+import com.optivita.entity.enums.HabitLogStatus;
+import com.optivita.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class DailySummaryServiceTest {
+
+    @Autowired
+    private DailySummaryService dailySummaryService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private TestUsers users;
+    private UUID userId;
+    private final LocalDate day = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void createUser() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.delete(userId);
+    }
+
+    @Test
+    void deletingAHabitRefreshesItsLoggedDays() {
+        HabitResponse walk = habitService.createHabit(userId, HabitRequest.builder().name("Walk").build());
+        HabitResponse read = habitService.createHabit(userId, HabitRequest.builder().name("Read").build());
+        habitService.logHabit(userId, walk.getId(), log(day, HabitLogStatus.DONE));
+        habitService.logHabit(userId, walk.getId(), log(day.plusDays(5), HabitLogStatus.DONE));
+        habitService.logHabit(userId, read.getId(), log(day, HabitLogStatus.MISSED));
+
+        assertThat(summary(day)).extracting(DailySummaryResponse::getHabitsDone, DailySummaryResponse::getHabitsTotal)
+                .containsExactly(1, 2);
+
+        habitService.deleteHabit(userId, walk.getId());
+
+        assertThat(summary(day)).extracting(DailySummaryResponse::getHabitsDone, DailySummaryResponse::getHabitsTotal)
+                .containsExactly(0, 1);
+        // The later day had only the deleted habit's log, so its row is gone
+        assertThat(dailySummaryService.getRange(userId, day.plusDays(5), day.plusDays(5))).isEmpty();
+    }
+
+    @Test
+    void deactivatingAHabitRefreshesItsLoggedDays() {
+        HabitResponse walk = habitService.createHabit(userId, HabitRequest.builder().name("Walk").build());
+        habitService.logHabit(userId, walk.getId(), log(day, HabitLogStatus.DONE));
+        jdbc.update("DELETE FROM daily_summaries WHERE user_id = ?", userId);
+
+        habitService.updateHabit(userId, walk.getId(), HabitRequest.builder().isActive(false).build());
+
+        // The refresh ran over the habit's logged range and recomputed the row from the logs
+        assertThat(dailySummaryService.getRange(userId, day, day)).hasSize(1);
+    }
+
+    @Test
+    void concurrentRefreshesOfTheSameNewDayBothSucceed() throws Exception {
+        jdbc.update("INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, created_at) VALUES (?, ?, ?, 80, now())",
+                UUID.randomUUID(), userId, day);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                jdbc.update("DELETE FROM daily_summaries WHERE user_id = ?", userId);
+                CyclicBarrier start = new CyclicBarrier(2);
+                Callable<Integer> refresh = () -> {
+                    start.await();
+                    return dailySummaryService.refresh(userId, day, day);
+                };
+                List<Future<Integer>> results = pool.invokeAll(List.of(refresh, refresh));
+                for (Future<Integer> result : results) {
+                    assertThat(result.get()).isEqualTo(1);
+                }
+                assertThat(summary(day).getWeightKg()).isEqualTo(80.0);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private DailySummaryResponse summary(LocalDate date) {
+        List<DailySummaryResponse> rows = dailySummaryService.getRange(userId, date, date);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private static HabitLogRequest log(LocalDate date, HabitLogStatus status) {
+        return HabitLogRequest.builder().date(date).status(status).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.optivita.service;
+
+import com.optivita.dto.meal.MealPlanGenerateRequest;
+import com.optivita.dto.meal.MealPlanGenerateResponse;
+import com.optivita.dto.meal.NutritionTotalsResponse;
+import com.optivita.support.Bench;
+import com.optivita.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Generates weeks for a user with no meal plans of their own, so the search runs over the
+ * seed catalog alone, and checks plan quality and latency against
+ * {@code app.meal-generator.time-budget-ms}.
+ */
+@SpringBootTest
+class MealPlanGeneratorBenchmarkTest {
+
+    /** Deadline checks run every 256 iterations; allow for that, loading the foods and the final join. */
+    private static final long BUDGET_SLACK_MS = 100;
+    /** The week's weighted squared errors, on top of the fixed charge for each catalog food used. */
+    private static final double MAX_FIT_SCORE = 0.05;
+
+    @Autowired
+    private MealPlanGeneratorService generator;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${app.meal-generator.time-budget-ms:200}")
+    private long timeBudgetMs;
+
+    private TestUsers users;
+    private UUID userId;
+
+    @BeforeEach
+    void createUser() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.delete(userId);
+    }
+
+    @Test
+    void catalogWeeksMeetTheTargetsWithinTheTimeBudget() {
+        MealPlanGenerateRequest request = MealPlanGenerateRequest.builder()
+                .weekStartDate(LocalDate.of(2025, 3, 3))
+                .calories(2200)
+                .proteinG(140.0)
+                .build();
+
+        MealPlanGenerateResponse[] last = new MealPlanGenerateResponse[1];
+        Bench.Timing timing = Bench.time("gen seed catalog", 3, 10, () -> last[0] = generator.generate(userId, request));
+
+        MealPlanGenerateResponse response = last[0];
+        assertThat(timing.maxMs()).isLessThanOrEqualTo(timeBudgetMs + BUDGET_SLACK_MS);
+        assertThat(response.getElapsedMs()).isLessThanOrEqualTo(timeBudgetMs + BUDGET_SLACK_MS);
+        // Every food here comes from the catalog, so each item carries the catalog charge
+        int items = response.getPlan().getDays().stream()
+                .flatMap(day -> day.getMeals().stream())
+                .mapToInt(meal -> meal.getItems().size())
+                .sum();
+        assertThat(response.getScore()).isLessThan(MAX_FIT_SCORE + items * MealPlanGeneratorService.CATALOG_COST);
+
+        NutritionTotalsResponse targets = response.getTargets();
+        assertThat(response.getDays()).hasSize(7).allSatisfy(day -> {
+            NutritionTotalsResponse totals = day.getTotals();
+            assertThat((double) totals.getCalories()).isCloseTo(targets.getCalories(), within(0.05 * targets.getCalories()));
+            assertThat(totals.getProteinG()).isCloseTo(targets.getProteinG(), within(0.10 * targets.getProteinG()));
+        });
+        assertThat(response.getPlan().getDays()).allSatisfy(day -> assertThat(day.getMeals()).hasSize(4));
+    }
+}
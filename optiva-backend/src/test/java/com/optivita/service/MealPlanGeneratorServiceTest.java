@@ -0,0 +1,261 @@
+package com.optivita.service;
+
+import com.optivita.dto.meal.MealPlanGenerateRequest;
+import com.optivita.dto.meal.MealPlanGenerateResponse.TargetSource;
+import com.optivita.entity.UserProfile;
+import com.optivita.entity.enums.Gender;
+import com.optivita.entity.enums.MealType;
+import com.optivita.exception.BadRequestException;
+import com.optivita.repository.MealPlanRepository;
+import com.optivita.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MealPlanGeneratorServiceTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2025, 3, 3);
+
+    @Nested
+    class Targets {
+
+        private final UUID userId = UUID.randomUUID();
+        private UserProfileRepository profileRepository;
+        private WeightSeriesCache weightSeriesCache;
+        private MealPlanGeneratorService generator;
+
+        @BeforeEach
+        void setUp() {
+            profileRepository = mock(UserProfileRepository.class);
+            weightSeriesCache = mock(WeightSeriesCache.class);
+            when(profileRepository.findByUserId(userId)).thenReturn(Optional.empty());
+            when(weightSeriesCache.get(userId)).thenReturn(new WeightSeries(0));
+            generator = new MealPlanGeneratorService(mock(MealPlanRepository.class), profileRepository,
+                    weightSeriesCache, mock(FoodCatalogService.class), ForkJoinPool.commonPool());
+        }
+
+        @Test
+        void requestedCaloriesAreSplitIntoMacros() {
+            weighs(80.0);
+
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().calories(2400).build());
+
+            assertThat(t.source()).isEqualTo(TargetSource.REQUEST);
+            assertThat(t.calories()).isEqualTo(2400);
+            assertThat(t.proteinG()).isCloseTo(1.8 * 80, within(1e-9));
+            assertThat(t.fatG()).isCloseTo(0.30 * 2400 / 9, within(1e-9));
+            assertThat(4 * t.proteinG() + 4 * t.carbsG() + 9 * t.fatG()).isCloseTo(2400, within(1e-6));
+        }
+
+        @Test
+        void proteinIsCappedAtItsShareOfCalories() {
+            weighs(150.0);
+
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().calories(1800).build());
+
+            assertThat(t.proteinG()).isCloseTo(0.35 * 1800 / 4, within(1e-9));
+        }
+
+        @Test
+        void withoutAWeightProteinIsAQuarterOfCalories() {
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().calories(2000).build());
+
+            assertThat(t.proteinG()).isCloseTo(0.25 * 2000 / 4, within(1e-9));
+        }
+
+        @Test
+        void carbsKeepAFloorWhenProteinAndFatTakeTheCalories() {
+            MealPlanGeneratorService.Targets t = generator.targets(userId,
+                    request().calories(2000).proteinG(250.0).fatG(100.0).build());
+
+            assertThat(t.carbsG()).isCloseTo(0.05 * 2000 / 4, within(1e-9));
+        }
+
+        @Test
+        void requestedMacrosAloneSetTheCalories() {
+            MealPlanGeneratorService.Targets t = generator.targets(userId,
+                    request().proteinG(150.0).carbsG(200.0).fatG(70.0).build());
+
+            assertThat(t.source()).isEqualTo(TargetSource.REQUEST);
+            assertThat(t.calories()).isEqualTo(4 * 150 + 4 * 200 + 9 * 70);
+            assertThat(t.proteinG()).isEqualTo(150.0);
+            assertThat(t.carbsG()).isEqualTo(200.0);
+            assertThat(t.fatG()).isEqualTo(70.0);
+        }
+
+        @Test
+        void profileTargetsUseMifflinStJeorWithADeficitTowardsALowerGoal() {
+            profile(30, 180.0, Gender.MALE, 95.0, 80.0);
+            weighs(90.0);
+
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().build());
+
+            // BMR 10 * 90 + 6.25 * 180 - 5 * 30 + 5 = 1880; x 1.375 = 2585; minus 500
+            assertThat(t.source()).isEqualTo(TargetSource.PROFILE);
+            assertThat(t.calories()).isEqualTo(2085);
+            assertThat(t.proteinG()).isCloseTo(1.8 * 90, within(1e-9));
+            assertThat(t.carbsG()).isCloseTo((2085 - 4 * 162 - 0.30 * 2085) / 4, within(1e-9));
+        }
+
+        @Test
+        void profileTargetsAddASurplusTowardsAHigherGoalAndFallBackToTheStartingWeight() {
+            profile(25, 165.0, Gender.FEMALE, 55.0, 60.0);
+
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().activityFactor(1.55).build());
+
+            // BMR 10 * 55 + 6.25 * 165 - 5 * 25 - 161 = 1295.25; x 1.55 = 2007.64; plus 300
+            assertThat(t.calories()).isEqualTo(Math.round(1295.25 * 1.55 + 300));
+            assertThat(t.proteinG()).isCloseTo(1.8 * 55, within(1e-9));
+        }
+
+        @Test
+        void theDeficitNeverGoesBelowTheFloor() {
+            profile(60, 155.0, Gender.FEMALE, 50.0, 45.0);
+
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().activityFactor(1.2).build());
+
+            // BMR 1007.75; x 1.2 = 1209.3; minus 500 would be 709, below the 1200 kcal floor
+            assertThat(t.calories()).isEqualTo(1200);
+        }
+
+        @Test
+        void aGoalWithinTheToleranceKeepsMaintenance() {
+            profile(40, 170.0, Gender.OTHER, 70.0, 69.5);
+
+            MealPlanGeneratorService.Targets t = generator.targets(userId, request().build());
+
+            // BMR 10 * 70 + 6.25 * 170 - 5 * 40 - 78 = 1484.5; x 1.375
+            assertThat(t.calories()).isEqualTo(Math.round(1484.5 * 1.375));
+        }
+
+        @Test
+        void anIncompleteProfileNeedsARequestedTarget() {
+            profile(null, 180.0, Gender.MALE, 90.0, 80.0);
+
+            assertThatThrownBy(() -> generator.targets(userId, request().build()))
+                    .isInstanceOf(BadRequestException.class);
+            assertThat(generator.targets(userId, request().calories(2000).build()).calories()).isEqualTo(2000);
+        }
+
+        private void weighs(double kg) {
+            WeightSeries series = new WeightSeries(2);
+            series.add(WEEK.minusDays(7), kg + 1);
+            series.add(WEEK.minusDays(1), kg);
+            when(weightSeriesCache.get(userId)).thenReturn(series);
+        }
+
+        private void profile(Integer age, Double heightCm, Gender gender, Double startingKg, Double targetKg) {
+            when(profileRepository.findByUserId(userId)).thenReturn(Optional.of(UserProfile.builder()
+                    .age(age).heightCm(heightCm).gender(gender)
+                    .startingWeightKg(startingKg).targetWeightKg(targetKg)
+                    .build()));
+        }
+
+        private MealPlanGenerateRequest.MealPlanGenerateRequestBuilder request() {
+            return MealPlanGenerateRequest.builder().weekStartDate(WEEK);
+        }
+    }
+
+    @Nested
+    class Week {
+
+        @Test
+        void runningSumsAndCostMatchAFullRescoreAfterEveryStep() {
+            MealPlanGeneratorService.Model model = MealPlanGeneratorService.model(foods(),
+                    new MealPlanGeneratorService.Targets(2200, 140, 250, 70, TargetSource.REQUEST));
+            MealPlanGeneratorService.Week week = new MealPlanGeneratorService.Week(model);
+            SplittableRandom random = new SplittableRandom(42);
+
+            for (int restart = 0; restart < 5; restart++) {
+                week.reset(random);
+                double temperature = 0.05;
+                for (int i = 0; i < 2_000; i++) {
+                    week.step(random, temperature);
+                    temperature *= 0.999;
+                    if (i % 50 == 0) assertConsistent(week);
+                }
+                assertConsistent(week);
+            }
+        }
+
+        @Test
+        void catalogFoodsAndRepeatsAddToTheCost() {
+            List<MealPlanGeneratorService.Candidate> foods = foods();
+            MealPlanGeneratorService.Targets targets = new MealPlanGeneratorService.Targets(2200, 140, 250, 70,
+                    TargetSource.REQUEST);
+            MealPlanGeneratorService.Week own = new MealPlanGeneratorService.Week(MealPlanGeneratorService.model(foods, targets));
+            MealPlanGeneratorService.Week catalog = new MealPlanGeneratorService.Week(MealPlanGeneratorService.model(
+                    foods.stream().map(c -> candidate(c.food, 0.002, c.mealMask)).toList(), targets));
+
+            own.reset(new SplittableRandom(7));
+            catalog.reset(new SplittableRandom(7));
+
+            int items = 0;
+            for (int c : own.count) items += c;
+            assertThat(catalog.cost - own.cost).isCloseTo(0.002 * items, within(1e-9));
+        }
+
+        private void assertConsistent(MealPlanGeneratorService.Week week) {
+            double cost = week.cost;
+            double[] dayKcal = week.dayKcal.clone();
+            double[] dayProtein = week.dayProtein.clone();
+            double[] dayCost = week.dayCost.clone();
+            double[] mealKcal = week.mealKcal.clone();
+            int[] uses = week.uses.clone();
+
+            double rescored = week.rescore();
+
+            assertThat(cost).isCloseTo(rescored, within(1e-9));
+            assertThat(dayKcal).containsExactly(week.dayKcal, within(1e-6));
+            assertThat(dayProtein).containsExactly(week.dayProtein, within(1e-6));
+            assertThat(dayCost).containsExactly(week.dayCost, within(1e-9));
+            assertThat(mealKcal).containsExactly(week.mealKcal, within(1e-6));
+            assertThat(uses).containsExactly(week.uses);
+        }
+
+        private List<MealPlanGeneratorService.Candidate> foods() {
+            List<MealPlanGeneratorService.Candidate> foods = new ArrayList<>();
+            int breakfast = bit(MealType.BREAKFAST), lunch = bit(MealType.LUNCH);
+            int dinner = bit(MealType.DINNER), snack = bit(MealType.SNACK);
+            foods.add(candidate(food("Oats", 300, 10, 54, 6), 0, breakfast));
+            foods.add(candidate(food("Eggs", 155, 13, 1, 11), 0, breakfast | lunch));
+            foods.add(candidate(food("Yogurt", 90, 15, 6, 0.5), 0, breakfast | snack));
+            foods.add(candidate(food("Chicken", 330, 62, 0, 7), 0, lunch | dinner));
+            foods.add(candidate(food("Rice", 260, 5, 57, 0.5), 0, lunch | dinner));
+            foods.add(candidate(food("Salmon", 410, 40, 0, 27), 0, dinner));
+            foods.add(candidate(food("Broccoli", 55, 4, 11, 0.5), 0, lunch | dinner));
+            foods.add(candidate(food("Apple", 95, 0.5, 25, 0.3), 0, snack | breakfast));
+            foods.add(candidate(food("Almonds", 170, 6, 6, 15), 0, snack));
+            foods.add(candidate(food("Lentils", 230, 18, 40, 0.8), 0, lunch | dinner));
+            return foods;
+        }
+    }
+
+    private static MealPlanGeneratorService.Candidate candidate(FoodIndex.Food food, double cost, int mealMask) {
+        MealPlanGeneratorService.Candidate candidate = new MealPlanGeneratorService.Candidate(food, cost);
+        candidate.mealMask = mealMask;
+        return candidate;
+    }
+
+    private static FoodIndex.Food food(String name, int calories, double protein, double carbs, double fat) {
+        return new FoodIndex.Food(name, "1 serving", calories, protein, carbs, fat);
+    }
+
+    private static int bit(MealType type) {
+        return 1 << type.ordinal();
+    }
+}
@@ -0,0 +1,147 @@
+package com.optivita.service;
+
+import com.optivita.dto.PageResponse;
+import com.optivita.dto.meal.*;
+import com.optivita.dto.workout.*;
+import com.optivita.entity.enums.MealType;
+import com.optivita.support.QueryCounter;
+import com.optivita.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Plan lists and pages cost the same fixed set of queries whatever the number of plans. */
+@SpringBootTest(properties = QueryCounter.ENABLE)
+class PlanGraphLoaderQueryCountTest {
+
+    /** Plans, then days, meals or sessions, and items or exercises. */
+    private static final int LIST_QUERIES = 4;
+    /** The list queries plus the page's count query. */
+    private static final int PAGE_QUERIES = 5;
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private WorkoutPlanService workoutPlanService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private TestUsers users;
+    private UUID userId;
+    private QueryCounter counter;
+    private final LocalDate firstWeek = LocalDate.of(2025, 1, 6);
+
+    @BeforeEach
+    void createUser() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+        counter = new QueryCounter(entityManagerFactory);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.delete(userId);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 12})
+    void mealPlanReadsDoNotGrowWithPlans(int plans) {
+        for (int p = 0; p < plans; p++) {
+            mealPlanService.create(userId, mealPlan(firstWeek.plusWeeks(p)));
+        }
+
+        List<MealPlanResponse> all = counted("plans meal getAll", plans, LIST_QUERIES,
+                () -> mealPlanService.getAll(userId));
+        assertThat(all).hasSize(plans);
+        assertThat(all).allSatisfy(plan -> {
+            assertThat(plan.getDays()).hasSize(7);
+            assertThat(plan.getDays()).allSatisfy(day -> assertThat(day.getMeals()).hasSize(3)
+                    .allSatisfy(meal -> assertThat(meal.getItems()).hasSize(2)));
+        });
+
+        PageResponse<MealPlanResponse> page = counted("plans meal getAllPaged", plans, PAGE_QUERIES,
+                () -> mealPlanService.getAllPaged(userId, 0, plans, null, "desc", null, null));
+        assertThat(page.getContent()).hasSize(plans);
+        assertThat(page.getContent().get(0).getWeekStartDate()).isEqualTo(firstWeek.plusWeeks(plans - 1));
+        assertThat(page.getContent().get(0).getDays().get(0).getMeals().get(0).getItems()).hasSize(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 12})
+    void workoutPlanReadsDoNotGrowWithPlans(int plans) {
+        for (int p = 0; p < plans; p++) {
+            workoutPlanService.create(userId, workoutPlan(firstWeek.plusWeeks(p)));
+        }
+
+        List<WorkoutPlanResponse> all = counted("plans workout getAll", plans, LIST_QUERIES,
+                () -> workoutPlanService.getAll(userId));
+        assertThat(all).hasSize(plans);
+        assertThat(all).allSatisfy(plan -> {
+            assertThat(plan.getDays()).hasSize(4);
+            assertThat(plan.getDays()).allSatisfy(day -> assertThat(day.getSessions()).hasSize(2)
+                    .allSatisfy(session -> assertThat(session.getExercises()).hasSize(3)));
+        });
+
+        PageResponse<WorkoutPlanResponse> page = counted("plans workout getAllPaged", plans, PAGE_QUERIES,
+                () -> workoutPlanService.getAllPaged(userId, 0, plans, null, "desc", null, null));
+        assertThat(page.getContent()).hasSize(plans);
+        assertThat(page.getContent().get(0).getWeekStartDate()).isEqualTo(firstWeek.plusWeeks(plans - 1));
+    }
+
+    private <T> T counted(String name, int plans, int expected, Supplier<T> read) {
+        List<T> result = new ArrayList<>(1);
+        long queries = counter.count(() -> result.add(read.get()));
+        assertThat(queries).as("%s, %d plans", name, plans).isEqualTo(expected);
+        return result.get(0);
+    }
+
+    private static MealPlanRequest mealPlan(LocalDate week) {
+        List<MealPlanDayRequest> days = new ArrayList<>();
+        for (int d = 1; d <= 7; d++) {
+            List<MealRequest> meals = new ArrayList<>();
+            for (MealType type : List.of(MealType.BREAKFAST, MealType.LUNCH, MealType.DINNER)) {
+                meals.add(MealRequest.builder().mealType(type).items(List.of(
+                        MealItemRequest.builder().name("Oats").portion("80 g").calories(300)
+                                .proteinG(10.0).carbsG(54.0).fatG(6.0).build(),
+                        MealItemRequest.builder().name("Yogurt").portion("150 g").calories(90)
+                                .proteinG(15.0).carbsG(6.0).fatG(0.5).build())).build());
+            }
+            days.add(MealPlanDayRequest.builder().dayOfWeek(d).meals(meals).build());
+        }
+        return MealPlanRequest.builder().weekStartDate(week).days(days).build();
+    }
+
+    private static WorkoutPlanRequest workoutPlan(LocalDate week) {
+        List<WorkoutDayRequest> days = new ArrayList<>();
+        for (int d : new int[]{1, 3, 5, 6}) {
+            List<WorkoutSessionRequest> sessions = new ArrayList<>();
+            for (int s = 0; s < 2; s++) {
+                List<ExerciseRequest> exercises = new ArrayList<>();
+                for (int e = 0; e < 3; e++) {
+                    exercises.add(ExerciseRequest.builder().name("Lift " + e).sets(3).reps(8).orderIndex(e).build());
+                }
+                sessions.add(WorkoutSessionRequest.builder().name("Session " + s).orderIndex(s).exercises(exercises).build());
+            }
+            days.add(WorkoutDayRequest.builder().dayOfWeek(d).sessions(sessions).build());
+        }
+        return WorkoutPlanRequest.builder().weekStartDate(week).days(days).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.optivita.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlanReconcilerTest {
+
+    /** A persisted child: a key, a value and an identity that tells reused rows from new ones. */
+    private static final class Row {
+        String key;
+        int value;
+        final boolean created;
+
+        Row(String key, int value, boolean created) {
+            this.key = key;
+            this.value = value;
+            this.created = created;
+        }
+    }
+
+    private record Request(String key, int value) {
+    }
+
+    private int creates;
+
+    @Test
+    void matchesByKeyWhateverTheOrder() {
+        Row monday = persisted("mon", 1);
+        Row tuesday = persisted("tue", 2);
+        List<Row> rows = new ArrayList<>(List.of(monday, tuesday));
+
+        reconcile(rows, new Request("tue", 20), new Request("mon", 10));
+
+        assertThat(rows).containsExactly(tuesday, monday);
+        assertThat(tuesday.value).isEqualTo(20);
+        assertThat(monday.value).isEqualTo(10);
+        assertThat(creates).isZero();
+    }
+
+    @Test
+    void reusesLeftoverRowsInOrderBeforeCreating() {
+        Row monday = persisted("mon", 1);
+        Row tuesday = persisted("tue", 2);
+        Row wednesday = persisted("wed", 3);
+        List<Row> rows = new ArrayList<>(List.of(monday, tuesday, wednesday));
+
+        reconcile(rows, new Request("fri", 5), new Request("tue", 20), new Request("sat", 6));
+
+        // tue keeps its row; fri and sat take mon and wed, the unmatched rows, in order
+        assertThat(rows).containsExactly(monday, tuesday, wednesday);
+        assertThat(rows).extracting(row -> row.key).containsExactly("fri", "tue", "sat");
+        assertThat(rows).extracting(row -> row.value).containsExactly(5, 20, 6);
+        assertThat(creates).isZero();
+    }
+
+    @Test
+    void createsOnlyTheSurplus() {
+        Row monday = persisted("mon", 1);
+        List<Row> rows = new ArrayList<>(List.of(monday));
+
+        reconcile(rows, new Request("tue", 2), new Request("mon", 10), new Request("wed", 3));
+
+        assertThat(creates).isEqualTo(2);
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(1)).isSameAs(monday);
+        assertThat(rows).extracting(row -> row.created).containsExactly(true, false, true);
+        assertThat(rows).extracting(row -> row.key).containsExactly("tue", "mon", "wed");
+    }
+
+    @Test
+    void dropsOnlyTheSurplus() {
+        Row monday = persisted("mon", 1);
+        Row tuesday = persisted("tue", 2);
+        Row wednesday = persisted("wed", 3);
+        List<Row> rows = new ArrayList<>(List.of(monday, tuesday, wednesday));
+
+        reconcile(rows, new Request("wed", 30));
+
+        assertThat(rows).containsExactly(wednesday);
+        assertThat(wednesday.value).isEqualTo(30);
+        assertThat(creates).isZero();
+    }
+
+    @Test
+    void duplicateKeysMatchInOrder() {
+        Row first = persisted("snack", 1);
+        Row second = persisted("snack", 2);
+        List<Row> rows = new ArrayList<>(List.of(first, second));
+
+        reconcile(rows, new Request("snack", 10), new Request("snack", 20), new Request("snack", 30));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isSameAs(first);
+        assertThat(rows.get(1)).isSameAs(second);
+        assertThat(rows.get(2).created).isTrue();
+        assertThat(rows).extracting(row -> row.value).containsExactly(10, 20, 30);
+    }
+
+    @Test
+    void nullRequestClearsTheLevel() {
+        List<Row> rows = new ArrayList<>(List.of(persisted("mon", 1), persisted("tue", 2)));
+
+        PlanReconciler.reconcile(rows, null, row -> row.key, Request::key, this::create, this::apply);
+
+        assertThat(rows).isEmpty();
+        assertThat(creates).isZero();
+    }
+
+    private void reconcile(List<Row> rows, Request... requests) {
+        PlanReconciler.reconcile(rows, Arrays.asList(requests), row -> row.key, Request::key, this::create, this::apply);
+    }
+
+    private Row create() {
+        creates++;
+        return new Row(null, 0, true);
+    }
+
+    private void apply(Row row, Request request) {
+        row.key = request.key();
+        row.value = request.value();
+    }
+
+    private static Row persisted(String key, int value) {
+        return new Row(key, value, false);
+    }
+}
@@ -0,0 +1,131 @@
+package com.optivita.service;
+
+import com.optivita.dto.program.ProgramRequest;
+import com.optivita.dto.program.ProgramSimulationResponse;
+import com.optivita.support.Bench;
+import com.optivita.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Simulates a fresh twelve-month program for a user with a month of steadily falling weight:
+ * latency against {@code app.simulation.time-budget-ms}, early exit on convergence, and a
+ * weight logged ahead of today.
+ */
+@SpringBootTest
+class ProgramSimulationServiceTest {
+
+    /** Deadline checks run every 64 trajectories; allow for that, the fit and the final join. */
+    private static final long BUDGET_SLACK_MS = 100;
+    private static final double KG_PER_DAY = -0.15;
+
+    @Autowired
+    private ProgramSimulationService simulationService;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private WeightSeriesCache weightSeriesCache;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${app.simulation.time-budget-ms:500}")
+    private long timeBudgetMs;
+
+    private TestUsers users;
+    private UUID userId;
+    private UUID programId;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void seed() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+        programId = programService.create(userId, ProgramRequest.builder().startDate(today).build()).getId();
+        // Daily weights over the last month, alternating 0.05 kg around the trend
+        jdbc.update("INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, created_at) " +
+                        "SELECT gen_random_uuid(), ?, d, 90 + (d::date - ?::date) * ? " +
+                        "+ CASE WHEN (d::date - ?::date) % 2 = 0 THEN 0.05 ELSE -0.05 END, now() " +
+                        "FROM generate_series(?::date, ?::date, interval '1 day') d",
+                userId, today, KG_PER_DAY, today, today.minusDays(30), today.minusDays(1));
+        weightSeriesCache.invalidate(userId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        weightSeriesCache.invalidate(userId);
+        users.delete(userId);
+    }
+
+    @Test
+    void fullRunsStayWithinTheTimeBudget() {
+        ProgramSimulationResponse[] last = new ProgramSimulationResponse[1];
+        Bench.Timing timing = Bench.time("sim full " + ProgramSimulationService.MAX_SIMULATIONS, 3, 10,
+                () -> last[0] = simulationService.simulate(userId, programId, ProgramSimulationService.MAX_SIMULATIONS, false));
+
+        ProgramSimulationResponse response = last[0];
+        assertThat(timing.maxMs()).isLessThanOrEqualTo(timeBudgetMs + BUDGET_SLACK_MS);
+        assertThat(response.getElapsedMs()).isLessThanOrEqualTo(timeBudgetMs + BUDGET_SLACK_MS);
+        assertThat(response.isConverged()).isFalse();
+        if (!response.isBudgetExhausted()) {
+            assertThat(response.getSimulationsRun()).isEqualTo(ProgramSimulationService.MAX_SIMULATIONS);
+        }
+    }
+
+    @Test
+    void earlyExitStopsOnceConvergedAndAgreesWithAFullRun() {
+        ProgramSimulationResponse[] early = new ProgramSimulationResponse[1];
+        Bench.Timing earlyTiming = Bench.time("sim early exit", 3, 10,
+                () -> early[0] = simulationService.simulate(userId, programId, ProgramSimulationService.MAX_SIMULATIONS, true));
+        ProgramSimulationResponse[] full = new ProgramSimulationResponse[1];
+        Bench.Timing fullTiming = Bench.time("sim full", 3, 10,
+                () -> full[0] = simulationService.simulate(userId, programId, ProgramSimulationService.MAX_SIMULATIONS, false));
+
+        assertThat(early[0].isConverged()).isTrue();
+        assertThat(early[0].isBudgetExhausted()).isFalse();
+        assertThat(early[0].getSimulationsRun()).isLessThan(ProgramSimulationService.MAX_SIMULATIONS);
+        assertThat(earlyTiming.p50Ms()).isLessThan(fullTiming.p50Ms());
+
+        List<ProgramSimulationResponse.CheckpointForecast> earlyForecasts = early[0].getCheckpoints();
+        List<ProgramSimulationResponse.CheckpointForecast> fullForecasts = full[0].getCheckpoints();
+        assertThat(earlyForecasts).hasSameSizeAs(fullForecasts);
+        for (int c = 0; c < earlyForecasts.size(); c++) {
+            assertThat(earlyForecasts.get(c).getWeightChangeProbability())
+                    .isCloseTo(fullForecasts.get(c).getWeightChangeProbability(), within(0.03));
+            assertThat(earlyForecasts.get(c).getOnTrackProbability())
+                    .isCloseTo(fullForecasts.get(c).getOnTrackProbability(), within(0.03));
+        }
+    }
+
+    @Test
+    void weightLoggedAheadOfTodayKeepsTheForecastFinite() {
+        jdbc.update("INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, created_at) VALUES (?, ?, ?, ?, now())",
+                UUID.randomUUID(), userId, today.plusDays(10), 90 + 10 * KG_PER_DAY);
+        weightSeriesCache.invalidate(userId);
+
+        ProgramSimulationResponse response = simulationService.simulate(userId, programId, 5_000, false);
+
+        assertThat(response.getModel().getWeightDriftKgPerWeek()).isCloseTo(KG_PER_DAY * 7, within(0.05));
+        assertThat(response.getCheckpoints()).allSatisfy(forecast ->
+                assertThat(forecast.getWeightChangeProbability()).isBetween(0.0, 1.0));
+        // The month-one window spans three weeks of the walk continued from the future entry,
+        // about 2.7 kg of loss against a 2 kg target; a walk stuck at NaN would never meet it
+        ProgramSimulationResponse.CheckpointForecast monthOne = response.getCheckpoints().get(1);
+        assertThat(monthOne.getCheckpointDate()).isEqualTo(today.plusMonths(1));
+        assertThat(monthOne.getWeightChangeProbability()).isGreaterThan(0.8);
+    }
+}
@@ -0,0 +1,119 @@
+package com.optivita.service;
+
+import com.optivita.entity.Streak;
+import com.optivita.support.QueryCounter;
+import com.optivita.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds history straight into the log tables, as it was before the streak index existed, so
+ * the first reads find no index rows.
+ */
+@SpringBootTest(properties = QueryCounter.ENABLE)
+class StreakServiceTest {
+
+    private static final int HABITS = 6;
+
+    @Autowired
+    private StreakService streakService;
+
+    @Autowired
+    private HabitService habitService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private TestUsers users;
+    private UUID userId;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void createUser() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.delete(userId);
+    }
+
+    @Test
+    void firstAnalyticsReadSavesEveryHabitStreakFromOneRunsQuery() {
+        for (int h = 0; h < HABITS; h++) {
+            UUID habitId = UUID.randomUUID();
+            jdbc.update("INSERT INTO habits (id, user_id, name, is_active, created_at, updated_at, version) " +
+                    "VALUES (?, ?, ?, true, now(), now(), 0)", habitId, userId, "Habit " + h);
+            // A closed run of 10 days, then a current run of h + 2 days through today
+            logDone(habitId, today.minusDays(29), today.minusDays(20));
+            logDone(habitId, today.minusDays(h + 1), today);
+        }
+        QueryCounter counter = new QueryCounter(entityManagerFactory);
+
+        long cold = counter.count(() -> habitService.getAllAnalytics(userId));
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM streaks WHERE user_id = ?", Integer.class, userId))
+                .isEqualTo(HABITS);
+
+        long warm = counter.count(() -> habitService.getAllAnalytics(userId));
+        assertThat(warm).isLessThan(cold);
+        assertThat(habitService.getAllAnalytics(userId)).allSatisfy(analytics -> {
+            int h = Integer.parseInt(analytics.getHabitName().substring("Habit ".length()));
+            assertThat(analytics.getCurrentStreak()).isEqualTo(h + 2);
+            assertThat(analytics.getLongestStreak()).isEqualTo(10);
+            assertThat(analytics.getLastBreakDate()).isEqualTo(today.minusDays(19));
+        });
+
+        // One habit missing its row costs what six did
+        jdbc.update("DELETE FROM streaks WHERE id = (SELECT min(id::text)::uuid FROM streaks WHERE user_id = ?)", userId);
+        assertThat(counter.count(() -> habitService.getAllAnalytics(userId))).isEqualTo(cold);
+    }
+
+    @Test
+    void concurrentFirstReadsSaveOneSmokeFreeRow() throws Exception {
+        jdbc.update("INSERT INTO smoking_logs (id, user_id, log_date, smoke_free, created_at, updated_at, version) " +
+                        "SELECT gen_random_uuid(), ?, d::date, true, now(), now(), 0 " +
+                        "FROM generate_series(?::date, ?::date, interval '1 day') d",
+                userId, today.minusDays(4), today);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                jdbc.update("DELETE FROM streaks WHERE user_id = ?", userId);
+                CyclicBarrier start = new CyclicBarrier(4);
+                Callable<Streak> read = () -> {
+                    start.await();
+                    return streakService.getSmokeFreeStreak(userId);
+                };
+                for (Future<Streak> result : pool.invokeAll(List.of(read, read, read, read))) {
+                    assertThat(streakService.currentLength(result.get(), today)).isEqualTo(5);
+                }
+                assertThat(jdbc.queryForObject("SELECT count(*) FROM streaks WHERE user_id = ?", Integer.class, userId))
+                        .isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void logDone(UUID habitId, LocalDate from, LocalDate to) {
+        jdbc.update("INSERT INTO habit_logs (id, habit_id, log_date, status, created_at) " +
+                        "SELECT gen_random_uuid(), ?, d::date, 'DONE', now() " +
+                        "FROM generate_series(?::date, ?::date, interval '1 day') d",
+                habitId, from, to);
+    }
+}
@@ -0,0 +1,139 @@
+package com.optivita.service;
+
+import com.optivita.dto.weight.WeightEntryRequest;
+import com.optivita.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Starts each user with regression sums last slid {@value #DAYS_SINCE_SLIDE} days ago, so the
+ * next write has to drop the entries that aged out since, and checks the incremental sums
+ * against a rebuild from the entries.
+ */
+@SpringBootTest
+class WeightForecastServiceTest {
+
+    private static final int DAYS_SINCE_SLIDE = 40;
+
+    @Autowired
+    private WeightForecastService forecastService;
+
+    @Autowired
+    private WeightService weightService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${app.weight-forecast.window-days:90}")
+    private int windowDays;
+
+    private TestUsers users;
+    private UUID userId;
+    private LocalDate today;
+    private LocalDate staleStart;
+
+    @BeforeEach
+    void createUser() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+        today = LocalDate.now();
+        staleStart = today.minusDays(windowDays + DAYS_SINCE_SLIDE);
+        // An entry every other day from well before the stale window start until today
+        jdbc.update("INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, created_at) " +
+                        "SELECT gen_random_uuid(), ?, d::date, 90 - (d::date - ?::date) * 0.05, now() " +
+                        "FROM generate_series(?::date, ?::date, interval '2 days') d",
+                userId, staleStart, staleStart.minusDays(20), today);
+        // The sums as the last write left them, over [staleStart, today] and relative to staleStart
+        jdbc.update("INSERT INTO weight_regressions " +
+                        "(id, user_id, window_start, origin_day, n, sum_x, sum_y, sum_xy, sum_xx, sum_yy) " +
+                        "SELECT gen_random_uuid(), ?, ?, ?, count(*), sum(x), sum(kg), sum(x * kg), sum(x * x), sum(kg * kg) " +
+                        "FROM (SELECT (entry_date - ?::date)::float8 AS x, weight_kg AS kg FROM weight_entries " +
+                        "WHERE user_id = ? AND entry_date >= ?) e",
+                userId, staleStart, staleStart.toEpochDay(), staleStart, userId, staleStart);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        users.delete(userId);
+    }
+
+    @Test
+    void deletingAnEntryThatAgedOutMatchesARebuild() {
+        weightService.delete(userId, entryOn(firstEntryOnOrAfter(staleStart.plusDays(DAYS_SINCE_SLIDE / 2))));
+
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void backfillingAnEntryThatAgedOutMatchesARebuild() {
+        LocalDate gap = firstEntryOnOrAfter(staleStart.plusDays(DAYS_SINCE_SLIDE / 2)).plusDays(1);
+        weightService.create(userId, WeightEntryRequest.builder().date(gap).weightKg(88.0).build());
+
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void movingAnEntryOutOfTheDroppedIntervalMatchesARebuild() {
+        LocalDate from = firstEntryOnOrAfter(staleStart.plusDays(DAYS_SINCE_SLIDE / 2));
+        weightService.update(userId, entryOn(from),
+                WeightEntryRequest.builder().date(firstEntryOnOrAfter(today.minusDays(5)).plusDays(1)).weightKg(87.0).build());
+
+        assertMatchesRebuild();
+    }
+
+    @Test
+    void editsInsideTheWindowSlideIncrementally() {
+        weightService.delete(userId, entryOn(firstEntryOnOrAfter(today.minusDays(10))));
+        weightService.create(userId, WeightEntryRequest.builder()
+                .date(firstEntryOnOrAfter(today.minusDays(20)).plusDays(1)).weightKg(86.0).build());
+
+        assertThat(jdbc.queryForObject("SELECT window_start FROM weight_regressions WHERE user_id = ?",
+                LocalDate.class, userId)).isEqualTo(today.minusDays(windowDays));
+        assertMatchesRebuild();
+    }
+
+    private void assertMatchesRebuild() {
+        Map<String, Object> incremental = sums();
+        transactionTemplate.executeWithoutResult(status -> forecastService.rebuild(userId));
+        Map<String, Object> rebuilt = sums();
+
+        assertThat(incremental.get("window_start")).isEqualTo(rebuilt.get("window_start"));
+        assertThat(incremental.get("n")).isEqualTo(rebuilt.get("n"));
+        // The rebuild moves the origin; centred sums and the weight sums do not depend on it
+        for (String sum : new String[]{"sum_y", "sum_yy", "sxx", "sxy"}) {
+            assertThat((double) incremental.get(sum)).as(sum).isCloseTo((double) rebuilt.get(sum), within(1e-6));
+        }
+    }
+
+    private Map<String, Object> sums() {
+        return jdbc.queryForMap("SELECT window_start, n, sum_y, sum_yy, " +
+                "sum_xx - sum_x * sum_x / n AS sxx, sum_xy - sum_x * sum_y / n AS sxy " +
+                "FROM weight_regressions WHERE user_id = ?", userId);
+    }
+
+    private LocalDate firstEntryOnOrAfter(LocalDate date) {
+        return jdbc.queryForObject("SELECT min(entry_date) FROM weight_entries WHERE user_id = ? AND entry_date >= ?",
+                LocalDate.class, userId, date);
+    }
+
+    private UUID entryOn(LocalDate date) {
+        return jdbc.queryForObject("SELECT id FROM weight_entries WHERE user_id = ? AND entry_date = ?",
+                UUID.class, userId, date);
+    }
+}
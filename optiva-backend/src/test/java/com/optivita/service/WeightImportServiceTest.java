@@ -0,0 +1,76 @@
+package com.optivita.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optivita.dto.weight.WeightImportResponse;
+import com.optivita.exception.BadRequestException;
+import com.optivita.repository.WeightEntryRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WeightImportServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private WeightImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        WeightEntryRepository weightEntryRepository = mock(WeightEntryRepository.class);
+        when(weightEntryRepository.insertIgnoringExisting(eq(userId), anyList()))
+                .thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+        importService = new WeightImportService(weightEntryRepository, mock(WeightTrendService.class),
+                mock(WeightForecastService.class), mock(DailySummaryService.class), mock(WeightSeriesCache.class),
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void aHeaderMayNameTheColumnsInAnyOrder() throws IOException {
+        WeightImportResponse response = csv("Weight_kg,notes,Date\n80.5,after run,2025-01-01\n80.1,,2025-01-02\n");
+
+        assertThat(response.getAccepted()).isEqualTo(2);
+        assertThat(response.getRejected()).isZero();
+    }
+
+    @Test
+    void withoutAHeaderTheFirstRowIsData() throws IOException {
+        WeightImportResponse response = csv("2025-01-01,80.5\n2025-01-02,80.1\n");
+
+        assertThat(response.getAccepted()).isEqualTo(2);
+    }
+
+    @Test
+    void aFirstRowWithABadDateIsRejectedNotTakenForAHeader() throws IOException {
+        WeightImportResponse response = csv("2025-13-01,80.5\n2025-01-02,80.1\n");
+
+        assertThat(response.getAccepted()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(1);
+            assertThat(error.getMessage()).isEqualTo("Invalid date: 2025-13-01");
+        });
+    }
+
+    @Test
+    void aHeaderWithoutTheDateOrWeightColumnFailsTheImport() {
+        assertThatThrownBy(() -> csv("date,notes\n2025-01-01,x\n"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private WeightImportResponse csv(String body) throws IOException {
+        return importService.importEntries(userId, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                WeightImportResponse.Format.CSV);
+    }
+}
@@ -0,0 +1,116 @@
+package com.optivita.service;
+
+import com.optivita.entity.WeightEntry;
+import com.optivita.repository.WeightEntryRepository;
+import com.optivita.support.Bench;
+import com.optivita.support.TestUsers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the cached primitive series with the JPA path it replaced for the reads stats and
+ * charts make: a 90-day range slice, a 7-day average and a closest-entry lookup over three
+ * years of daily entries. Both paths must agree, and the cache must be at least
+ * {@value #MIN_SPEEDUP} times faster at the median.
+ */
+@SpringBootTest
+class WeightSeriesCacheBenchmarkTest {
+
+    private static final int DAYS = 3 * 365;
+    private static final int WARMUPS = 200;
+    private static final int RUNS = 500;
+    private static final int MIN_SPEEDUP = 10;
+
+    @Autowired
+    private WeightSeriesCache weightSeriesCache;
+
+    @Autowired
+    private WeightEntryRepository weightEntryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private TestUsers users;
+    private UUID userId;
+    private final LocalDate to = LocalDate.of(2025, 12, 31);
+    private final LocalDate from = to.minusDays(89);
+    private final LocalDate checkpoint = to.minusDays(45);
+
+    @BeforeEach
+    void seed() {
+        users = new TestUsers(jdbc);
+        userId = users.create();
+        jdbc.update("INSERT INTO weight_entries (id, user_id, entry_date, weight_kg, created_at) " +
+                        "SELECT gen_random_uuid(), ?, d, 95 - (d::date - ?::date) * 0.01, now() " +
+                        "FROM generate_series(?::date, ?::date, interval '1 day') d " +
+                        "WHERE extract(dow FROM d) <> 0",
+                userId, to.minusDays(DAYS - 1), to.minusDays(DAYS - 1), to);
+        weightSeriesCache.invalidate(userId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        weightSeriesCache.invalidate(userId);
+        users.delete(userId);
+    }
+
+    @Test
+    void cacheAnswersRangeReadsFasterThanJpa() {
+        Reads viaJpa = transactionTemplate.execute(status -> jpaReads());
+        Reads viaCache = cacheReads();
+        assertThat(viaCache).isEqualTo(viaJpa);
+
+        Bench.Timing jpa = Bench.time("weight reads via JPA", WARMUPS, RUNS,
+                () -> transactionTemplate.execute(status -> jpaReads()));
+        Bench.Timing cache = Bench.time("weight reads via cache", WARMUPS, RUNS, this::cacheReads);
+
+        assertThat(jpa.p50Ms() / cache.p50Ms()).as("%s vs %s", cache, jpa).isGreaterThanOrEqualTo(MIN_SPEEDUP);
+    }
+
+    private Reads jpaReads() {
+        List<WeightEntry> range = weightEntryRepository.findByUserIdAndDateBetween(userId, from, to);
+        double avg7 = range.stream()
+                .filter(e -> !e.getEntryDate().isBefore(to.minusDays(7)))
+                .mapToDouble(WeightEntry::getWeightKg)
+                .average().orElse(Double.NaN);
+        WeightEntry closest = null;
+        for (WeightEntry e : weightEntryRepository.findByUserIdAndDateBetween(userId,
+                checkpoint.minusDays(3), checkpoint.plusDays(3))) {
+            if (closest == null || distance(e.getEntryDate()) < distance(closest.getEntryDate())) closest = e;
+        }
+        return new Reads(range.size(), round(avg7), closest == null ? null : closest.getWeightKg());
+    }
+
+    private Reads cacheReads() {
+        WeightSeries series = weightSeriesCache.get(userId);
+        WeightSeries range = series.slice(from, to);
+        Double avg7 = range.averageFrom(range.lowerBound(to.minusDays(7).toEpochDay()));
+        int closest = series.closestIndex(checkpoint, 3);
+        return new Reads(range.size(), round(avg7 == null ? Double.NaN : avg7), closest >= 0 ? series.kg(closest) : null);
+    }
+
+    private long distance(LocalDate date) {
+        return Math.abs(date.toEpochDay() - checkpoint.toEpochDay());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1e6) / 1e6;
+    }
+
+    private record Reads(int rangeSize, double avg7, Double closestKg) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.optivita.service;
+
+import com.optivita.dto.weight.WeightStatsResponse;
+import com.optivita.entity.enums.CheckpointStatus;
+import com.optivita.repository.CheckpointRepository;
+import com.optivita.repository.UserProfileRepository;
+import com.optivita.repository.UserRepository;
+import com.optivita.repository.WeightEntryRepository;
+import com.optivita.repository.projection.CheckpointTargetRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/** Stats read the weight history once and the checkpoint targets once, however many checkpoints there are. */
+class WeightServiceStatsTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDate today = LocalDate.now();
+
+    private WeightEntryRepository weightEntryRepository;
+    private CheckpointRepository checkpointRepository;
+    private WeightService weightService;
+
+    @BeforeEach
+    void setUp() {
+        weightEntryRepository = mock(WeightEntryRepository.class);
+        checkpointRepository = mock(CheckpointRepository.class);
+        UserProfileRepository profileRepository = mock(UserProfileRepository.class);
+        WeightForecastService forecastService = mock(WeightForecastService.class);
+        when(profileRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        WeightSeries series = new WeightSeries(60);
+        for (int i = 59; i >= 0; i--) {
+            series.add(today.minusDays(i), 90.0 - (59 - i) * 0.25);
+        }
+        when(weightEntryRepository.loadSeries(eq(userId), any(), any())).thenReturn(series);
+
+        List<CheckpointTargetRow> checkpoints = List.of(
+                checkpoint("Month one", today.minusDays(30), 88.0),
+                checkpoint("Week six", today.minusDays(16), 87.0),
+                checkpoint("Today", today, 85.0),
+                checkpoint("Next month", today.plusDays(30), 83.0));
+        when(checkpointRepository.findTargetsByUserId(userId)).thenReturn(checkpoints);
+
+        weightService = new WeightService(weightEntryRepository, mock(UserRepository.class), profileRepository,
+                checkpointRepository, new WeightSeriesCache(weightEntryRepository, 10_000),
+                mock(DailySummaryService.class), mock(WeightTrendService.class), forecastService);
+    }
+
+    @Test
+    void coldStatsReadTheSeriesAndTheCheckpointsOnce() {
+        WeightStatsResponse stats = weightService.getStats(userId);
+
+        verify(weightEntryRepository).loadSeries(eq(userId), any(), any());
+        verify(checkpointRepository).findTargetsByUserId(userId);
+        verifyNoMoreInteractions(weightEntryRepository, checkpointRepository);
+
+        assertThat(stats.getCurrentWeight()).isEqualTo(75.25);
+        assertThat(stats.getStartingWeight()).isEqualTo(90.0);
+        assertThat(stats.getCheckpointProgress())
+                .extracting(WeightStatsResponse.CheckpointProgressItem::getActualWeight)
+                .containsExactly(82.75, 79.25, 75.25, null);
+    }
+
+    @Test
+    void warmStatsOnlyReadTheCheckpoints() {
+        weightService.getStats(userId);
+        clearInvocations(weightEntryRepository, checkpointRepository);
+
+        weightService.getStats(userId);
+
+        verifyNoInteractions(weightEntryRepository);
+        verify(checkpointRepository).findTargetsByUserId(userId);
+        verifyNoMoreInteractions(checkpointRepository);
+    }
+
+    private static CheckpointTargetRow checkpoint(String title, LocalDate date, double targetKg) {
+        return new CheckpointTargetRow() {
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public LocalDate getCheckpointDate() {
+                return date;
+            }
+
+            @Override
+            public Double getTargetWeightKg() {
+                return targetKg;
+            }
+
+            @Override
+            public CheckpointStatus getStatus() {
+                return CheckpointStatus.UPCOMING;
+            }
+        };
+    }
+}
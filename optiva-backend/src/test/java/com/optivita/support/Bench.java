@@ -0,0 +1,46 @@
+package com.optivita.support;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A small timing harness for benchmark-style tests. Runs a block for a number of warm-up rounds
+ * that are discarded, then times each measured round and returns percentiles in milliseconds.
+ * The block's result is kept in a sink so the JIT cannot drop the work.
+ */
+public final class Bench {
+
+    private static volatile Object sink;
+
+    private Bench() {
+    }
+
+    public record Timing(String name, int runs, double p50Ms, double p95Ms, double maxMs, double meanMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d runs, p50 %.3f ms, p95 %.3f ms, max %.3f ms, mean %.3f ms",
+                    name, runs, p50Ms, p95Ms, maxMs, meanMs);
+        }
+    }
+
+    public static Timing time(String name, int warmups, int runs, Supplier<?> block) {
+        for (int i = 0; i < warmups; i++) {
+            sink = block.get();
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long started = System.nanoTime();
+            sink = block.get();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0);
+        return new Timing(name, runs, ms(nanos[(runs - 1) / 2]), ms(nanos[(int) Math.ceil(runs * 0.95) - 1]),
+                ms(nanos[runs - 1]), mean / 1e6);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,26 @@
+package com.optivita.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the JDBC statements Hibernate prepares around a block of code. Needs
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}.
+ */
+public final class QueryCounter {
+
+    public static final String ENABLE = "spring.jpa.properties.hibernate.generate_statistics=true";
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(Runnable block) {
+        statistics.clear();
+        block.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
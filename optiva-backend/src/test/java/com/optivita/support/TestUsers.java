@@ -0,0 +1,56 @@
+package com.optivita.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Throwaway users for tests that run against the database. {@link #delete} removes the user and
+ * every row that references it, following the foreign keys from the catalog, so a test leaves
+ * nothing behind whatever it created.
+ */
+public final class TestUsers {
+
+    private final JdbcTemplate jdbc;
+
+    public TestUsers(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public UUID create() {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, email, password, created_at, updated_at, version) " +
+                "VALUES (?, ?, 'test', now(), now(), 0)", id, "test-" + id + "@optivita.test");
+        return id;
+    }
+
+    public void delete(UUID userId) {
+        delete("users", "id", List.of(userId));
+    }
+
+    private void delete(String table, String column, List<UUID> ids) {
+        if (ids.isEmpty()) return;
+        String in = String.join(",", ids.stream().map(id -> "'" + id + "'").toList());
+        // Leaf tables (element collections among them) may have no id column to look up
+        List<String[]> children = children(table);
+        if (!children.isEmpty()) {
+            List<UUID> rowIds = jdbc.queryForList(
+                    "SELECT id FROM " + table + " WHERE " + column + " IN (" + in + ")", UUID.class);
+            for (String[] child : children) {
+                delete(child[0], child[1], rowIds);
+            }
+        }
+        jdbc.update("DELETE FROM " + table + " WHERE " + column + " IN (" + in + ")");
+    }
+
+    /** (table, column) pairs with a foreign key to {@code table}.id. */
+    private List<String[]> children(String table) {
+        return jdbc.query("SELECT kcu.table_name, kcu.column_name " +
+                        "FROM information_schema.referential_constraints rc " +
+                        "JOIN information_schema.key_column_usage kcu ON kcu.constraint_name = rc.constraint_name " +
+                        "JOIN information_schema.constraint_column_usage ccu ON ccu.constraint_name = rc.unique_constraint_name " +
+                        "WHERE ccu.table_name = ? AND ccu.column_name = 'id' AND kcu.table_schema = 'public'",
+                (rs, i) -> new String[]{rs.getString(1), rs.getString(2)}, table);
+    }
+}
@@ -11,8 +11,14 @@ import type {
   WeightStatsResponse,
   MealPlanRequest,
   MealPlanResponse,
+  MealPlanNutritionResponse,
+  MealPlanGenerateRequest,
+  MealPlanGenerateResponse,
+  FoodSuggestionResponse,
   WorkoutPlanRequest,
   WorkoutPlanResponse,
+  PlanTemplateRequest,
+  PlanTemplateResponse,
   HabitRequest,
   HabitResponse,
   HabitLogRequest,
@@ -29,6 +35,8 @@ import type {
   CalendarResponse,
   ProgramRequest,
   ProgramResponse,
+  ProgramSummaryResponse,
+  ProgramSimulationResponse,
   CheckpointUpdateRequest,
   CheckpointResponse,
   ProgressEntryRequest,
@@ -109,6 +117,16 @@ export const mealPlanApi = {
       .then((r) => r.data),
   getById: (id: string) =>
     apiClient.get<MealPlanResponse>(`/meal-plans/${id}`).then((r) => r.data),
+  generate: (data: MealPlanGenerateRequest) =>
+    apiClient
+      .post<MealPlanGenerateResponse>("/meal-plans/generate", data)
+      .then((r) => r.data),
+  getNutrition: (from: string, to: string) =>
+    apiClient
+      .get<MealPlanNutritionResponse>(
+        `/meal-plans/nutrition?from=${from}&to=${to}`,
+      )
+      .then((r) => r.data),
   update: (id: string, data: MealPlanRequest) =>
     apiClient
       .put<MealPlanResponse>(`/meal-plans/${id}`, data)
@@ -121,6 +139,40 @@ export const mealPlanApi = {
         `/meal-plans/copy-last-week?weekStartDate=${weekStartDate}`,
       )
       .then((r) => r.data),
+  copyWeek: (id: string, weekStartDate: string) =>
+    apiClient
+      .post<MealPlanResponse>(
+        `/meal-plans/${id}/copy?weekStartDate=${weekStartDate}`,
+      )
+      .then((r) => r.data),
+  saveAsTemplate: (id: string, data: PlanTemplateRequest) =>
+    apiClient
+      .post<PlanTemplateResponse>(`/meal-plans/${id}/templates`, data)
+      .then((r) => r.data),
+  getTemplates: () =>
+    apiClient
+      .get<PlanTemplateResponse[]>("/meal-plans/templates")
+      .then((r) => r.data),
+  applyTemplate: (templateId: string, weekStartDate: string) =>
+    apiClient
+      .post<MealPlanResponse>(
+        `/meal-plans/templates/${templateId}/apply?weekStartDate=${weekStartDate}`,
+      )
+      .then((r) => r.data),
+  deleteTemplate: (templateId: string) =>
+    apiClient
+      .delete(`/meal-plans/templates/${templateId}`)
+      .then((r) => r.data),
+};
+
+// ─── Foods ────────────────────────────────────────────────
+export const foodApi = {
+  search: (q: string, limit = 10) =>
+    apiClient
+      .get<FoodSuggestionResponse[]>(
+        `/foods/search?q=${encodeURIComponent(q)}&limit=${limit}`,
+      )
+      .then((r) => r.data),
 };
 
 // ─── Workout Plans ────────────────────────────────────────
@@ -147,6 +199,36 @@ export const workoutPlanApi = {
       .then((r) => r.data),
   delete: (id: string) =>
     apiClient.delete(`/workout-plans/${id}`).then((r) => r.data),
+  copyLastWeek: (weekStartDate: string) =>
+    apiClient
+      .post<WorkoutPlanResponse>(
+        `/workout-plans/copy-last-week?weekStartDate=${weekStartDate}`,
+      )
+      .then((r) => r.data),
+  copyWeek: (id: string, weekStartDate: string) =>
+    apiClient
+      .post<WorkoutPlanResponse>(
+        `/workout-plans/${id}/copy?weekStartDate=${weekStartDate}`,
+      )
+      .then((r) => r.data),
+  saveAsTemplate: (id: string, data: PlanTemplateRequest) =>
+    apiClient
+      .post<PlanTemplateResponse>(`/workout-plans/${id}/templates`, data)
+      .then((r) => r.data),
+  getTemplates: () =>
+    apiClient
+      .get<PlanTemplateResponse[]>("/workout-plans/templates")
+      .then((r) => r.data),
+  applyTemplate: (templateId: string, weekStartDate: string) =>
+    apiClient
+      .post<WorkoutPlanResponse>(
+        `/workout-plans/templates/${templateId}/apply?weekStartDate=${weekStartDate}`,
+      )
+      .then((r) => r.data),
+  deleteTemplate: (templateId: string) =>
+    apiClient
+      .delete(`/workout-plans/templates/${templateId}`)
+      .then((r) => r.data),
 };
 
 // ─── Habits ───────────────────────────────────────────────
@@ -171,6 +253,10 @@ export const habitApi = {
     apiClient
       .get<HabitAnalyticsResponse>(`/habits/${habitId}/analytics`)
       .then((r) => r.data),
+  getAllAnalytics: () =>
+    apiClient
+      .get<HabitAnalyticsResponse[]>("/habits/analytics")
+      .then((r) => r.data),
 };
 
 // ─── Journal ──────────────────────────────────────────────
@@ -261,6 +347,10 @@ export const programApi = {
     apiClient.post<ProgramResponse>("/programs", data).then((r) => r.data),
   getAll: () =>
     apiClient.get<ProgramResponse[]>("/programs").then((r) => r.data),
+  getSummaries: () =>
+    apiClient
+      .get<ProgramSummaryResponse[]>("/programs/summary")
+      .then((r) => r.data),
   getById: (id: string) =>
     apiClient.get<ProgramResponse>(`/programs/${id}`).then((r) => r.data),
   update: (id: string, data: ProgramRequest) =>
@@ -284,6 +374,16 @@ export const programApi = {
         CheckpointResponse[]
       >(`/programs/${programId}/checkpoints/regenerate`)
       .then((r) => r.data),
+  evaluateProgram: (programId: string) =>
+    apiClient
+      .post<CheckpointEvaluationResponse[]>(`/programs/${programId}/evaluate`)
+      .then((r) => r.data),
+  simulate: (programId: string, simulations = 10000, earlyExit = false) =>
+    apiClient
+      .post<ProgramSimulationResponse>(
+        `/programs/${programId}/simulate?simulations=${simulations}&earlyExit=${earlyExit}`,
+      )
+      .then((r) => r.data),
   evaluateCheckpoint: (programId: string, checkpointId: string) =>
     apiClient
       .post<CheckpointEvaluationResponse>(
@@ -1,4 +1,4 @@
-import { useQueries } from "@tanstack/react-query";
+import { useQuery } from "@tanstack/react-query";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
 import { Progress } from "@/components/ui/progress";
 import type { HabitResponse } from "@/types";
@@ -11,16 +11,15 @@ interface Props {
 export function HabitAdherence({ habits }: Props) {
   const activeHabits = habits.filter((h) => h.isActive);
 
-  const analyticsQueries = useQueries({
-    queries: activeHabits.map((h) => ({
-      queryKey: ["habit-analytics", h.id],
-      queryFn: () => habitApi.getAnalytics(h.id),
-      enabled: activeHabits.length > 0,
-    })),
+  const activeIds = new Set(activeHabits.map((h) => h.id));
+
+  const { data: allAnalytics, isLoading } = useQuery({
+    queryKey: ["habit-analytics"],
+    queryFn: habitApi.getAllAnalytics,
+    enabled: activeHabits.length > 0,
   });
 
-  const isLoading = analyticsQueries.some((q) => q.isLoading);
-  const analytics = analyticsQueries.filter((q) => q.data).map((q) => q.data!);
+  const analytics = (allAnalytics ?? []).filter((a) => activeIds.has(a.habitId));
 
   const avg7 = analytics.length
     ? Math.round(
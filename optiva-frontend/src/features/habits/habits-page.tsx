@@ -36,7 +36,11 @@ import { PageSkeleton } from "@/components/shared/loading-skeleton";
 import { EmptyState } from "@/components/shared/empty-state";
 import { ErrorState } from "@/components/shared/error-state";
 import { habitApi } from "@/api/endpoints";
-import type { HabitResponse, HabitLogStatus } from "@/types";
+import type {
+  HabitResponse,
+  HabitLogStatus,
+  HabitAnalyticsResponse,
+} from "@/types";
 
 const habitSchema = z.object({
   name: z.string().min(1, "Name is required"),
@@ -60,6 +64,14 @@ export default function HabitsPage() {
     queryFn: habitApi.getAll,
   });
 
+  const { data: allAnalytics } = useQuery({
+    queryKey: ["habit-analytics"],
+    queryFn: habitApi.getAllAnalytics,
+  });
+  const analyticsById = new Map(
+    (allAnalytics ?? []).map((a) => [a.habitId, a] as const),
+  );
+
   const form = useForm<HabitFormValues>({
     resolver: zodResolver(habitSchema),
     defaultValues: { name: "", description: "" },
@@ -70,6 +82,7 @@ export default function HabitsPage() {
       habitApi.create({ ...data, isActive: true }),
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: ["habits"] });
+      queryClient.invalidateQueries({ queryKey: ["habit-analytics"] });
       toast.success("Habit created");
       closeDialog();
     },
@@ -90,6 +103,7 @@ export default function HabitsPage() {
     mutationFn: habitApi.delete,
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: ["habits"] });
+      queryClient.invalidateQueries({ queryKey: ["habit-analytics"] });
       toast.success("Habit deleted");
     },
   });
@@ -227,6 +241,7 @@ export default function HabitsPage() {
                 <HabitCard
                   key={habit.id}
                   habit={habit}
+                  analytics={analyticsById.get(habit.id)}
                   onEdit={() => openEdit(habit)}
                   onDelete={() => deleteMutation.mutate(habit.id)}
                   onLog={(status) =>
@@ -250,6 +265,7 @@ export default function HabitsPage() {
                 <HabitCard
                   key={habit.id}
                   habit={habit}
+                  analytics={analyticsById.get(habit.id)}
                   onEdit={() => openEdit(habit)}
                   onDelete={() => deleteMutation.mutate(habit.id)}
                   onLog={(status) =>
@@ -267,20 +283,17 @@ export default function HabitsPage() {
 
 function HabitCard({
   habit,
+  analytics,
   onEdit,
   onDelete,
   onLog,
 }: {
   habit: HabitResponse;
+  analytics?: HabitAnalyticsResponse;
   onEdit: () => void;
   onDelete: () => void;
   onLog: (status: HabitLogStatus) => void;
 }) {
-  const { data: analytics } = useQuery({
-    queryKey: ["habit-analytics", habit.id],
-    queryFn: () => habitApi.getAnalytics(habit.id),
-  });
-
   return (
     <Card className="shadow-md hover:shadow-lg transition-all duration-200 overflow-hidden min-w-0">
       <CardHeader className="pb-2">
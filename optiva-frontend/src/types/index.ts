@@ -119,6 +119,27 @@ export interface WeightStatsResponse {
   totalChange: number;
   rollingAvg7Day: number;
   checkpointProgress: CheckpointProgressItem[];
+  goalForecast: GoalForecast;
+}
+
+export type GoalOutlook =
+  | "INSUFFICIENT_DATA"
+  | "NO_TARGET"
+  | "REACHED"
+  | "ON_COURSE"
+  | "MOVING_AWAY";
+
+export interface GoalForecast {
+  outlook: GoalOutlook;
+  targetWeight: number | null;
+  entriesUsed: number;
+  windowStart: string;
+  weeklyRateKg: number | null;
+  weeklyRateLowKg: number | null;
+  weeklyRateHighKg: number | null;
+  projectedGoalDate: string | null;
+  goalDateEarliest: string | null;
+  goalDateLatest: string | null;
 }
 
 // ─── Meal Planning ────────────────────────────────────────
@@ -143,6 +164,7 @@ export interface MealPlanDayRequest {
 
 export interface MealPlanRequest {
   weekStartDate: string;
+  version?: number;
   days?: MealPlanDayRequest[];
 }
 
@@ -156,24 +178,83 @@ export interface MealItemResponse {
   fatG: number;
 }
 
+export interface NutritionTotals {
+  calories: number;
+  proteinG: number;
+  carbsG: number;
+  fatG: number;
+}
+
 export interface MealResponse {
   id: string;
   mealType: MealType;
   items: MealItemResponse[];
+  totals: NutritionTotals;
 }
 
 export interface MealPlanDayResponse {
   id: string;
   dayOfWeek: number;
   meals: MealResponse[];
+  totals: NutritionTotals;
 }
 
 export interface MealPlanResponse {
   id: string;
   weekStartDate: string;
   days: MealPlanDayResponse[];
+  totals: NutritionTotals;
   createdAt: string;
   updatedAt: string;
+  version: number;
+}
+
+export interface NutritionPoint {
+  date: string;
+  totals: NutritionTotals;
+}
+
+export interface MealPlanNutritionResponse {
+  from: string;
+  to: string;
+  days: NutritionPoint[];
+  weeks: NutritionPoint[];
+}
+
+export interface MealPlanGenerateRequest {
+  weekStartDate: string;
+  calories?: number;
+  proteinG?: number;
+  carbsG?: number;
+  fatG?: number;
+  activityFactor?: number;
+  includeCatalog?: boolean;
+}
+
+export interface MealPlanGenerateResponse {
+  plan: MealPlanRequest;
+  targets: NutritionTotals;
+  targetSource: "REQUEST" | "PROFILE";
+  days: { dayOfWeek: number; totals: NutritionTotals }[];
+  foodsConsidered: number;
+  iterations: number;
+  restarts: number;
+  score: number;
+  budgetExhausted: boolean;
+  elapsedMs: number;
+}
+
+export type FoodSource = "HISTORY" | "CATALOG";
+
+export interface FoodSuggestionResponse {
+  name: string;
+  portion: string;
+  calories: number;
+  proteinG: number;
+  carbsG: number;
+  fatG: number;
+  source: FoodSource;
+  fuzzy: boolean;
 }
 
 // ─── Workout Planning ─────────────────────────────────────
@@ -199,6 +280,7 @@ export interface WorkoutDayRequest {
 
 export interface WorkoutPlanRequest {
   weekStartDate: string;
+  version?: number;
   days?: WorkoutDayRequest[];
 }
 
@@ -231,6 +313,22 @@ export interface WorkoutPlanResponse {
   days: WorkoutDayResponse[];
   createdAt: string;
   updatedAt: string;
+  version: number;
+}
+
+// ─── Plan Templates ───────────────────────────────────────
+export type PlanKind = "MEAL" | "WORKOUT";
+
+export interface PlanTemplateRequest {
+  name: string;
+}
+
+export interface PlanTemplateResponse {
+  id: string;
+  kind: PlanKind;
+  name: string;
+  dayCount: number;
+  createdAt: string;
 }
 
 // ─── Habits ───────────────────────────────────────────────
@@ -265,8 +363,11 @@ export interface HabitLogResponse {
 }
 
 export interface HabitAnalyticsResponse {
+  habitId: string;
   habitName: string;
   currentStreak: number;
+  longestStreak: number;
+  lastBreakDate: string | null;
   adherence7Day: number;
   adherence30Day: number;
   totalDone: number;
@@ -329,10 +430,24 @@ export interface SmokingTrendPoint {
   cravings: number;
 }
 
+export type TrendPeriod = "WEEK" | "MONTH" | "YEAR";
+
+export interface SmokingPeriodStats {
+  periodStart: string;
+  loggedDays: number;
+  smokeFreeDays: number;
+  totalCigarettes: number;
+  avgCigarettes: number | null;
+  avgCravings: number | null;
+}
+
 export interface SmokingAnalyticsResponse {
   smokeFreeStreak: number;
+  longestSmokeFreeStreak: number;
   weeklyAvgCigarettes: number;
   trendPoints: SmokingTrendPoint[];
+  period: TrendPeriod;
+  trend: SmokingPeriodStats[];
 }
 
 // ─── Alcohol ──────────────────────────────────────────────
@@ -362,10 +477,27 @@ export interface AlcoholMonthlyTrend {
   drinkingDays: number;
 }
 
+export interface AlcoholPeriodTotal {
+  periodStart: string;
+  totalUnits: number;
+  drinkingDays: number;
+  drinks: number;
+}
+
+export interface AlcoholDrinkTypeTotal {
+  drinkType: DrinkType;
+  totalUnits: number;
+  drinks: number;
+}
+
 export interface AlcoholAnalyticsResponse {
   unitsThisWeek: number;
   alcoholFreeStreak: number;
-  monthlyTrend: AlcoholMonthlyTrend[];
+  longestAlcoholFreeStreak: number;
+  monthlyTrend: AlcoholMonthlyTrend[] | null;
+  period: TrendPeriod;
+  trend: AlcoholPeriodTotal[];
+  byDrinkType: AlcoholDrinkTypeTotal[];
 }
 
 // ─── Calendar ─────────────────────────────────────────────
@@ -423,6 +555,7 @@ export interface CheckpointResponse {
   targetWeightKg: number;
   notes: string;
   status: CheckpointStatus;
+  evaluation: CheckpointEvaluationResponse | null;
 }
 
 export interface ProgramResponse {
@@ -436,6 +569,20 @@ export interface ProgramResponse {
   updatedAt: string;
 }
 
+export interface ProgramSummaryResponse {
+  id: string;
+  startDate: string;
+  endDate: string;
+  notes: string;
+  createdAt: string;
+  checkpointCount: number;
+  achievedCount: number;
+  missedCount: number;
+  nextCheckpointDate: string | null;
+  nextCheckpointTitle: string | null;
+  nextCheckpointStatus: CheckpointStatus | null;
+}
+
 export interface CheckpointUpdateRequest {
   phase?: CheckpointPhase;
   focusTags?: FocusTag[];
@@ -488,4 +635,37 @@ export interface CheckpointEvaluationResponse {
   targetStepsAverage: number;
   avgDietCompliance: number;
   targetDietCompliance: number;
+  evaluatedAt: string;
+}
+
+export interface CheckpointForecast {
+  checkpointId: string;
+  checkpointTitle: string;
+  checkpointDate: string;
+  weightChangeProbability: number | null;
+  waistChangeProbability: number | null;
+  trainingDaysProbability: number | null;
+  stepsProbability: number | null;
+  dietComplianceProbability: number | null;
+  allTargetsProbability: number | null;
+  onTrackProbability: number | null;
+}
+
+export interface ProgramSimulationResponse {
+  programId: string;
+  simulationsRequested: number;
+  simulationsRun: number;
+  converged: boolean;
+  budgetExhausted: boolean;
+  elapsedMs: number;
+  model: {
+    entryIntervalDays: number;
+    weightDriftKgPerWeek: number | null;
+    weightVolatilityKgPerWeek: number | null;
+    waistDriftCmPerWeek: number | null;
+    avgWorkoutsPerWeek: number | null;
+    avgSteps: number | null;
+    avgDietCompliance: number | null;
+  };
+  checkpoints: CheckpointForecast[];
 }